@@ -0,0 +1,108 @@
+package com.kh.login.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Map;
+import java.util.OptionalDouble;
+
+/**
+ * 부하 테스트 준비(회원가입, 로그인, 채팅방 생성/참여)와 서버 메트릭 조회용 REST 클라이언트
+ */
+class ChatApiClient {
+
+    private static final Duration TIMEOUT = Duration.ofSeconds(30);
+
+    private final HttpClient httpClient;
+    private final ObjectMapper objectMapper;
+    private final String baseUrl;
+
+    ChatApiClient(HttpClient httpClient, ObjectMapper objectMapper, String baseUrl) {
+        this.httpClient = httpClient;
+        this.objectMapper = objectMapper;
+        this.baseUrl = baseUrl;
+    }
+
+    /**
+     * 회원가입 후 로그인하여 회원 ID와 JWT 반환
+     */
+    LoginResult signupAndLogin(String name, String email, String password, String phoneNumber) throws IOException, InterruptedException {
+        send(post("/v1/member/signup", Map.of(
+                "name", name,
+                "email", email,
+                "password", password,
+                "phoneNumber", phoneNumber)), null);
+        JsonNode login = send(post("/v1/member/login", Map.of("email", email, "password", password)), null);
+        return new LoginResult(login.get("id").asLong(), login.get("token").asText());
+    }
+
+    void createGroupRoom(String token, String roomName) throws IOException, InterruptedException {
+        String query = "?roomName=" + URLEncoder.encode(roomName, StandardCharsets.UTF_8);
+        send(HttpRequest.newBuilder(uri("/v1/chat/room/group/create" + query))
+                .POST(HttpRequest.BodyPublishers.noBody()), token);
+    }
+
+    JsonNode groupRooms(String token) throws IOException, InterruptedException {
+        return send(HttpRequest.newBuilder(uri("/v1/chat/room/group/list")).GET(), token);
+    }
+
+    void joinGroupRoom(String token, long roomId) throws IOException, InterruptedException {
+        send(HttpRequest.newBuilder(uri("/v1/chat/room/group/" + roomId + "/join"))
+                .POST(HttpRequest.BodyPublishers.noBody()), token);
+    }
+
+    /**
+     * actuator 메트릭 값 (예: jvm.memory.used, tag=area:heap, statistic=VALUE)
+     * actuator metrics 엔드포인트가 노출되지 않은 서버면 빈 값
+     */
+    OptionalDouble metric(String token, String name, String tag, String statistic) {
+        String query = tag != null ? "?tag=" + URLEncoder.encode(tag, StandardCharsets.UTF_8) : "";
+        try {
+            JsonNode metric = send(HttpRequest.newBuilder(uri("/actuator/metrics/" + name + query)).GET(), token);
+            for (JsonNode measurement : metric.path("measurements")) {
+                if (statistic.equals(measurement.path("statistic").asText())) {
+                    return OptionalDouble.of(measurement.path("value").asDouble());
+                }
+            }
+        } catch (IOException | IllegalStateException e) {
+            // 메트릭 엔드포인트 없음
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return OptionalDouble.empty();
+    }
+
+    private HttpRequest.Builder post(String path, Object body) throws IOException {
+        return HttpRequest.newBuilder(uri(path))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(body)));
+    }
+
+    private JsonNode send(HttpRequest.Builder builder, String token) throws IOException, InterruptedException {
+        builder.timeout(TIMEOUT);
+        if (token != null) {
+            builder.header("Authorization", "Bearer " + token);
+        }
+        HttpRequest request = builder.build();
+        HttpResponse<byte[]> response = httpClient.send(request, HttpResponse.BodyHandlers.ofByteArray());
+        if (response.statusCode() >= 300) {
+            throw new IllegalStateException(request.method() + " " + request.uri().getPath() + " 실패: "
+                    + response.statusCode() + " " + new String(response.body(), StandardCharsets.UTF_8));
+        }
+        return response.body().length == 0 ? objectMapper.nullNode() : objectMapper.readTree(response.body());
+    }
+
+    private URI uri(String path) {
+        return URI.create(baseUrl + path);
+    }
+
+    record LoginResult(long memberId, String token) {
+    }
+}
@@ -0,0 +1,120 @@
+package com.kh.login.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.WebSocket;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.atomic.AtomicLong;
+import org.HdrHistogram.Recorder;
+
+/**
+ * 채팅방 하나에 연결한 웹소켓 클라이언트
+ *
+ * 메시지 본문 앞에 "발송 예정 시각(nanoTime):" 을 붙여 보내고,
+ * 같은 채팅방의 모든 클라이언트(발신자 포함)가 받은 시각과의 차이를 팬아웃 지연으로 기록
+ * 실제 전송 시각이 아닌 예정 시각을 기준으로 하므로 전송이 밀린 시간도 지연에 포함됨 (coordinated omission 보정)
+ */
+class ChatClient implements WebSocket.Listener {
+
+    private static final String MARKER = "lt:";
+
+    private final long roomId;
+    private final ObjectMapper objectMapper;
+    private final MeasurementWindow window;
+    private final Recorder latency;
+    private final AtomicLong received;
+    private final AtomicLong errors;
+    private final StringBuilder partial = new StringBuilder();
+    private WebSocket webSocket;
+    // java.net.http WebSocket은 이전 전송이 끝나기 전에 다시 전송할 수 없으므로 전송을 순서대로 연결
+    private CompletableFuture<WebSocket> lastSend = CompletableFuture.completedFuture(null);
+
+    ChatClient(long roomId, ObjectMapper objectMapper, MeasurementWindow window, Recorder latency, AtomicLong received, AtomicLong errors) {
+        this.roomId = roomId;
+        this.objectMapper = objectMapper;
+        this.window = window;
+        this.latency = latency;
+        this.received = received;
+        this.errors = errors;
+    }
+
+    long roomId() {
+        return roomId;
+    }
+
+    CompletableFuture<WebSocket> connect(HttpClient httpClient, String baseUrl, String token) {
+        URI uri = URI.create(baseUrl.replaceFirst("^http", "ws") + "/connect?roomId=" + roomId + "&token=" + token);
+        return httpClient.newWebSocketBuilder()
+                .connectTimeout(Duration.ofSeconds(30))
+                .buildAsync(uri, this)
+                .thenApply(ws -> this.webSocket = ws);
+    }
+
+    /**
+     * @param intendedNanos 발송 예정 시각 (System.nanoTime)
+     */
+    synchronized void send(long intendedNanos, String padding) {
+        String frame = "{\"message\":\"" + MARKER + intendedNanos + ":" + padding + "\"}";
+        lastSend = lastSend.thenCompose(ignored -> webSocket.sendText(frame, true))
+                .exceptionally(e -> {
+                    errors.incrementAndGet();
+                    return webSocket;
+                });
+    }
+
+    @Override
+    public CompletionStage<?> onText(WebSocket webSocket, CharSequence data, boolean last) {
+        partial.append(data);
+        if (last) {
+            long now = System.nanoTime();
+            String payload = partial.toString();
+            partial.setLength(0);
+            onMessage(payload, now);
+        }
+        webSocket.request(1);
+        return null;
+    }
+
+    private void onMessage(String payload, long receivedNanos) {
+        try {
+            JsonNode message = objectMapper.readTree(payload);
+            String content = message.path("message").asText("");
+            if (!content.startsWith(MARKER)) {
+                // ERROR 프레임 등
+                errors.incrementAndGet();
+                return;
+            }
+            int end = content.indexOf(':', MARKER.length());
+            long intendedNanos = Long.parseLong(content.substring(MARKER.length(), end));
+            if (window.contains(intendedNanos)) {
+                received.incrementAndGet();
+                latency.recordValue(Math.max(0, receivedNanos - intendedNanos));
+            }
+        } catch (Exception e) {
+            errors.incrementAndGet();
+        }
+    }
+
+    @Override
+    public CompletionStage<?> onClose(WebSocket webSocket, int statusCode, String reason) {
+        if (statusCode != WebSocket.NORMAL_CLOSURE) {
+            errors.incrementAndGet();
+        }
+        return null;
+    }
+
+    @Override
+    public void onError(WebSocket webSocket, Throwable error) {
+        errors.incrementAndGet();
+    }
+
+    void close() {
+        if (webSocket != null && !webSocket.isOutputClosed()) {
+            lastSend.thenCompose(ws -> webSocket.sendClose(WebSocket.NORMAL_CLOSURE, "done"));
+        }
+    }
+}
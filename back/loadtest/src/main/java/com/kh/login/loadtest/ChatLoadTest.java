@@ -0,0 +1,317 @@
+package com.kh.login.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import java.net.http.HttpClient;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.OptionalDouble;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.LockSupport;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+/**
+ * 웹소켓 채팅(SimpleWebSocketHandler) 부하 테스트
+ *
+ * 1. 서버 준비: --target이 없으면 애플리케이션을 별도 JVM으로 실행 (H2 인메모리 또는 --jdbc-url)
+ * 2. REST API로 회원가입/로그인, 그룹 채팅방 생성/참여
+ * 3. 클라이언트마다 채팅방 하나에 웹소켓 연결
+ * 4. 전체 초당 --rate개 메시지를 클라이언트를 돌아가며 전송 (워밍업 후 --duration초 측정)
+ * 5. 팬아웃 지연(발송 예정 시각 → 같은 채팅방 모든 클라이언트 수신) 백분위, 처리량,
+ *    서버 힙/GC(actuator metrics)를 JSON 리포트로 저장
+ *
+ * 리포트의 latency.histogram은 HdrHistogram 압축 인코딩(base64)이므로 빌드 간 분포를 그대로 비교할 수 있음
+ */
+public class ChatLoadTest {
+
+    private static final String PASSWORD = "loadtest-password";
+    // 측정 종료 후 전송 중인 메시지를 기다리는 시간
+    private static final long DRAIN_MILLIS = 5_000;
+    private static final int MAX_CONCURRENT_CONNECTS = 200;
+
+    public static void main(String[] args) throws Exception {
+        LoadTestConfig config = LoadTestConfig.parse(args);
+        if (config.clients() > 10_000) {
+            // 전화번호(010-XXXX-NNNN) 중복을 피하기 위한 제한
+            throw new IllegalArgumentException("clients는 10000 이하여야 합니다.");
+        }
+        EmbeddedServer server = null;
+        try {
+            String baseUrl;
+            if (config.embedded()) {
+                Path serverLog = config.report().toAbsolutePath().resolveSibling("server.log");
+                System.out.println("애플리케이션 기동 중 (로그: " + serverLog + ")");
+                server = EmbeddedServer.start(config, serverLog);
+                baseUrl = server.baseUrl();
+            } else {
+                baseUrl = config.target().replaceFirst("/$", "");
+            }
+            Map<String, Object> report = new ChatLoadTest(config, baseUrl).run();
+            Files.createDirectories(config.report().toAbsolutePath().getParent());
+            new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(config.report().toFile(), report);
+            System.out.println("리포트: " + config.report().toAbsolutePath());
+        } finally {
+            if (server != null) {
+                server.close();
+            }
+        }
+        System.exit(0);
+    }
+
+    private final LoadTestConfig config;
+    private final String baseUrl;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final HttpClient httpClient = HttpClient.newBuilder().executor(Executors.newCachedThreadPool()).build();
+    private final ChatApiClient api;
+    private final MeasurementWindow window = new MeasurementWindow();
+    // 1ns ~ 1분, 유효숫자 3자리
+    private final Recorder latency = new Recorder(TimeUnit.MINUTES.toNanos(1), 3);
+    private final AtomicLong received = new AtomicLong();
+    private final AtomicLong errors = new AtomicLong();
+
+    private ChatLoadTest(LoadTestConfig config, String baseUrl) {
+        this.config = config;
+        this.baseUrl = baseUrl;
+        this.api = new ChatApiClient(httpClient, objectMapper, baseUrl);
+    }
+
+    private Map<String, Object> run() throws Exception {
+        String runId = String.format("%04d", ThreadLocalRandom.current().nextInt(10_000));
+        String startedAt = Instant.now().toString();
+
+        System.out.printf("회원 %d명 가입/로그인 중%n", config.clients());
+        List<ChatApiClient.LoginResult> members = signupMembers(runId);
+        String adminToken = members.get(0).token();
+
+        System.out.printf("채팅방 %d개 생성/참여 중%n", config.rooms());
+        long[] roomIds = createRooms(runId, members);
+        int[] roomSizes = new int[config.rooms()];
+        for (int i = 0; i < config.clients(); i++) {
+            roomSizes[i % config.rooms()]++;
+        }
+
+        System.out.printf("웹소켓 %d개 연결 중%n", config.clients());
+        List<ChatClient> clients = connect(members, roomIds);
+
+        System.out.printf("전송 시작: 초당 %d개, 워밍업 %d초, 측정 %d초%n", config.rate(), config.warmupSeconds(), config.durationSeconds());
+        long sent = 0;
+        long expectedDeliveries = 0;
+        String padding = "x".repeat(config.messageBytes());
+        long intervalNanos = TimeUnit.SECONDS.toNanos(1) / config.rate();
+        long start = System.nanoTime();
+        long measureStart = start + TimeUnit.SECONDS.toNanos(config.warmupSeconds());
+        long measureEnd = measureStart + TimeUnit.SECONDS.toNanos(config.durationSeconds());
+        window.set(measureStart, measureEnd);
+        latency.reset();
+
+        // 서버 메트릭: 측정 시작 시점의 GC 누적값, 측정 구간 동안 1초마다 힙 사용량
+        OptionalDouble heapMax = api.metric(adminToken, "jvm.memory.max", "area:heap", "VALUE");
+        AtomicReference<OptionalDouble> gcCountBefore = new AtomicReference<>(OptionalDouble.empty());
+        AtomicReference<OptionalDouble> gcTimeBefore = new AtomicReference<>(OptionalDouble.empty());
+        List<Double> heapSamples = new ArrayList<>();
+        ScheduledExecutorService sampler = Executors.newSingleThreadScheduledExecutor();
+        sampler.schedule(() -> {
+            gcCountBefore.set(api.metric(adminToken, "jvm.gc.pause", null, "COUNT"));
+            gcTimeBefore.set(api.metric(adminToken, "jvm.gc.pause", null, "TOTAL_TIME"));
+        }, measureStart - System.nanoTime(), TimeUnit.NANOSECONDS);
+        sampler.scheduleAtFixedRate(() -> {
+            if (window.contains(System.nanoTime())) {
+                api.metric(adminToken, "jvm.memory.used", "area:heap", "VALUE").ifPresent(value -> {
+                    synchronized (heapSamples) {
+                        heapSamples.add(value);
+                    }
+                });
+            }
+        }, 0, 1, TimeUnit.SECONDS);
+        for (long i = 0; ; i++) {
+            long intended = start + i * intervalNanos;
+            if (intended >= measureEnd) {
+                break;
+            }
+            long wait = intended - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            ChatClient client = clients.get((int) (i % clients.size()));
+            client.send(intended, padding);
+            if (window.contains(intended)) {
+                sent++;
+                expectedDeliveries += roomSizes[(int) (i % clients.size()) % config.rooms()];
+            }
+        }
+        OptionalDouble gcCountAfter = api.metric(adminToken, "jvm.gc.pause", null, "COUNT");
+        OptionalDouble gcTimeAfter = api.metric(adminToken, "jvm.gc.pause", null, "TOTAL_TIME");
+        sampler.shutdownNow();
+        Thread.sleep(DRAIN_MILLIS);
+        clients.forEach(ChatClient::close);
+
+        Histogram histogram = latency.getIntervalHistogram();
+        double seconds = config.durationSeconds();
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("label", config.label());
+        report.put("startedAt", startedAt);
+        report.put("target", config.embedded() ? (config.jdbcUrl() != null ? "embedded:" + config.jdbcUrl() : "embedded:h2") : baseUrl);
+        Map<String, Object> settings = new LinkedHashMap<>();
+        settings.put("clients", config.clients());
+        settings.put("rooms", config.rooms());
+        settings.put("rate", config.rate());
+        settings.put("messageBytes", config.messageBytes());
+        settings.put("warmupSeconds", config.warmupSeconds());
+        settings.put("durationSeconds", config.durationSeconds());
+        report.put("settings", settings);
+        Map<String, Object> throughput = new LinkedHashMap<>();
+        throughput.put("sent", sent);
+        throughput.put("expectedDeliveries", expectedDeliveries);
+        throughput.put("delivered", received.get());
+        throughput.put("deliveryRatio", expectedDeliveries == 0 ? 0 : (double) received.get() / expectedDeliveries);
+        throughput.put("sentPerSecond", sent / seconds);
+        throughput.put("deliveredPerSecond", received.get() / seconds);
+        report.put("throughput", throughput);
+        report.put("latencyMillis", latencyReport(histogram));
+        report.put("server", serverReport(heapMax, heapSamples, gcCountBefore.get(), gcCountAfter, gcTimeBefore.get(), gcTimeAfter));
+        report.put("errors", errors.get());
+        System.out.printf("전송 %d, 수신 %d/%d, p50 %.2fms, p99 %.2fms, p99.9 %.2fms, max %.2fms, 오류 %d%n",
+                sent, received.get(), expectedDeliveries,
+                millis(histogram.getValueAtPercentile(50)), millis(histogram.getValueAtPercentile(99)),
+                millis(histogram.getValueAtPercentile(99.9)), millis(histogram.getMaxValue()), errors.get());
+        return report;
+    }
+
+    private List<ChatApiClient.LoginResult> signupMembers(String runId) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(config.setupConcurrency());
+        try {
+            List<Future<ChatApiClient.LoginResult>> futures = new ArrayList<>();
+            for (int i = 0; i < config.clients(); i++) {
+                int index = i;
+                futures.add(executor.submit(() -> api.signupAndLogin(
+                        "loadtest-" + index,
+                        "loadtest-" + runId + "-" + index + "@loadtest.local",
+                        PASSWORD,
+                        String.format("010-%s-%04d", runId, index))));
+            }
+            List<ChatApiClient.LoginResult> members = new ArrayList<>(futures.size());
+            for (Future<ChatApiClient.LoginResult> future : futures) {
+                members.add(future.get());
+            }
+            return members;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    // 채팅방 r은 회원 r이 만들고(생성자는 자동 참여), 나머지 회원 i는 채팅방 i % rooms에 참여
+    private long[] createRooms(String runId, List<ChatApiClient.LoginResult> members) throws Exception {
+        String prefix = "loadtest-" + runId + "-";
+        for (int r = 0; r < config.rooms(); r++) {
+            api.createGroupRoom(members.get(r).token(), prefix + r);
+        }
+        Map<String, Long> roomIdsByName = new HashMap<>();
+        for (JsonNode room : api.groupRooms(members.get(0).token())) {
+            roomIdsByName.put(room.path("roomName").asText(), room.path("roomId").asLong());
+        }
+        long[] roomIds = new long[config.rooms()];
+        for (int r = 0; r < config.rooms(); r++) {
+            Long roomId = roomIdsByName.get(prefix + r);
+            if (roomId == null) {
+                throw new IllegalStateException("생성한 채팅방을 찾을 수 없습니다: " + prefix + r);
+            }
+            roomIds[r] = roomId;
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(config.setupConcurrency());
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = config.rooms(); i < members.size(); i++) {
+                String token = members.get(i).token();
+                long roomId = roomIds[i % config.rooms()];
+                futures.add(executor.submit(() -> {
+                    api.joinGroupRoom(token, roomId);
+                    return null;
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        return roomIds;
+    }
+
+    private List<ChatClient> connect(List<ChatApiClient.LoginResult> members, long[] roomIds) throws Exception {
+        Semaphore inFlight = new Semaphore(MAX_CONCURRENT_CONNECTS);
+        List<ChatClient> clients = new ArrayList<>(members.size());
+        List<CompletableFuture<?>> connections = new ArrayList<>(members.size());
+        for (int i = 0; i < members.size(); i++) {
+            ChatClient client = new ChatClient(roomIds[i % roomIds.length], objectMapper, window, latency, received, errors);
+            clients.add(client);
+            inFlight.acquire();
+            connections.add(client.connect(httpClient, baseUrl, members.get(i).token())
+                    .whenComplete((ws, e) -> inFlight.release()));
+        }
+        CompletableFuture.allOf(connections.toArray(CompletableFuture[]::new)).get(2, TimeUnit.MINUTES);
+        return clients;
+    }
+
+    private static Map<String, Object> latencyReport(Histogram histogram) {
+        Map<String, Object> latency = new LinkedHashMap<>();
+        latency.put("count", histogram.getTotalCount());
+        latency.put("mean", millis(histogram.getMean()));
+        for (double percentile : new double[]{50, 90, 99, 99.9, 99.99}) {
+            latency.put("p" + (percentile == (long) percentile ? String.valueOf((long) percentile) : String.valueOf(percentile)),
+                    millis(histogram.getValueAtPercentile(percentile)));
+        }
+        latency.put("max", millis(histogram.getMaxValue()));
+        ByteBuffer buffer = ByteBuffer.allocate(histogram.getNeededByteBufferCapacity());
+        int length = histogram.encodeIntoCompressedByteBuffer(buffer);
+        latency.put("histogram", Base64.getEncoder().encodeToString(Arrays.copyOf(buffer.array(), length)));
+        return latency;
+    }
+
+    private static Map<String, Object> serverReport(OptionalDouble heapMax, List<Double> heapSamples,
+                                                    OptionalDouble gcCountBefore, OptionalDouble gcCountAfter,
+                                                    OptionalDouble gcTimeBefore, OptionalDouble gcTimeAfter) {
+        Map<String, Object> server = new LinkedHashMap<>();
+        server.put("heapMaxBytes", heapMax.isPresent() ? (long) heapMax.getAsDouble() : null);
+        synchronized (heapSamples) {
+            server.put("heapUsedPeakBytes", heapSamples.isEmpty() ? null
+                    : (long) heapSamples.stream().mapToDouble(Double::doubleValue).max().orElse(0));
+            server.put("heapUsedMeanBytes", heapSamples.isEmpty() ? null
+                    : (long) heapSamples.stream().mapToDouble(Double::doubleValue).average().orElse(0));
+        }
+        // 측정 구간 동안의 GC (jvm.gc.pause는 모든 GC 원인 합계)
+        Double gcCount = difference(gcCountBefore, gcCountAfter);
+        server.put("gcPauseCount", gcCount == null ? null : gcCount.longValue());
+        Double gcSeconds = difference(gcTimeBefore, gcTimeAfter);
+        server.put("gcPauseMillis", gcSeconds == null ? null : gcSeconds * 1000);
+        return server;
+    }
+
+    private static Double difference(OptionalDouble before, OptionalDouble after) {
+        return before.isPresent() && after.isPresent() ? after.getAsDouble() - before.getAsDouble() : null;
+    }
+
+    private static double millis(double nanos) {
+        return nanos / 1_000_000.0;
+    }
+}
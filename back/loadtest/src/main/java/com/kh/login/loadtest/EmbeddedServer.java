@@ -0,0 +1,133 @@
+package com.kh.login.loadtest;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 테스트 대상 애플리케이션을 별도 JVM으로 실행 (부하 생성기와 힙/GC가 섞이지 않도록)
+ *
+ * 부하 테스트와 같은 클래스패스로 ShopitApplication을 실행하고,
+ * application.yml 없이 기동할 수 있도록 필요한 설정을 인자로 전달
+ * (외부 연동(S3, OAuth, 메일)은 기동에 필요한 더미 값만 지정하며 부하 테스트에서 호출하지 않음)
+ */
+class EmbeddedServer implements AutoCloseable {
+
+    private static final String MAIN_CLASS = "com.kh.login.ShopitApplication";
+    private static final Duration STARTUP_TIMEOUT = Duration.ofMinutes(2);
+
+    private final Process process;
+    private final String baseUrl;
+
+    private EmbeddedServer(Process process, String baseUrl) {
+        this.process = process;
+        this.baseUrl = baseUrl;
+    }
+
+    static EmbeddedServer start(LoadTestConfig config, Path logFile) throws IOException, InterruptedException {
+        int port = freePort();
+        List<String> command = new ArrayList<>();
+        command.add(Path.of(System.getProperty("java.home"), "bin", "java").toString());
+        command.add("-cp");
+        command.add(System.getProperty("java.class.path"));
+        command.add(MAIN_CLASS);
+        command.add("--server.port=" + port);
+        if (config.jdbcUrl() != null) {
+            command.add("--spring.datasource.url=" + config.jdbcUrl());
+            command.add("--spring.datasource.username=" + config.jdbcUsername());
+            command.add("--spring.datasource.password=" + config.jdbcPassword());
+            command.add("--spring.jpa.hibernate.ddl-auto=validate");
+        } else {
+            // migration은 MySQL 문법이므로 H2는 Hibernate DDL로 스키마 생성 (순번 발급의 LAST_INSERT_ID를 위해 MySQL 호환 모드)
+            command.add("--spring.datasource.url=jdbc:h2:mem:loadtest;MODE=MySQL;DB_CLOSE_DELAY=-1");
+            command.add("--spring.datasource.username=sa");
+            command.add("--spring.jpa.hibernate.ddl-auto=create-drop");
+            command.add("--spring.flyway.enabled=false");
+        }
+        command.add("--jwt.secret=" + UUID.randomUUID() + UUID.randomUUID());
+        command.add("--jwt.expiration=600");
+        // 단일 인스턴스이므로 TSID 노드 ID는 0
+        command.add("--tsid.node=0");
+        command.add("--management.endpoints.web.exposure.include=health,metrics");
+        // 모든 가상 사용자가 같은 IP에서 로그인하므로 요청 횟수 제한 해제
+        command.add("--rate-limit.enabled=false");
+        command.add("--aws.region=ap-northeast-2");
+        command.add("--aws.credentials.access-key=loadtest");
+        command.add("--aws.credentials.secret-key=loadtest");
+        command.add("--aws.s3.bucket=loadtest");
+        command.add("--oauth.kakao.client-id=loadtest");
+        command.add("--oauth.kakao.redirect-uri=http://localhost/loadtest");
+        command.add("--spring.security.oauth2.client.registration.google.client-id=loadtest");
+        command.add("--spring.security.oauth2.client.registration.google.client-secret=loadtest");
+        command.add("--spring.mail.host=localhost");
+        command.add("--logging.level.root=WARN");
+
+        Files.createDirectories(logFile.toAbsolutePath().getParent());
+        Process process = new ProcessBuilder(command)
+                .redirectErrorStream(true)
+                .redirectOutput(logFile.toFile())
+                .start();
+        EmbeddedServer server = new EmbeddedServer(process, "http://localhost:" + port);
+        try {
+            server.awaitStarted();
+        } catch (IOException | InterruptedException | RuntimeException e) {
+            server.close();
+            throw e;
+        }
+        return server;
+    }
+
+    String baseUrl() {
+        return baseUrl;
+    }
+
+    // 응답이 오면(인증 실패 포함) 기동 완료
+    private void awaitStarted() throws IOException, InterruptedException {
+        HttpClient client = HttpClient.newHttpClient();
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + "/actuator/health"))
+                .timeout(Duration.ofSeconds(2))
+                .build();
+        long deadline = System.nanoTime() + STARTUP_TIMEOUT.toNanos();
+        while (System.nanoTime() < deadline) {
+            if (!process.isAlive()) {
+                throw new IllegalStateException("애플리케이션 기동 실패 (exit=" + process.exitValue() + "), 서버 로그를 확인하세요.");
+            }
+            try {
+                client.send(request, HttpResponse.BodyHandlers.discarding());
+                return;
+            } catch (IOException e) {
+                Thread.sleep(500);
+            }
+        }
+        throw new IllegalStateException("애플리케이션이 " + STARTUP_TIMEOUT.toSeconds() + "초 안에 기동되지 않았습니다.");
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+
+    @Override
+    public void close() {
+        process.destroy();
+        try {
+            if (!process.waitFor(30, TimeUnit.SECONDS)) {
+                process.destroyForcibly();
+            }
+        } catch (InterruptedException e) {
+            process.destroyForcibly();
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package com.kh.login.loadtest;
+
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 부하 테스트 설정 (--key=value 인자)
+ *
+ * - target      : 이미 실행 중인 서버 주소 (없으면 애플리케이션을 별도 프로세스로 실행)
+ * - jdbc-url    : embedded 모드에서 사용할 DB (없으면 H2 인메모리, MySQL이면 Flyway migration 적용)
+ * - clients     : 웹소켓 연결 수 (클라이언트 i는 채팅방 i % rooms에 연결)
+ * - rooms       : 채팅방 수
+ * - rate        : 전체 초당 전송 메시지 수
+ * - message-bytes : 메시지 본문 크기
+ * - warmup / duration : 측정 전 워밍업 시간, 측정 시간 (초)
+ * - report      : JSON 리포트 경로
+ * - label       : 리포트에 기록할 이름 (예: 빌드 버전, 커밋)
+ */
+public record LoadTestConfig(
+        String target,
+        String jdbcUrl,
+        String jdbcUsername,
+        String jdbcPassword,
+        int clients,
+        int rooms,
+        int rate,
+        int messageBytes,
+        int warmupSeconds,
+        int durationSeconds,
+        int setupConcurrency,
+        Path report,
+        String label) {
+
+    public static LoadTestConfig parse(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("인자는 --key=value 형식이어야 합니다: " + arg);
+            }
+            int separator = arg.indexOf('=');
+            options.put(arg.substring(2, separator), arg.substring(separator + 1));
+        }
+        LoadTestConfig config = new LoadTestConfig(
+                options.remove("target"),
+                options.remove("jdbc-url"),
+                options.getOrDefault("jdbc-username", "root"),
+                options.getOrDefault("jdbc-password", ""),
+                intOption(options, "clients", 1000),
+                intOption(options, "rooms", 50),
+                intOption(options, "rate", 1000),
+                intOption(options, "message-bytes", 100),
+                intOption(options, "warmup", 10),
+                intOption(options, "duration", 60),
+                intOption(options, "setup-concurrency", 16),
+                Path.of(options.getOrDefault("report", "build/loadtest/report.json")),
+                options.remove("label"));
+        options.remove("jdbc-username");
+        options.remove("jdbc-password");
+        options.remove("report");
+        if (!options.isEmpty()) {
+            throw new IllegalArgumentException("알 수 없는 인자: " + options.keySet());
+        }
+        if (config.clients < config.rooms) {
+            throw new IllegalArgumentException("clients는 rooms 이상이어야 합니다.");
+        }
+        return config;
+    }
+
+    public boolean embedded() {
+        return target == null;
+    }
+
+    private static int intOption(Map<String, String> options, String name, int defaultValue) {
+        String value = options.remove(name);
+        return value != null ? Integer.parseInt(value) : defaultValue;
+    }
+}
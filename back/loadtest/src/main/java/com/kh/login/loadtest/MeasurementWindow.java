@@ -0,0 +1,19 @@
+package com.kh.login.loadtest;
+
+/**
+ * 측정 구간 (워밍업 이후 duration 동안 발송 예정인 메시지만 집계)
+ */
+class MeasurementWindow {
+
+    private volatile long startNanos = Long.MAX_VALUE;
+    private volatile long endNanos = Long.MAX_VALUE;
+
+    void set(long startNanos, long endNanos) {
+        this.startNanos = startNanos;
+        this.endNanos = endNanos;
+    }
+
+    boolean contains(long intendedNanos) {
+        return intendedNanos >= startNanos && intendedNanos < endNanos;
+    }
+}
@@ -0,0 +1,49 @@
+package com.kh.login.benchmark;
+
+import com.kh.login.config.JpaConfig;
+import com.kh.login.domain.Member;
+import com.kh.login.repository.MemberRepository;
+import java.util.HashMap;
+import java.util.Map;
+import org.springframework.boot.SpringBootConfiguration;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+
+/**
+ * 벤치마크용 JPA 전용 컨텍스트 (웹/보안/외부 연동 없이 엔티티와 리포지토리만 로딩)
+ * 기본은 H2 인메모리 DB (native query의 LAST_INSERT_ID를 위해 MySQL 호환 모드), -Dbenchmark.jdbc-url=jdbc:mysql://... 로 실제 DB 지정 가능
+ */
+@SpringBootConfiguration
+@EnableAutoConfiguration
+@EntityScan(basePackageClasses = Member.class)
+@EnableJpaRepositories(basePackageClasses = MemberRepository.class)
+@Import(JpaConfig.class)
+public class BenchmarkJpaApplication {
+
+    public static ConfigurableApplicationContext start(Map<String, Object> overrides, Class<?>... additionalSources) {
+        Map<String, Object> properties = new HashMap<>();
+        properties.put("spring.datasource.url",
+                System.getProperty("benchmark.jdbc-url", "jdbc:h2:mem:benchmark;MODE=MySQL;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE"));
+        properties.put("spring.datasource.username", System.getProperty("benchmark.jdbc-username", "sa"));
+        properties.put("spring.datasource.password", System.getProperty("benchmark.jdbc-password", ""));
+        properties.put("spring.jpa.hibernate.ddl-auto", "create-drop");
+        // migration은 MySQL 문법이므로 벤치마크 스키마는 Hibernate DDL로 생성
+        properties.put("spring.flyway.enabled", "false");
+        properties.put("spring.jpa.open-in-view", "false");
+        properties.put("logging.level.root", "WARN");
+        properties.putAll(overrides);
+
+        Class<?>[] sources = new Class<?>[additionalSources.length + 1];
+        sources[0] = BenchmarkJpaApplication.class;
+        System.arraycopy(additionalSources, 0, sources, 1, additionalSources.length);
+        return new SpringApplicationBuilder(sources)
+                .web(WebApplicationType.NONE)
+                .properties(properties)
+                .run();
+    }
+}
@@ -0,0 +1,84 @@
+package com.kh.login.benchmark;
+
+import com.kh.login.domain.ChatMessage;
+import com.kh.login.domain.ChatRoom;
+import com.kh.login.domain.Member;
+import com.kh.login.repository.MemberRepository;
+import com.kh.login.repository.chat.ChatMessageRepository;
+import com.kh.login.repository.chat.ChatRoomRepository;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * 채팅 메시지 insert 처리량: hibernate.jdbc.batch_size 1(batch 미사용) vs 50
+ * 점수 단위는 초당 저장한 메시지 수
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class ChatMessageInsertBenchmark {
+
+    private static final int MESSAGES_PER_TRANSACTION = 500;
+
+    @Param({"1", "50"})
+    public int batchSize;
+
+    private ConfigurableApplicationContext context;
+    private ChatMessageRepository chatMessageRepository;
+    private TransactionTemplate transactionTemplate;
+    private Member sender;
+    private ChatRoom chatRoom;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkJpaApplication.start(Map.of("chat.jdbc.batch-size", batchSize));
+        chatMessageRepository = context.getBean(ChatMessageRepository.class);
+        transactionTemplate = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        sender = context.getBean(MemberRepository.class).save(Member.builder()
+                .name("sender")
+                .email("sender@benchmark.com")
+                .password("")
+                .build());
+        chatRoom = context.getBean(ChatRoomRepository.class).save(ChatRoom.builder()
+                .name("benchmark")
+                .isGroupChat("Y")
+                .build());
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(MESSAGES_PER_TRANSACTION)
+    public void insertMessages() {
+        transactionTemplate.executeWithoutResult(status -> {
+            List<ChatMessage> messages = new ArrayList<>(MESSAGES_PER_TRANSACTION);
+            for (int i = 0; i < MESSAGES_PER_TRANSACTION; i++) {
+                messages.add(ChatMessage.builder()
+                        .chatRoom(chatRoom)
+                        .member(sender)
+                        .content("benchmark message " + i)
+                        .build());
+            }
+            chatMessageRepository.saveAll(messages);
+        });
+    }
+}
@@ -0,0 +1,51 @@
+package com.kh.login.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.kh.login.dto.chat.ChatMessageDto;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+/**
+ * 웹소켓 메시지(ChatMessageDto) JSON 직렬화/역직렬화 1회당 소요 시간
+ * 애플리케이션과 같은 기본 설정의 ObjectMapper 사용
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class ChatMessageJsonBenchmark {
+
+    private ObjectMapper objectMapper;
+    private ChatMessageDto message;
+    private byte[] json;
+
+    @Setup
+    public void setUp() throws IOException {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        message = ChatMessageDto.builder()
+                .roomId(1L)
+                .message("a".repeat(100))
+                .senderEmail("member@benchmark.com")
+                .messageId(528_491_202_330_624_000L)
+                .seq(1024L)
+                .build();
+        json = objectMapper.writeValueAsBytes(message);
+    }
+
+    @Benchmark
+    public byte[] encode() throws IOException {
+        return objectMapper.writeValueAsBytes(message);
+    }
+
+    @Benchmark
+    public ChatMessageDto decode() throws IOException {
+        return objectMapper.readValue(json, ChatMessageDto.class);
+    }
+}
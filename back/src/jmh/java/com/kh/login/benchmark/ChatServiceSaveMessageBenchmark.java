@@ -0,0 +1,67 @@
+package com.kh.login.benchmark;
+
+import com.kh.login.auth.JwtTokenProvider;
+import com.kh.login.config.LocalChatBroadcastBus;
+import com.kh.login.domain.ChatMessage;
+import com.kh.login.domain.ChatRoom;
+import com.kh.login.domain.Member;
+import com.kh.login.repository.MemberRepository;
+import com.kh.login.repository.chat.ChatRoomRepository;
+import com.kh.login.service.ChatMembershipIndex;
+import com.kh.login.service.ChatRecentMessageCache;
+import com.kh.login.service.ChatService;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.context.ConfigurableApplicationContext;
+
+/**
+ * 웹소켓으로 받은 메시지 1건 저장(ChatService.saveMessage: 순번 발급 + insert, 트랜잭션 포함) 소요 시간
+ * 기본은 H2 인메모리 DB (BenchmarkJpaApplication 참고)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ChatServiceSaveMessageBenchmark {
+
+    private ConfigurableApplicationContext context;
+    private ChatService chatService;
+    private Long roomId;
+    private Long memberId;
+
+    @Setup
+    public void setUp() {
+        context = BenchmarkJpaApplication.start(
+                Map.of("jwt.secret", JwtTokenProviderBenchmark.SECRET,
+                        "jwt.expiration", JwtTokenProviderBenchmark.EXPIRATION_MINUTES),
+                ChatService.class, JwtTokenProvider.class, ChatMembershipIndex.class,
+                ChatRecentMessageCache.class, LocalChatBroadcastBus.class);
+        chatService = context.getBean(ChatService.class);
+        memberId = context.getBean(MemberRepository.class).save(Member.builder()
+                .name("sender")
+                .email("sender@benchmark.com")
+                .password("")
+                .build()).getId();
+        roomId = context.getBean(ChatRoomRepository.class).save(ChatRoom.builder()
+                .name("benchmark")
+                .isGroupChat("Y")
+                .build()).getId();
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public ChatMessage saveMessage() {
+        return chatService.saveMessage(roomId, memberId, "benchmark message");
+    }
+}
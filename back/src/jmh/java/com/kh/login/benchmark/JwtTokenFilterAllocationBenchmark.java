@@ -0,0 +1,97 @@
+package com.kh.login.benchmark;
+
+import com.kh.login.auth.JwtAuthenticationCache;
+import com.kh.login.auth.JwtTokenFilter;
+import com.kh.login.auth.JwtTokenProvider;
+import com.kh.login.auth.TokenRevocationList;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+/**
+ * JwtTokenFilter 요청 1건당 할당량 (-Pjmh.profilers=gc 로 실행하여 gc.alloc.rate.norm 확인)
+ *
+ * 필터 자체의 할당만 보이도록 요청/응답 객체는 재사용 (폐기 토큰 목록 확인 포함)
+ * - cachedToken   : 인증 캐시 hit (일반적인 요청)
+ * - uncachedToken : 매 요청 서명 검증/파싱 (캐시 크기 0)
+ * - malformedHeader : Bearer 형식이 아닌 헤더
+ * - invalidSignature : 다른 키로 서명된 토큰
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class JwtTokenFilterAllocationBenchmark {
+
+    private static final FilterChain NOOP_CHAIN = (request, response) -> {
+    };
+
+    private JwtTokenFilter cachingFilter;
+    private JwtTokenFilter nonCachingFilter;
+    private MockHttpServletRequest validRequest;
+    private MockHttpServletRequest malformedRequest;
+    private MockHttpServletRequest invalidSignatureRequest;
+    private MockHttpServletResponse response;
+
+    @Setup
+    public void setUp() {
+        JwtTokenProvider jwtTokenProvider = new JwtTokenProvider(JwtTokenProviderBenchmark.SECRET, JwtTokenProviderBenchmark.EXPIRATION_MINUTES);
+        TokenRevocationList tokenRevocationList = JwtTokenFilterBenchmark.revocationList();
+        cachingFilter = new JwtTokenFilter(jwtTokenProvider, new JwtAuthenticationCache(10000, new SimpleMeterRegistry()), tokenRevocationList);
+        nonCachingFilter = new JwtTokenFilter(jwtTokenProvider, new JwtAuthenticationCache(0, new SimpleMeterRegistry()), tokenRevocationList);
+
+        validRequest = request("Bearer " + jwtTokenProvider.createToken(1L, "member@benchmark.com", "USER"));
+        malformedRequest = request("Basic bWVtYmVyOnBhc3N3b3Jk");
+        String otherSecret = new StringBuilder(JwtTokenProviderBenchmark.SECRET).reverse().toString();
+        invalidSignatureRequest = request("Bearer " + new JwtTokenProvider(otherSecret, JwtTokenProviderBenchmark.EXPIRATION_MINUTES)
+                .createToken(1L, "member@benchmark.com", "USER"));
+        response = new MockHttpServletResponse();
+    }
+
+    @Benchmark
+    public MockHttpServletResponse cachedToken() throws ServletException, IOException {
+        return filter(cachingFilter, validRequest);
+    }
+
+    @Benchmark
+    public MockHttpServletResponse uncachedToken() throws ServletException, IOException {
+        return filter(nonCachingFilter, validRequest);
+    }
+
+    @Benchmark
+    public MockHttpServletResponse malformedHeader() throws ServletException, IOException {
+        return filter(cachingFilter, malformedRequest);
+    }
+
+    @Benchmark
+    public MockHttpServletResponse invalidSignature() throws ServletException, IOException {
+        return filter(cachingFilter, invalidSignatureRequest);
+    }
+
+    private MockHttpServletResponse filter(JwtTokenFilter filter, MockHttpServletRequest request) throws ServletException, IOException {
+        response.reset();
+        try {
+            filter.doFilter(request, response, NOOP_CHAIN);
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+        return response;
+    }
+
+    private static MockHttpServletRequest request(String authorization) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/v1/chat/my/rooms");
+        request.addHeader("Authorization", authorization);
+        return request;
+    }
+}
@@ -0,0 +1,80 @@
+package com.kh.login.benchmark;
+
+import com.kh.login.auth.JwtAuthenticationCache;
+import com.kh.login.auth.JwtTokenFilter;
+import com.kh.login.auth.JwtTokenProvider;
+import com.kh.login.auth.TokenRevocationList;
+import com.kh.login.repository.RevokedTokenRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.ServletException;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+import org.mockito.Mockito;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+/**
+ * Authorization 헤더가 있는 요청 1건이 JwtTokenFilter를 통과하는 시간
+ * cached=true 는 인증 캐시 hit, false 는 매 요청 서명 검증/파싱 (캐시 크기 0)
+ * 폐기 토큰 목록에는 다른 토큰 REVOKED_TOKENS개가 들어 있음 (Bloom filter 확인까지 포함, 저장소 조회는 없음)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class JwtTokenFilterBenchmark {
+
+    static final int REVOKED_TOKENS = 10000;
+
+    @Param({"true", "false"})
+    public boolean cached;
+
+    private JwtTokenFilter jwtTokenFilter;
+    private String authorization;
+
+    @Setup
+    public void setUp() {
+        JwtTokenProvider jwtTokenProvider = new JwtTokenProvider(JwtTokenProviderBenchmark.SECRET, JwtTokenProviderBenchmark.EXPIRATION_MINUTES);
+        JwtAuthenticationCache authenticationCache = new JwtAuthenticationCache(cached ? 10000 : 0, new SimpleMeterRegistry());
+        jwtTokenFilter = new JwtTokenFilter(jwtTokenProvider, authenticationCache, revocationList());
+        String token = jwtTokenProvider.createToken(1L, "member@benchmark.com", "USER");
+        authorization = "Bearer " + token;
+    }
+
+    @Benchmark
+    public MockHttpServletResponse doFilter() throws ServletException, IOException {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/v1/chat/my/rooms");
+        request.addHeader("Authorization", authorization);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        try {
+            jwtTokenFilter.doFilter(request, response, new MockFilterChain());
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+        return response;
+    }
+
+    /**
+     * 벤치마크 대상 토큰과 겹치지 않는 jti REVOKED_TOKENS개가 폐기된 목록 (저장소는 DB 없이 mock)
+     */
+    static TokenRevocationList revocationList() {
+        TokenRevocationList tokenRevocationList =
+                new TokenRevocationList(Mockito.mock(RevokedTokenRepository.class), event -> { },
+                        new SimpleMeterRegistry(), 100000, 0.01);
+        tokenRevocationList.rebuild();
+        long expiresAtMillis = System.currentTimeMillis() + TimeUnit.DAYS.toMillis(1);
+        for (long id = 1; id <= REVOKED_TOKENS; id++) {
+            tokenRevocationList.revoke(id, 1L, expiresAtMillis);
+        }
+        return tokenRevocationList;
+    }
+}
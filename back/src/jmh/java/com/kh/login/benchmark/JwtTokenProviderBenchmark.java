@@ -0,0 +1,44 @@
+package com.kh.login.benchmark;
+
+import com.kh.login.auth.JwtTokenProvider;
+import io.jsonwebtoken.Claims;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * JWT 발급(createToken), 서명 검증 + 파싱(parseClaims) 1회당 소요 시간
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class JwtTokenProviderBenchmark {
+
+    // HS512 키는 64바이트 이상이어야 함
+    static final String SECRET = "benchmark-secret-benchmark-secret-benchmark-secret-benchmark-secret";
+    static final int EXPIRATION_MINUTES = 60;
+
+    private JwtTokenProvider jwtTokenProvider;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        jwtTokenProvider = new JwtTokenProvider(SECRET, EXPIRATION_MINUTES);
+        token = jwtTokenProvider.createToken(1L, "member@benchmark.com", "USER");
+    }
+
+    @Benchmark
+    public String createToken() {
+        return jwtTokenProvider.createToken(1L, "member@benchmark.com", "USER");
+    }
+
+    @Benchmark
+    public Claims parseClaims() {
+        return jwtTokenProvider.parseClaims(token);
+    }
+}
@@ -0,0 +1,40 @@
+package com.kh.login.benchmark;
+
+import com.kh.login.auth.BCryptStrengthCalibrator;
+import com.kh.login.config.SecurityConfig;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+/**
+ * 로그인 시 비밀번호 검증(PasswordEncoder.matches) 1회당 소요 시간
+ * SecurityConfig와 같은 인코더를 최소 강도(보정 전 기본값)로 사용
+ * (기동 시 보정되는 강도는 서버마다 다르므로 기준 결과와 비교할 수 있도록 고정)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class PasswordEncoderBenchmark {
+
+    private static final String PASSWORD = "benchmark-password";
+
+    private PasswordEncoder passwordEncoder;
+    private String encoded;
+
+    @Setup
+    public void setUp() {
+        passwordEncoder = SecurityConfig.createPasswordEncoder(BCryptStrengthCalibrator.MIN_STRENGTH);
+        encoded = passwordEncoder.encode(PASSWORD);
+    }
+
+    @Benchmark
+    public boolean matches() {
+        return passwordEncoder.matches(PASSWORD, encoded);
+    }
+}
@@ -0,0 +1,47 @@
+package com.kh.login.auth;
+
+import java.time.Duration;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+/**
+ * BCrypt 강도(work factor) 보정
+ *
+ * 기동 시 최소 강도로 해시 시간을 측정하고, 목표 시간을 넘지 않는 가장 높은 강도를 선택
+ * (강도가 1 오를 때마다 해시 시간은 2배)
+ * 최소 강도는 BCryptPasswordEncoder 기본값(10)이며 서버가 빨라도 이보다 낮추지 않음
+ */
+@Slf4j
+public final class BCryptStrengthCalibrator {
+
+    public static final int MIN_STRENGTH = 10;
+    public static final int MAX_STRENGTH = 16;
+
+    private static final int SAMPLES = 3;
+    private static final String SAMPLE_PASSWORD = "bcrypt-calibration";
+
+    private BCryptStrengthCalibrator() {
+    }
+
+    public static int calibrate(Duration target) {
+        BCryptPasswordEncoder encoder = new BCryptPasswordEncoder(MIN_STRENGTH);
+        // 첫 실행은 JIT 컴파일 전이라 느리므로 측정에서 제외
+        encoder.encode(SAMPLE_PASSWORD);
+        long fastestNanos = Long.MAX_VALUE;
+        for (int i = 0; i < SAMPLES; i++) {
+            long start = System.nanoTime();
+            encoder.encode(SAMPLE_PASSWORD);
+            fastestNanos = Math.min(fastestNanos, System.nanoTime() - start);
+        }
+
+        int strength = MIN_STRENGTH;
+        long estimatedNanos = fastestNanos;
+        while (strength < MAX_STRENGTH && estimatedNanos * 2 <= target.toNanos()) {
+            strength++;
+            estimatedNanos *= 2;
+        }
+        log.info("BCrypt 강도 보정: strength={} (강도 {} 측정 {}ms, 예상 {}ms, 목표 {}ms)",
+                strength, MIN_STRENGTH, fastestNanos / 1_000_000, estimatedNanos / 1_000_000, target.toMillis());
+        return strength;
+    }
+}
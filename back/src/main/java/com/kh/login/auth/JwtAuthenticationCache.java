@@ -0,0 +1,173 @@
+package com.kh.login.auth;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import java.security.DigestException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * 서명 검증이 끝난 JWT의 사용자 정보(MemberPrincipal)를 보관하는 캐시
+ *
+ * - 토큰 원문 대신 SHA-256 digest를 키로 사용 (메모리에 토큰 원문을 남기지 않음)
+ * - JWT가 될 수 없는 ASCII 외 문자가 있는 토큰은 조회/저장하지 않음 (문자를 1바이트로 변환하여 digest를 계산하므로)
+ * - 인증 객체는 캐시하지 않음: 변경 불가능한 MemberPrincipal만 보관하고 인증 객체는 요청마다 새로 생성
+ *   (요청 간에 같은 인증 객체를 공유하면 setDetails/eraseCredentials 등으로 서로 영향을 줄 수 있음)
+ * - 각 엔트리는 토큰의 exp 시각에 만료
+ * - 최대 크기(jwt.cache.max-size)를 넘으면 만료 엔트리를 정리하고, 그래도 가득 차 있으면 저장하지 않음
+ * - hit/miss 카운터를 메트릭(jwt.cache.hits, jwt.cache.misses)으로 노출
+ */
+@Component
+public class JwtAuthenticationCache {
+
+    // 가득 찬 상태에서 put이 몰려도 전체 스캔은 이 간격에 한 번만 수행
+    private static final long PURGE_INTERVAL_MILLIS = 1000L;
+
+    // digest 계산용 스레드별 버퍼 (요청마다 토큰 바이트 배열/결과 배열을 만들지 않음)
+    private static final ThreadLocal<Hasher> HASHER = ThreadLocal.withInitial(Hasher::new);
+
+    private final Map<Key, Entry> entries = new ConcurrentHashMap<>();
+    private final int maxSize;
+    private final Counter hits;
+    private final Counter misses;
+    private volatile long lastPurgeMillis;
+
+    public JwtAuthenticationCache(@Value("${jwt.cache.max-size:10000}") int maxSize, MeterRegistry meterRegistry) {
+        this.maxSize = maxSize;
+        this.hits = meterRegistry.counter("jwt.cache.hits");
+        this.misses = meterRegistry.counter("jwt.cache.misses");
+        meterRegistry.gaugeMapSize("jwt.cache.size", Tags.empty(), entries);
+    }
+
+    /**
+     * 캐시된 사용자 정보 조회. 없거나 만료되었으면 null
+     */
+    public MemberPrincipal get(String token) {
+        return get(token, 0);
+    }
+
+    /**
+     * source의 offset 이후 문자열을 토큰으로 조회 (Authorization 헤더에서 토큰을 잘라내지 않고 조회)
+     */
+    public MemberPrincipal get(String source, int offset) {
+        Key key = Key.of(source, offset);
+        if (key == null) {
+            misses.increment();
+            return null;
+        }
+        Entry entry = entries.get(key);
+        if (entry == null) {
+            misses.increment();
+            return null;
+        }
+        if (entry.expiresAtMillis <= System.currentTimeMillis()) {
+            entries.remove(key, entry);
+            misses.increment();
+            return null;
+        }
+        hits.increment();
+        return entry.principal;
+    }
+
+    /**
+     * 검증이 끝난 토큰의 사용자 정보 저장 (토큰의 exp 시각까지 유지)
+     */
+    public void put(String token, MemberPrincipal principal) {
+        long expiresAtMillis = principal.getTokenExpiresAtMillis();
+        long now = System.currentTimeMillis();
+        if (expiresAtMillis <= now) {
+            return;
+        }
+        if (entries.size() >= maxSize) {
+            purgeExpired(now);
+            if (entries.size() >= maxSize) {
+                return;
+            }
+        }
+        Key key = Key.of(token, 0);
+        if (key != null) {
+            entries.put(key, new Entry(principal, expiresAtMillis));
+        }
+    }
+
+    public double getHitCount() {
+        return hits.count();
+    }
+
+    public double getMissCount() {
+        return misses.count();
+    }
+
+    private void purgeExpired(long now) {
+        if (now - lastPurgeMillis < PURGE_INTERVAL_MILLIS) {
+            return;
+        }
+        lastPurgeMillis = now;
+        entries.values().removeIf(e -> e.expiresAtMillis <= now);
+    }
+
+    private record Entry(MemberPrincipal principal, long expiresAtMillis) {
+    }
+
+    // SHA-256 결과(32바이트)를 long 4개로 보관 → equals/hashCode 비용 최소화
+    private record Key(long h0, long h1, long h2, long h3) {
+        // ASCII 외 문자가 있으면 null
+        static Key of(String source, int offset) {
+            byte[] hash = HASHER.get().sha256(source, offset);
+            if (hash == null) {
+                return null;
+            }
+            return new Key(longAt(hash, 0), longAt(hash, 8), longAt(hash, 16), longAt(hash, 24));
+        }
+
+        private static long longAt(byte[] bytes, int index) {
+            long value = 0;
+            for (int i = index; i < index + 8; i++) {
+                value = (value << 8) | (bytes[i] & 0xFF);
+            }
+            return value;
+        }
+    }
+
+    private static final class Hasher {
+        private final MessageDigest digest;
+        private final byte[] hash = new byte[32];
+        private byte[] input = new byte[1024];
+
+        Hasher() {
+            try {
+                this.digest = MessageDigest.getInstance("SHA-256");
+            } catch (NoSuchAlgorithmException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+
+        // JWT는 ASCII(base64url + '.')이므로 문자를 그대로 바이트로 변환
+        // ASCII 외 문자는 상위 바이트가 버려져 다른 토큰과 같은 digest가 될 수 있으므로 null 반환
+        byte[] sha256(String source, int offset) {
+            int length = source.length() - offset;
+            if (input.length < length) {
+                input = new byte[Math.max(length, input.length * 2)];
+            }
+            for (int i = 0; i < length; i++) {
+                char c = source.charAt(offset + i);
+                if (c > 0x7F) {
+                    return null;
+                }
+                input[i] = (byte) c;
+            }
+            digest.update(input, 0, length);
+            try {
+                digest.digest(hash, 0, hash.length);
+            } catch (DigestException e) {
+                throw new IllegalStateException(e);
+            }
+            return hash;
+        }
+    }
+}
@@ -1,8 +1,8 @@
 package com.kh.login.auth;
 
+import com.kh.login.enums.Role;
 import io.jsonwebtoken.Claims;
-import io.jsonwebtoken.Jwts;
-import io.jsonwebtoken.security.Keys;
+import io.jsonwebtoken.JwtException;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.GenericFilter;
 import jakarta.servlet.ServletException;
@@ -12,89 +12,197 @@ import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import java.io.IOException;
 import java.nio.charset.StandardCharsets;
-import java.security.Key;
-import java.util.ArrayList;
+import java.util.Date;
+import java.util.EnumMap;
 import java.util.List;
-
-import org.springframework.beans.factory.annotation.Value;
+import java.util.Map;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
-import org.springframework.security.authentication.AuthenticationServiceException;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.core.userdetails.User;
-import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Component;
 
-@Component  // Spring에서 이 클래스를 Bean으로 등록
+@Slf4j
+@Component  // Spring에서 이 클래스를 Bean으로 등록 (서블릿 필터로는 등록하지 않고 시큐리티 필터 체인에서만 실행, SecurityConfig 참고)
 public class JwtTokenFilter extends GenericFilter {
 
-    @Value("${jwt.secret}")  // application.yml에 설정된 JWT 시크릿 키 주입
-    private String secretKey;
-    
-    private final Key SECRET_KEY;
+    private static final String BEARER_PREFIX = "Bearer ";
+    // 비정상적으로 긴 헤더는 파싱하지 않음
+    private static final int MAX_TOKEN_LENGTH = 8 * 1024;
+
+    // 401 응답 본문은 미리 인코딩해 두고 그대로 기록
+    private static final byte[] UNAUTHORIZED_BODY = "invalid token".getBytes(StandardCharsets.UTF_8);
+
+    // 역할별 권한 목록은 미리 만들어 공유 (요청마다 "ROLE_" + role 문자열과 리스트를 만들지 않음)
+    private static final Role[] ROLES = Role.values();
+    private static final Map<Role, List<GrantedAuthority>> AUTHORITIES = new EnumMap<>(Role.class);
+
+    static {
+        for (Role role : ROLES) {
+            AUTHORITIES.put(role, List.of(new SimpleGrantedAuthority("ROLE_" + role.name())));
+        }
+    }
+
+    private final JwtTokenProvider jwtTokenProvider;
+    private final JwtAuthenticationCache authenticationCache;
+    private final TokenRevocationList tokenRevocationList;
 
-    public JwtTokenFilter(@Value("${jwt.secret}") String secretKey) {
-        this.secretKey = secretKey;
-        this.SECRET_KEY = Keys.hmacShaKeyFor(secretKey.getBytes(StandardCharsets.UTF_8));
+    public JwtTokenFilter(JwtTokenProvider jwtTokenProvider, JwtAuthenticationCache authenticationCache,
+                          TokenRevocationList tokenRevocationList) {
+        this.jwtTokenProvider = jwtTokenProvider;
+        this.authenticationCache = authenticationCache;
+        this.tokenRevocationList = tokenRevocationList;
     }
 
     /**
      * JWT 토큰 검증 필터
      * 모든 요청에 대해 실행되며, Authorization 헤더에 포함된 JWT를 검증함
+     * 헤더가 없으면 인증 없이 통과 (접근 허용 여부는 SecurityConfig 설정에 따름), 검증에 실패하거나 폐기된 토큰이면 401
      */
     @Override
     public void doFilter(ServletRequest request, ServletResponse response, FilterChain chain)
             throws IOException, ServletException {
 
-        HttpServletRequest httpServletRequest = (HttpServletRequest) request;
-        HttpServletResponse httpServletResponse = (HttpServletResponse) response;
-
         // 요청 헤더에서 Authorization 값을 가져옴
-        String token = httpServletRequest.getHeader("Authorization");
+        String header = ((HttpServletRequest) request).getHeader(HttpHeaders.AUTHORIZATION);
+
+        if (header != null) {
+            Authentication authentication = authenticate(header);
+            if (authentication == null) {
+                unauthorized((HttpServletResponse) response);
+                return;
+            }
+            // 현재 요청에 대해 인증 정보 등록
+            SecurityContextHolder.getContext().setAuthentication(authentication);
+        }
+
+        // 다음 필터로 요청을 넘김
+        chain.doFilter(request, response);
+    }
+
+    /**
+     * Authorization 헤더 검증 → 인증 객체, 실패하면 null
+     */
+    private Authentication authenticate(String header) {
+        // Bearer 형식이 아니거나 JWT 형태(header.payload.signature)가 아니면 예외 없이 바로 거절
+        if (!header.regionMatches(0, BEARER_PREFIX, 0, BEARER_PREFIX.length())
+                || !isCompactJws(header, BEARER_PREFIX.length())) {
+            return null;
+        }
+
+        MemberPrincipal principal = authenticate(header, BEARER_PREFIX.length());
+        if (principal == null) {
+            return null;
+        }
+        // 인증 객체는 요청마다 새로 생성 (세션은 사용하지 않고, credentials에 토큰 원문을 두지 않음)
+        return UsernamePasswordAuthenticationToken.authenticated(principal, null, principal.getAuthorities());
+    }
 
+    /**
+     * Authorization 헤더가 아닌 곳으로 전달된 JWT 검증 (웹소켓 핸드셰이크의 token 쿼리 파라미터 등)
+     * 헤더와 같은 검증(형식, 서명/만료, exp 클레임 필수, 역할, 폐기 여부)을 거친 사용자 정보, 실패하면 null
+     */
+    public MemberPrincipal authenticateToken(String token) {
+        if (!isCompactJws(token, 0)) {
+            return null;
+        }
+        return authenticate(token, 0);
+    }
+
+    // source의 offset 이후가 JWT (형식 검사는 호출한 쪽에서 완료)
+    private MemberPrincipal authenticate(String source, int offset) {
+        // 이미 검증한 토큰이면 서명 검증/파싱 없이 캐시된 사용자 정보 사용 (헤더에서 토큰을 잘라내지 않고 조회)
+        MemberPrincipal principal = authenticationCache.get(source, offset);
+        if (principal == null) {
+            principal = verify(offset == 0 ? source : source.substring(offset));
+        }
+
+        // 캐시된 토큰도 로그아웃 등으로 폐기되었을 수 있으므로 매번 확인
+        if (principal == null || isRevoked(principal)) {
+            return null;
+        }
+        return principal;
+    }
+
+    /**
+     * 서명 검증/파싱 후 사용자 정보 생성 및 캐시, 실패하면 null
+     */
+    private MemberPrincipal verify(String jwtToken) {
         try {
-            if (token != null) {
-                // Bearer 형식이 아닌 경우 예외 발생
-                if (!token.substring(0, 7).equals("Bearer ")) {
-                    throw new AuthenticationServiceException("Bearer 형식 아닙니다.");
-                }
+            // JWT 파싱 및 서명 검증 → payload 추출
+            Claims claims = jwtTokenProvider.parseClaims(jwtToken);
 
-                // "Bearer " 이후 실제 JWT 문자열 추출
-                String jwtToken = token.substring(7);
-
-                // JWT 파싱 및 서명 검증 → payload 추출
-                Claims claims = Jwts.parserBuilder()
-                                    .setSigningKey(SECRET_KEY)  // Key 객체 사용
-                                    .build()
-                                    .parseClaimsJws(jwtToken)
-                                    .getBody();  // payload (claims) 반환
-
-                // 사용자 권한 정보를 Spring Security 형식으로 변환
-                List<GrantedAuthority> authorities = new ArrayList<>();
-                authorities.add(new SimpleGrantedAuthority("ROLE_" + claims.get("role")));
-
-                // JWT의 subject 값을 username으로 사용
-                UserDetails userDetails = new User(claims.getSubject(), "", authorities);
-                // 인증 객체 생성 (세션은 사용하지 않음)
-                Authentication authentication =
-                        new UsernamePasswordAuthenticationToken(userDetails, jwtToken, userDetails.getAuthorities());
-                // 현재 요청에 대해 인증 정보 등록
-                SecurityContextHolder.getContext().setAuthentication(authentication);
+            // 사용자 권한 정보를 Spring Security 형식으로 변환
+            List<GrantedAuthority> authorities = authoritiesOf(claims.get("role", String.class));
+            if (authorities == null) {
+                return null;
             }
 
-            // 다음 필터로 요청을 넘김
-            chain.doFilter(request, response);
+            // exp 클레임이 없는 토큰은 만료되지 않으므로 서명이 맞더라도 거절
+            Date expiration = claims.getExpiration();
+            if (expiration == null) {
+                log.debug("JWT 검증 실패: exp 클레임 없음");
+                return null;
+            }
 
-        } catch (Exception e) {
-            e.printStackTrace();
+            // JWT의 subject 값을 username으로, memberId 클레임을 회원 식별자로 사용
+            MemberPrincipal principal = new MemberPrincipal(claims.get("memberId", Long.class), claims.getSubject(), authorities,
+                    claims.getId() != null ? Long.valueOf(claims.getId()) : null, expiration.getTime());
+            // 토큰 만료 시각까지 캐시
+            authenticationCache.put(jwtToken, principal);
+            return principal;
+        } catch (JwtException | IllegalArgumentException e) {
+            // 만료, 서명 불일치 등 (클라이언트 입력 오류이므로 스택트레이스는 남기지 않음)
+            log.debug("JWT 검증 실패: {}", e.getMessage());
+            return null;
+        }
+    }
 
-            // 예외 발생 시 401 Unauthorized 응답 반환
-            httpServletResponse.setStatus(HttpStatus.UNAUTHORIZED.value());
-            httpServletResponse.setContentType("application/json");
-            httpServletResponse.getWriter().write("invalid token");
+    // jti 클레임이 없는 이전 토큰은 폐기 대상이 아님
+    private boolean isRevoked(MemberPrincipal principal) {
+        return principal.getTokenId() != null
+                && tokenRevocationList.isRevoked(principal.getTokenId());
+    }
+
+    // base64url 세 부분(마지막 서명 포함 모두 비어 있지 않음)을 '.'으로 이은 형태인지
+    private static boolean isCompactJws(String header, int offset) {
+        int length = header.length();
+        if (length == offset || length - offset > MAX_TOKEN_LENGTH) {
+            return false;
+        }
+        int dots = 0;
+        char previous = '.';
+        for (int i = offset; i < length; i++) {
+            char c = header.charAt(i);
+            if (c == '.') {
+                if (previous == '.' || ++dots > 2) {
+                    return false;
+                }
+            } else if (!((c >= 'A' && c <= 'Z') || (c >= 'a' && c <= 'z') || (c >= '0' && c <= '9') || c == '-' || c == '_')) {
+                return false;
+            }
+            previous = c;
         }
+        return dots == 2 && previous != '.';
+    }
+
+    private static List<GrantedAuthority> authoritiesOf(String role) {
+        for (Role candidate : ROLES) {
+            if (candidate.name().equals(role)) {
+                return AUTHORITIES.get(candidate);
+            }
+        }
+        return null;
+    }
+
+    private static void unauthorized(HttpServletResponse response) throws IOException {
+        response.setStatus(HttpStatus.UNAUTHORIZED.value());
+        response.setContentType("application/json");
+        response.setContentLength(UNAUTHORIZED_BODY.length);
+        response.getOutputStream().write(UNAUTHORIZED_BODY);
     }
 }
@@ -1,6 +1,8 @@
 package com.kh.login.auth;
 
+import com.kh.login.domain.id.Tsid;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.security.Keys;
@@ -16,17 +18,24 @@ public class JwtTokenProvider {
     private final String secretKey;
     private final int expiration;
     private final Key SECRET_KEY;
+    // JwtParser는 불변(thread-safe)이므로 한 번만 생성하여 재사용
+    private final JwtParser jwtParser;
 
     public JwtTokenProvider(@Value("${jwt.secret}") String secretKey, @Value("${jwt.expiration}") int expiration) {
         this.secretKey = secretKey;
         this.expiration = expiration;
         this.SECRET_KEY = Keys.hmacShaKeyFor(secretKey.getBytes(StandardCharsets.UTF_8));
+        this.jwtParser = Jwts.parserBuilder()
+                .setSigningKey(SECRET_KEY)
+                .build();
     }
 
-    public String createToken(String email, String role){
+    public String createToken(Long memberId, String email, String role){
 //        claims는 jwt토큰의 payload부분을 의미
         Claims claims = Jwts.claims().setSubject(email);
         claims.put("role", role);
+        // 회원 PK를 함께 담아 인증 후 findByEmail 조회 없이 회원을 식별
+        claims.put("memberId", memberId);
 
         Date now = new Date();
         // expiration은 분 단위이므로 60 * 1000을 곱해서 밀리초로 변환
@@ -34,6 +43,8 @@ public class JwtTokenProvider {
 
         return Jwts.builder()
                 .setClaims(claims)
+                // 로그아웃 시 토큰을 폐기할 수 있도록 토큰마다 고유한 jti 부여 (TokenRevocationList 참고)
+                .setId(Long.toString(Tsid.next()))
                 .setIssuedAt(now)
                 .setExpiration(expire)
                 .signWith(SECRET_KEY, SignatureAlgorithm.HS512)
@@ -47,11 +58,17 @@ public class JwtTokenProvider {
         return SecurityContextHolder.getContext().getAuthentication().getName();
     }
 
+    public Long getMemberIdFromToken() {
+        // JwtTokenFilter가 등록한 MemberPrincipal에서 memberId 클레임 값을 꺼냄
+        // memberId 클레임이 없는 이전 토큰이면 null
+        Object principal = SecurityContextHolder.getContext().getAuthentication().getPrincipal();
+        if (principal instanceof MemberPrincipal memberPrincipal) {
+            return memberPrincipal.getMemberId();
+        }
+        return null;
+    }
+
     public Claims parseClaims(String token) {
-        return Jwts.parserBuilder()
-                .setSigningKey(SECRET_KEY)
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
+        return jwtParser.parseClaimsJws(token).getBody();
     }
 }
@@ -0,0 +1,84 @@
+package com.kh.login.auth;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * long 키 Bloom filter
+ *
+ * - "없음"은 확실하고, "있음"은 false positive일 수 있음 (있음이면 원본 저장소로 다시 확인해야 함)
+ * - 추가/조회 모두 lock과 객체 할당 없이 비트 연산만 수행 (추가는 CAS)
+ * - 삭제는 지원하지 않으므로 오래된 키를 빼려면 새 필터를 만들어 교체
+ */
+public final class LongBloomFilter {
+
+    private static final double LN2 = Math.log(2);
+
+    private final AtomicLongArray words;
+    // 비트 수는 2의 거듭제곱으로 올림 (비트 위치를 나머지 연산 대신 mask로 계산)
+    private final long bitMask;
+    private final int hashCount;
+
+    private LongBloomFilter(long bitCount, int hashCount) {
+        long bits = Long.highestOneBit(bitCount - 1) << 1;
+        long wordCount = bits >>> 6;
+        if (wordCount > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Bloom filter가 너무 큽니다: bits=" + bitCount);
+        }
+        this.words = new AtomicLongArray((int) wordCount);
+        this.bitMask = bits - 1;
+        this.hashCount = hashCount;
+    }
+
+    /**
+     * @param expectedInsertions 예상 키 개수 (넘으면 false positive 비율이 올라감)
+     * @param falsePositiveRate  목표 false positive 비율 (0 < rate < 1)
+     */
+    public static LongBloomFilter create(long expectedInsertions, double falsePositiveRate) {
+        if (falsePositiveRate <= 0 || falsePositiveRate >= 1) {
+            throw new IllegalArgumentException("falsePositiveRate는 0과 1 사이여야 합니다: " + falsePositiveRate);
+        }
+        long n = Math.max(1, expectedInsertions);
+        // m = -n ln p / (ln 2)^2, k = m/n ln 2
+        long bits = Math.max(64, (long) Math.ceil(-n * Math.log(falsePositiveRate) / (LN2 * LN2)));
+        int hashes = Math.max(1, (int) Math.round((double) bits / n * LN2));
+        return new LongBloomFilter(bits, hashes);
+    }
+
+    // 비트 위치는 hash1 + i * hash2 (hash2는 홀수로 만들어 2의 거듭제곱 크기에서도 위치가 겹치지 않게 함)
+    public void put(long key) {
+        long hash1 = mix(key);
+        long hash2 = mix(hash1) | 1;
+        long combined = hash1;
+        for (int i = 0; i < hashCount; i++) {
+            long bit = combined & bitMask;
+            int index = (int) (bit >>> 6);
+            long mask = 1L << bit;
+            long word;
+            while (((word = words.get(index)) & mask) == 0 && !words.compareAndSet(index, word, word | mask)) {
+                // 다른 스레드가 같은 word를 바꿨으면 다시 시도
+            }
+            combined += hash2;
+        }
+    }
+
+    public boolean mightContain(long key) {
+        long hash1 = mix(key);
+        long hash2 = mix(hash1) | 1;
+        long combined = hash1;
+        for (int i = 0; i < hashCount; i++) {
+            long bit = combined & bitMask;
+            if ((words.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                return false;
+            }
+            combined += hash2;
+        }
+        return true;
+    }
+
+    // TSID처럼 하위 비트만 바뀌는 키도 고르게 퍼지도록 섞음 (SplitMix64 finalizer)
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+        z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+        return z ^ (z >>> 31);
+    }
+}
@@ -0,0 +1,37 @@
+package com.kh.login.auth;
+
+import java.util.Collection;
+import lombok.Getter;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.userdetails.User;
+
+/**
+ * JWT 인증 후 SecurityContext에 등록되는 사용자 정보
+ * username(email)과 함께 토큰의 memberId 클레임을 보관하여
+ * 서비스 계층에서 회원 조회 쿼리 없이 회원을 식별할 수 있게 함
+ * 토큰의 jti/exp도 함께 보관하여 캐시된 사용자 정보로도 폐기 여부를 확인하고 로그아웃 시 폐기할 수 있게 함
+ * JwtAuthenticationCache를 통해 여러 요청이 같은 인스턴스를 공유하므로 변경되지 않아야 함
+ */
+@Getter
+public class MemberPrincipal extends User {
+
+    // memberId 클레임이 없는 이전 토큰이면 null
+    private final Long memberId;
+    // jti 클레임이 없는 이전 토큰이면 null (폐기할 수 없고 만료될 때까지 유효)
+    private final Long tokenId;
+    // 토큰의 exp (epoch millis)
+    private final long tokenExpiresAtMillis;
+
+    public MemberPrincipal(Long memberId, String email, Collection<? extends GrantedAuthority> authorities,
+                           Long tokenId, long tokenExpiresAtMillis) {
+        super(email, "", authorities);
+        this.memberId = memberId;
+        this.tokenId = tokenId;
+        this.tokenExpiresAtMillis = tokenExpiresAtMillis;
+    }
+
+    // 비밀번호를 보관하지 않으므로 지울 것이 없음 (공유 인스턴스를 변경하지 않도록 무시)
+    @Override
+    public void eraseCredentials() {
+    }
+}
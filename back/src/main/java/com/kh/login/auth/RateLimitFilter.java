@@ -0,0 +1,203 @@
+package com.kh.login.auth;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.kh.login.auth.RateLimitProperties.Limit;
+import com.kh.login.auth.RateLimitProperties.Route;
+import com.kh.login.exception.ErrorCode;
+import com.kh.login.exception.ErrorResponse;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.SequenceInputStream;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+/**
+ * 인증 경로(로그인, 이메일 인증코드 발송, 카카오 로그인) 요청 횟수 제한 필터
+ *
+ * 스프링 시큐리티 필터 체인 앞에서 실행되어 bcrypt, SMTP 발송, 외부 API 호출 전에 차단 (RateLimitConfig에서 등록)
+ * - IP별 버킷을 먼저 확인하고, 통과하면 요청 본문(JSON)의 email로 이메일별 버킷 확인
+ * - 초과하면 429 + Retry-After(초)
+ * - 프록시 뒤에서는 server.forward-headers-strategy 설정으로 getRemoteAddr()가 실제 클라이언트 IP가 되도록 해야 함
+ */
+@Slf4j
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    private static final String SCOPE_IP = "ip";
+    private static final String SCOPE_EMAIL = "email";
+
+    private final RateLimitProperties properties;
+    private final RateLimiter rateLimiter;
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+
+    public RateLimitFilter(RateLimitProperties properties, RateLimiter rateLimiter, ObjectMapper objectMapper, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.rateLimiter = rateLimiter;
+        this.objectMapper = objectMapper;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        Route route = routeOf(request);
+        // 비용이 드는 요청은 POST뿐 (CORS preflight 등은 제한하지 않음)
+        if (route == null || !HttpMethod.POST.matches(request.getMethod())) {
+            chain.doFilter(request, response);
+            return;
+        }
+
+        if (acquire(route, SCOPE_IP, request.getRemoteAddr(), route.getPerIp(), request, response)) {
+            return;
+        }
+        HttpServletRequest filteredRequest = request;
+        if (route.getPerEmail().isEnabled()) {
+            CachedBodyRequest cachedBodyRequest = CachedBodyRequest.of(request, properties.getMaxBodyBytes());
+            filteredRequest = cachedBodyRequest;
+            String email = cachedBodyRequest.email(objectMapper);
+            if (email != null && acquire(route, SCOPE_EMAIL, email, route.getPerEmail(), request, response)) {
+                return;
+            }
+        }
+        chain.doFilter(filteredRequest, response);
+    }
+
+    // 거절했으면 true (응답 작성 완료)
+    private boolean acquire(Route route, String scope, String key, Limit limit,
+                            HttpServletRequest request, HttpServletResponse response) throws IOException {
+        if (!limit.isEnabled()) {
+            return false;
+        }
+        long retryAfterMillis = rateLimiter.tryAcquire(route.getPath(), scope, key, limit);
+        if (retryAfterMillis == 0) {
+            return false;
+        }
+        meterRegistry.counter("rate.limit.rejected", "route", route.getPath(), "scope", scope).increment();
+        log.debug("요청 횟수 제한: route={}, scope={}, key={}", route.getPath(), scope, key);
+
+        response.setStatus(ErrorCode.TOO_MANY_REQUESTS.getStatus().value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf((retryAfterMillis + 999) / 1000));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        objectMapper.writeValue(response.getOutputStream(), ErrorResponse.of(ErrorCode.TOO_MANY_REQUESTS, request.getRequestURI()));
+        return true;
+    }
+
+    private Route routeOf(HttpServletRequest request) {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        for (Route route : properties.routes()) {
+            if (route.getPath().equals(path)) {
+                return route;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * 이메일 추출을 위해 요청 본문 앞부분(최대 maxBodyBytes)을 미리 읽어 두고,
+     * 컨트롤러에는 읽은 부분 + 남은 원본 스트림을 이어서 전달
+     */
+    private static final class CachedBodyRequest extends HttpServletRequestWrapper {
+
+        private final byte[] head;
+        private final boolean complete;
+
+        private CachedBodyRequest(HttpServletRequest request, byte[] head, boolean complete) {
+            super(request);
+            this.head = head;
+            this.complete = complete;
+        }
+
+        static CachedBodyRequest of(HttpServletRequest request, int maxBodyBytes) throws IOException {
+            byte[] head = request.getInputStream().readNBytes(maxBodyBytes + 1);
+            return new CachedBodyRequest(request, head, head.length <= maxBodyBytes);
+        }
+
+        /**
+         * 본문 JSON의 email (소문자). 본문이 너무 크거나 JSON이 아니면 null (IP별 제한만 적용)
+         */
+        String email(ObjectMapper objectMapper) {
+            if (!complete || head.length == 0) {
+                return null;
+            }
+            try {
+                JsonNode email = objectMapper.readTree(head).path("email");
+                return email.isTextual() ? email.asText().trim().toLowerCase(Locale.ROOT) : null;
+            } catch (IOException e) {
+                return null;
+            }
+        }
+
+        @Override
+        public ServletInputStream getInputStream() throws IOException {
+            InputStream body = complete
+                    ? new ByteArrayInputStream(head)
+                    : new SequenceInputStream(new ByteArrayInputStream(head), super.getInputStream());
+            return new ServletInputStream() {
+                private boolean finished;
+
+                @Override
+                public int read() throws IOException {
+                    int b = body.read();
+                    finished = b < 0;
+                    return b;
+                }
+
+                @Override
+                public int read(byte[] buffer, int offset, int length) throws IOException {
+                    int read = body.read(buffer, offset, length);
+                    finished = read < 0;
+                    return read;
+                }
+
+                @Override
+                public boolean isFinished() {
+                    return finished;
+                }
+
+                @Override
+                public boolean isReady() {
+                    return true;
+                }
+
+                // 본문 앞부분은 이미 메모리에 있고 나머지도 blocking으로 읽으므로 항상 읽을 수 있는 상태로 바로 알림
+                @Override
+                public void setReadListener(ReadListener readListener) {
+                    try {
+                        readListener.onDataAvailable();
+                        if (finished) {
+                            readListener.onAllDataRead();
+                        }
+                    } catch (IOException | RuntimeException e) {
+                        readListener.onError(e);
+                    }
+                }
+            };
+        }
+
+        @Override
+        public BufferedReader getReader() throws IOException {
+            String encoding = getCharacterEncoding();
+            Charset charset = encoding != null ? Charset.forName(encoding) : StandardCharsets.UTF_8;
+            return new BufferedReader(new InputStreamReader(getInputStream(), charset));
+        }
+    }
+}
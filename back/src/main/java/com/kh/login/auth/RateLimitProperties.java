@@ -0,0 +1,66 @@
+package com.kh.login.auth;
+
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * 인증 경로 요청 횟수 제한 설정 (rate-limit.*)
+ *
+ * 경로마다 IP별, 이메일별 토큰 버킷을 둠 (capacity만큼 연속 요청 가능, 분당 refill-per-minute개씩 다시 채워짐)
+ * capacity를 0으로 지정하면 해당 버킷은 사용하지 않음
+ *
+ * 예) rate-limit.login.per-email.capacity=5
+ *     rate-limit.email-send.per-ip.refill-per-minute=10
+ *     rate-limit.enabled=false
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "rate-limit")
+public class RateLimitProperties {
+
+    private boolean enabled = true;
+    // 전체 버킷 수 상한 (넘으면 유휴 버킷을 정리하고, 그래도 가득 차면 경로별 공용 버킷으로 제한)
+    private int maxBuckets = 100_000;
+    // 이 시간 동안 사용되지 않은 버킷은 제거 (가득 찬 상태로 다시 만들어지므로 제한이 풀리지 않으려면 버킷이 다 차는 시간보다 길어야 함)
+    private long idleMs = 600_000;
+    // 이메일 추출을 위해 읽는 요청 본문 최대 크기
+    private int maxBodyBytes = 8 * 1024;
+
+    // 일반 로그인 (bcrypt)
+    private Route login = new Route("/v1/member/login", new Limit(20, 20), new Limit(10, 5));
+    // 이메일 인증코드 발송 (SMTP)
+    private Route emailSend = new Route("/auth/email/send", new Limit(10, 10), new Limit(3, 1));
+    // 카카오 로그인 (카카오 API 2회 호출, 요청에 이메일 없음)
+    private Route kakaoLogin = new Route("/v1/member/kakao/login", new Limit(20, 20), new Limit(0, 0));
+
+    public List<Route> routes() {
+        return List.of(login, emailSend, kakaoLogin);
+    }
+
+    @Getter
+    @Setter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Route {
+        private String path;
+        private Limit perIp;
+        private Limit perEmail;
+    }
+
+    @Getter
+    @Setter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Limit {
+        private int capacity;
+        private int refillPerMinute;
+
+        public boolean isEnabled() {
+            return capacity > 0 && refillPerMinute > 0;
+        }
+    }
+}
@@ -0,0 +1,128 @@
+package com.kh.login.auth;
+
+import com.kh.login.auth.RateLimitProperties.Limit;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * 메모리 토큰 버킷 저장소 (노드별로 동작하므로 여러 노드면 노드 수만큼 허용량이 늘어남)
+ *
+ * - 버킷 조회/생성과 상태 갱신, 유휴 버킷 제거는 키를 고정 개수의 락에 나눠 담는 striped lock으로 직렬화
+ *   (버킷마다 락 객체를 만들지 않음, 사용 중인 버킷이 제거되어 허용량이 초기화되지 않도록)
+ * - 버킷 수는 rate-limit.max-buckets로 제한. 가득 차면 유휴 버킷을 정리하고,
+ *   그래도 가득 차 있으면 새 키는 경로별 공용 버킷 하나로 함께 제한 (대량의 IP/이메일로 메모리를 채우는 공격 대비)
+ * - rate-limit.idle-ms 동안 사용되지 않은 버킷은 주기적으로 제거
+ */
+@Component
+public class RateLimiter {
+
+    private static final int STRIPES = 256;
+    // 가득 찬 상태에서 요청이 몰려도 전체 스캔은 이 간격에 한 번만 수행
+    private static final long PURGE_INTERVAL_MILLIS = 1000L;
+    private static final String OVERFLOW_KEY = "";
+
+    private final Map<BucketKey, Bucket> buckets = new ConcurrentHashMap<>();
+    private final Object[] locks = new Object[STRIPES];
+    private final int maxBuckets;
+    private final long idleMillis;
+    private volatile long lastPurgeMillis;
+
+    public RateLimiter(RateLimitProperties properties, MeterRegistry meterRegistry) {
+        this.maxBuckets = properties.getMaxBuckets();
+        this.idleMillis = properties.getIdleMs();
+        for (int i = 0; i < STRIPES; i++) {
+            locks[i] = new Object();
+        }
+        meterRegistry.gaugeMapSize("rate.limit.buckets", Tags.empty(), buckets);
+    }
+
+    /**
+     * 토큰 1개 사용
+     *
+     * @param route 경로 이름
+     * @param scope 버킷 종류 (ip, email)
+     * @param key   IP 또는 이메일
+     * @return 허용이면 0, 거절이면 다음 토큰이 채워질 때까지 남은 시간(ms)
+     */
+    public long tryAcquire(String route, String scope, String key, Limit limit) {
+        long nowMillis = System.currentTimeMillis();
+        BucketKey bucketKey = new BucketKey(route, scope, key);
+        if (!buckets.containsKey(bucketKey) && buckets.size() >= maxBuckets) {
+            purgeIdle(nowMillis);
+            if (buckets.size() >= maxBuckets) {
+                bucketKey = new BucketKey(route, scope, OVERFLOW_KEY);
+            }
+        }
+        synchronized (lockOf(bucketKey)) {
+            Bucket bucket = buckets.computeIfAbsent(bucketKey, k -> new Bucket(limit.getCapacity()));
+            return bucket.tryAcquire(limit, System.nanoTime(), nowMillis);
+        }
+    }
+
+    /**
+     * 일정 시간 사용되지 않은 버킷 제거
+     */
+    @Scheduled(fixedDelayString = "${rate-limit.sweep-interval-ms:60000}")
+    public void evictIdle() {
+        removeIdle(System.currentTimeMillis());
+    }
+
+    private void purgeIdle(long now) {
+        if (now - lastPurgeMillis < PURGE_INTERVAL_MILLIS) {
+            return;
+        }
+        lastPurgeMillis = now;
+        removeIdle(now);
+    }
+
+    private void removeIdle(long now) {
+        for (Map.Entry<BucketKey, Bucket> entry : buckets.entrySet()) {
+            Bucket bucket = entry.getValue();
+            if (now - bucket.lastAccessMillis <= idleMillis) {
+                continue;
+            }
+            synchronized (lockOf(entry.getKey())) {
+                // 락을 기다리는 동안 사용되었으면 유지
+                if (now - bucket.lastAccessMillis > idleMillis) {
+                    buckets.remove(entry.getKey(), bucket);
+                }
+            }
+        }
+    }
+
+    private Object lockOf(BucketKey bucketKey) {
+        return locks[Math.floorMod(bucketKey.hashCode(), STRIPES)];
+    }
+
+    private record BucketKey(String route, String scope, String key) {
+    }
+
+    // tryAcquire는 striped lock 안에서만 호출
+    private static final class Bucket {
+        private double tokens;
+        private long refilledNanos;
+        private volatile long lastAccessMillis;
+
+        Bucket(int capacity) {
+            this.tokens = capacity;
+            this.refilledNanos = System.nanoTime();
+        }
+
+        long tryAcquire(Limit limit, long nowNanos, long nowMillis) {
+            lastAccessMillis = nowMillis;
+            double tokensPerNano = limit.getRefillPerMinute() / (double) TimeUnit.MINUTES.toNanos(1);
+            tokens = Math.min(limit.getCapacity(), tokens + (nowNanos - refilledNanos) * tokensPerNano);
+            refilledNanos = nowNanos;
+            if (tokens >= 1) {
+                tokens -= 1;
+                return 0;
+            }
+            return Math.max(1, (long) Math.ceil((1 - tokens) / tokensPerNano / 1_000_000));
+        }
+    }
+}
@@ -0,0 +1,159 @@
+package com.kh.login.auth;
+
+import com.kh.login.domain.RevokedToken;
+import com.kh.login.repository.RevokedTokenRepository;
+import com.kh.login.service.event.AccessTokenRevokedEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * 폐기된 access token(jti) 확인
+ *
+ * JwtTokenFilter가 모든 인증 요청에서 호출하므로 DB 조회 없이 메모리의 Bloom filter로 먼저 확인
+ * - Bloom filter에 없으면 폐기되지 않은 토큰 (대부분의 요청, 할당 없음)
+ * - 있으면 false positive일 수 있으므로 revoked_token 테이블을 PK로 조회
+ * - 같은 노드의 폐기는 바로 반영하고, 다른 노드에서 폐기된 토큰은 노드 간 이벤트(markRevoked)와
+ *   주기적인 재구성(jwt.revocation.rebuild-interval-ms) 때 반영
+ * - 재구성 시 만료된 토큰은 테이블에서 삭제하고 새 필터에서도 빠짐
+ * - 필터는 시작 시 바로 만들고, 만들지 못했으면(DB 장애 등) 첫 재구성 전까지 모든 토큰을 테이블에서 확인
+ * - 폐기하면 AccessTokenRevokedEvent를 발행하여 그 토큰으로 연결한 웹소켓 세션을 종료
+ */
+@Slf4j
+@Component
+public class TokenRevocationList {
+
+    private static final int LOAD_CHUNK_SIZE = 1000;
+    private static final int DELETE_CHUNK_SIZE = 1000;
+
+    private final RevokedTokenRepository revokedTokenRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final long expectedInsertions;
+    private final double falsePositiveRate;
+    private final Counter storeLookups;
+
+    // 시작 시 재구성에 실패했으면 다음 재구성 전까지 null
+    private volatile LongBloomFilter filter;
+    // 재구성 중인 필터 (재구성 중 폐기된 토큰이 새 필터에서 빠지지 않도록 양쪽에 추가)
+    private volatile LongBloomFilter rebuilding;
+
+    public TokenRevocationList(RevokedTokenRepository revokedTokenRepository,
+                               ApplicationEventPublisher eventPublisher,
+                               MeterRegistry meterRegistry,
+                               @Value("${jwt.revocation.expected-insertions:100000}") long expectedInsertions,
+                               @Value("${jwt.revocation.false-positive-rate:0.01}") double falsePositiveRate) {
+        this.revokedTokenRepository = revokedTokenRepository;
+        this.eventPublisher = eventPublisher;
+        this.expectedInsertions = expectedInsertions;
+        this.falsePositiveRate = falsePositiveRate;
+        this.storeLookups = meterRegistry.counter("jwt.revocation.store.lookups");
+    }
+
+    /**
+     * 요청을 받기 전에 필터 생성 (실패하면 테이블 조회로 동작하다가 다음 재구성 때 다시 시도)
+     */
+    @PostConstruct
+    public void init() {
+        try {
+            rebuild();
+        } catch (DataAccessException e) {
+            log.warn("폐기 토큰 Bloom filter 생성 실패, 다음 재구성까지 DB에서 확인", e);
+        }
+    }
+
+    /**
+     * 폐기된 토큰인지 확인
+     *
+     * @param tokenId access token의 jti
+     */
+    public boolean isRevoked(long tokenId) {
+        LongBloomFilter current = filter;
+        if (current != null && !current.mightContain(tokenId)) {
+            return false;
+        }
+        storeLookups.increment();
+        return revokedTokenRepository.existsById(tokenId);
+    }
+
+    /**
+     * access token 폐기 (이미 만료된 토큰은 저장하지 않음)
+     *
+     * @param tokenId         access token의 jti
+     * @param memberId        access token의 회원 ID (웹소켓 세션 종료 대상)
+     * @param expiresAtMillis access token의 exp (epoch millis)
+     */
+    public void revoke(long tokenId, Long memberId, long expiresAtMillis) {
+        if (expiresAtMillis <= System.currentTimeMillis()) {
+            return;
+        }
+        revokedTokenRepository.save(RevokedToken.builder()
+                .id(tokenId)
+                .expiresAt(LocalDateTime.ofInstant(Instant.ofEpochMilli(expiresAtMillis), ZoneId.systemDefault()))
+                .build());
+        markRevoked(tokenId);
+        eventPublisher.publishEvent(new AccessTokenRevokedEvent(memberId, tokenId));
+    }
+
+    /**
+     * 폐기된 토큰을 이 노드의 Bloom filter에 추가 (다른 노드에서 폐기한 토큰은 저장 없이 이것만 호출)
+     *
+     * @param tokenId access token의 jti
+     */
+    public void markRevoked(long tokenId) {
+        // 재구성 중인 필터 먼저 → 현재 필터 순서로 추가 (재구성이 끝나 교체되는 사이에도 누락되지 않음)
+        LongBloomFilter next = rebuilding;
+        if (next != null) {
+            next.put(tokenId);
+        }
+        LongBloomFilter current = filter;
+        if (current != null) {
+            current.put(tokenId);
+        }
+    }
+
+    /**
+     * 만료된 토큰 삭제 후 남은 jti로 Bloom filter를 새로 만들어 교체 (시작 시에는 init에서 실행)
+     */
+    @Scheduled(initialDelayString = "${jwt.revocation.rebuild-interval-ms:30000}",
+            fixedDelayString = "${jwt.revocation.rebuild-interval-ms:30000}")
+    public void rebuild() {
+        LocalDateTime now = LocalDateTime.now();
+        int deleted;
+        do {
+            deleted = revokedTokenRepository.deleteExpiredChunk(now, DELETE_CHUNK_SIZE);
+        } while (deleted == DELETE_CHUNK_SIZE);
+
+        // 다음 재구성 전까지 추가될 폐기 토큰을 고려해 여유 있게 생성
+        long count = revokedTokenRepository.countByExpiresAtAfter(now);
+        LongBloomFilter next = LongBloomFilter.create(Math.max(expectedInsertions, count * 2), falsePositiveRate);
+        rebuilding = next;
+        try {
+            long afterId = 0L;
+            List<Long> ids;
+            do {
+                ids = revokedTokenRepository.findIdsAfter(afterId, now, Limit.of(LOAD_CHUNK_SIZE));
+                for (Long id : ids) {
+                    next.put(id);
+                }
+                if (!ids.isEmpty()) {
+                    afterId = ids.get(ids.size() - 1);
+                }
+            } while (ids.size() == LOAD_CHUNK_SIZE);
+            filter = next;
+        } finally {
+            rebuilding = null;
+        }
+        log.debug("폐기 토큰 Bloom filter 재구성: {}건", count);
+    }
+}
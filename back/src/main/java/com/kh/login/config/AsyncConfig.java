@@ -0,0 +1,10 @@
+package com.kh.login.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableAsync;
+
+// 채팅방 정리 등 요청 스레드와 분리할 작업(@Async) 활성화 (스프링 부트 기본 applicationTaskExecutor 사용)
+@Configuration
+@EnableAsync
+public class AsyncConfig {
+}
@@ -0,0 +1,68 @@
+package com.kh.login.config;
+
+/**
+ * 채팅 메시지 브로드캐스트 버스
+ *
+ * 웹소켓 핸들러는 받은 메시지를 버스에 publish 하고,
+ * 버스는 (클러스터의) 모든 노드에 전달하여 각 노드가 자기 노드에 연결된 세션에 전송함
+ *
+ * - chat.bus.type=local (기본값) : 단일 노드, 같은 프로세스 안에서만 전달
+ * - chat.bus.type=tcp : 여러 노드 간 TCP 연결로 전달
+ *
+ * 채팅방마다 한 노드(담당 노드)가 채팅방 락 안에서 Sequencer로 순번을 붙이고 바로 전달하므로
+ * 같은 채팅방의 메시지는 모든 노드에서 순번 순서대로 전달됨
+ *
+ * 채팅 메시지와 별도로, 노드별 메모리 상태(참여자 인덱스, 웹소켓 구독 등) 무효화용 이벤트를 다른 노드에 전달
+ */
+public interface ChatBroadcastBus {
+
+    /**
+     * 메시지 발행
+     *
+     * @param draft 순번을 붙이기 전의 메시지 (담당 노드의 Sequencer가 최종 payload로 바꿈)
+     * @return 발행을 거절했으면 false (발신자에게 오류를 알려야 함)
+     *         다른 노드로 전달한 메시지는 전달 여부만 반영하고, 담당 노드에서의 거절은 알 수 없음
+     */
+    boolean publish(Long roomId, String draft);
+
+    /**
+     * 이 노드로 전달된 메시지를 받을 리스너 등록
+     */
+    void subscribe(Listener listener);
+
+    /**
+     * 이 노드가 담당하는 채팅방 메시지의 순번 발급기 등록 (없으면 draft를 그대로 전달)
+     */
+    void setSequencer(Sequencer sequencer);
+
+    /**
+     * 다른 모든 노드에 이벤트 전달 (자기 노드에는 전달하지 않음)
+     * 채팅 메시지와 달리 순서를 보장하지 않고, 연결이 끊긴 노드에는 전달되지 않음
+     */
+    void broadcastEvent(String event);
+
+    /**
+     * 다른 노드에서 전달된 이벤트를 받을 리스너 등록
+     */
+    void subscribeEvents(EventListener listener);
+
+    @FunctionalInterface
+    interface Listener {
+        void deliver(Long roomId, String payload);
+    }
+
+    @FunctionalInterface
+    interface Sequencer {
+        /**
+         * 채팅방 락 안에서 호출되어 draft에 순번을 붙인 payload를 만듦
+         *
+         * @return 전달할 payload, 저장할 수 없어 거절하면 null (전달하지 않음)
+         */
+        String sequence(Long roomId, String draft);
+    }
+
+    @FunctionalInterface
+    interface EventListener {
+        void onEvent(String event);
+    }
+}
@@ -0,0 +1,97 @@
+package com.kh.login.config;
+
+import com.kh.login.auth.JwtTokenFilter;
+import com.kh.login.auth.MemberPrincipal;
+import com.kh.login.service.ChatService;
+import java.util.Map;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.util.MultiValueMap;
+import org.springframework.web.socket.WebSocketHandler;
+import org.springframework.web.socket.server.HandshakeInterceptor;
+import org.springframework.web.util.UriComponentsBuilder;
+
+/**
+ * 웹소켓 핸드셰이크 시 한 번만 인증/인가 처리
+ *
+ * 1. token 쿼리 파라미터의 JWT 검증 (JwtTokenFilter와 같은 검증, 실패하거나 exp가 없거나 로그아웃 등으로 폐기된 토큰이면 401)
+ * 2. roomId 쿼리 파라미터가 있으면 채팅방 참여자인지 확인 (아니면 403)
+ * 3. 검증된 회원 ID, 이메일, 채팅방 ID, 토큰 jti를 세션 attribute에 저장 (토큰이 폐기되면 jti로 세션을 찾아 종료)
+ *
+ * 이후 메시지 처리에서는 세션 attribute만 사용하므로 메시지마다 채팅방/회원 조회를 하지 않고,
+ * payload의 senderEmail도 신뢰하지 않음
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ChatHandshakeInterceptor implements HandshakeInterceptor {
+
+    static final String MEMBER_ID_ATTRIBUTE = "memberId";
+    static final String EMAIL_ATTRIBUTE = "email";
+    static final String ROOM_ID_ATTRIBUTE = "roomId";
+    static final String TOKEN_ID_ATTRIBUTE = "tokenId";
+
+    private final JwtTokenFilter jwtTokenFilter;
+    private final ChatService chatService;
+
+    @Override
+    public boolean beforeHandshake(ServerHttpRequest request, ServerHttpResponse response,
+                                   WebSocketHandler wsHandler, Map<String, Object> attributes) {
+        MultiValueMap<String, String> params = UriComponentsBuilder.fromUri(request.getURI()).build().getQueryParams();
+        String token = params.getFirst("token");
+        if (token == null) {
+            response.setStatusCode(HttpStatus.UNAUTHORIZED);
+            return false;
+        }
+
+        MemberPrincipal principal = jwtTokenFilter.authenticateToken(token);
+        if (principal == null) {
+            log.debug("WebSocket JWT 인증 실패");
+            response.setStatusCode(HttpStatus.UNAUTHORIZED);
+            return false;
+        }
+        // jti 클레임이 없는 이전 토큰은 null (폐기 대상이 아님)
+        Long tokenId = principal.getTokenId();
+        String email = principal.getUsername();
+        Long memberId = principal.getMemberId();
+        if (memberId == null) {
+            // memberId 클레임이 없는 예전 토큰
+            memberId = chatService.findMemberId(email).orElse(null);
+            if (memberId == null) {
+                response.setStatusCode(HttpStatus.UNAUTHORIZED);
+                return false;
+            }
+        }
+
+        String roomIdParam = params.getFirst("roomId");
+        if (roomIdParam != null) {
+            Long roomId;
+            try {
+                roomId = Long.parseLong(roomIdParam);
+            } catch (NumberFormatException e) {
+                response.setStatusCode(HttpStatus.BAD_REQUEST);
+                return false;
+            }
+            if (!chatService.isRoomParticipant(memberId, roomId)) {
+                response.setStatusCode(HttpStatus.FORBIDDEN);
+                return false;
+            }
+            attributes.put(ROOM_ID_ATTRIBUTE, roomId);
+        }
+        attributes.put(MEMBER_ID_ATTRIBUTE, memberId);
+        attributes.put(EMAIL_ATTRIBUTE, email);
+        if (tokenId != null) {
+            attributes.put(TOKEN_ID_ATTRIBUTE, tokenId);
+        }
+        return true;
+    }
+
+    @Override
+    public void afterHandshake(ServerHttpRequest request, ServerHttpResponse response,
+                               WebSocketHandler wsHandler, Exception exception) {
+    }
+}
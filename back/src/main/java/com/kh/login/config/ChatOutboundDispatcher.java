@@ -0,0 +1,116 @@
+package com.kh.login.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.adapter.NativeWebSocketSession;
+
+/**
+ * 웹소켓 세션별 비동기 송신 버퍼(OutboundSession) 생성과 송신 스레드풀, 송신 메트릭 관리
+ *
+ * - chat.ws.send-time-limit-ms : 전송 하나가 이 시간보다 오래 걸리면 느린 세션으로 보고 종료
+ * - chat.ws.buffer-size-limit : 세션당 대기 가능한 프레임 수
+ * - chat.ws.overflow-policy : 버퍼가 가득 찼을 때 drop-oldest(가장 오래된 프레임 버림) 또는 close(세션 종료)
+ * - chat.ws.send-threads : 송신 스레드 수
+ *
+ * 응답하지 않는 클라이언트로의 전송은 송신 스레드 하나를 붙잡고 있으므로,
+ * watchdog이 send-time-limit을 넘긴 전송이 있는 세션을 닫아 송신 스레드를 돌려받음
+ * (느린 세션이 송신 스레드 수만큼 쌓여 노드 전체 전송이 멈추지 않도록)
+ * Tomcat은 blocking 전송 자체에도 같은 시간 제한을 걸어 세션 종료가 막힌 전송을 기다리지 않게 함
+ *
+ * 메트릭 (채팅방 수만큼 늘어나지 않도록 태그 없이 노드 전체로 집계)
+ * - chat.ws.queue.depth : 전체 세션의 송신 대기 프레임 수 합계
+ * - chat.ws.dropped.frames : 버퍼 초과/세션 종료로 버린 프레임 수
+ */
+@Component
+public class ChatOutboundDispatcher {
+
+    // Tomcat 웹소켓 세션의 blocking 전송 제한 시간(ms) 속성
+    private static final String TOMCAT_BLOCKING_SEND_TIMEOUT = "org.apache.tomcat.websocket.BLOCKING_SEND_TIMEOUT";
+
+    private final ExecutorService executor;
+    private final ScheduledExecutorService watchdog;
+    private final long sendTimeLimitMillis;
+    private final int bufferSizeLimit;
+    private final OutboundSession.OverflowPolicy overflowPolicy;
+    private final Set<OutboundSession> sessions = ConcurrentHashMap.newKeySet();
+    private final Counter droppedFrames;
+
+    public ChatOutboundDispatcher(MeterRegistry meterRegistry,
+                                  @Value("${chat.ws.send-time-limit-ms:5000}") long sendTimeLimitMillis,
+                                  @Value("${chat.ws.buffer-size-limit:256}") int bufferSizeLimit,
+                                  @Value("${chat.ws.overflow-policy:drop-oldest}") String overflowPolicy,
+                                  @Value("${chat.ws.send-threads:0}") int sendThreads) {
+        this.sendTimeLimitMillis = sendTimeLimitMillis;
+        this.bufferSizeLimit = bufferSizeLimit;
+        this.overflowPolicy = OutboundSession.OverflowPolicy.valueOf(overflowPolicy.toUpperCase().replace('-', '_'));
+        int threads = sendThreads > 0 ? sendThreads : Runtime.getRuntime().availableProcessors() * 2;
+        AtomicInteger threadIndex = new AtomicInteger();
+        this.executor = Executors.newFixedThreadPool(threads, r -> {
+            Thread thread = new Thread(r, "chat-ws-send-" + threadIndex.getAndIncrement());
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.watchdog = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "chat-ws-watchdog");
+            thread.setDaemon(true);
+            return thread;
+        });
+        // 제한 시간을 넘긴 뒤 늦어도 제한 시간의 절반(최대 1초) 안에 닫힘
+        long checkIntervalMillis = Math.max(10, Math.min(1000, sendTimeLimitMillis / 2));
+        watchdog.scheduleWithFixedDelay(this::closeStalledSessions, checkIntervalMillis, checkIntervalMillis,
+                TimeUnit.MILLISECONDS);
+        this.droppedFrames = meterRegistry.counter("chat.ws.dropped.frames");
+        Gauge.builder("chat.ws.queue.depth", sessions,
+                        current -> current.stream().mapToInt(OutboundSession::getBufferSize).sum())
+                .register(meterRegistry);
+    }
+
+    /**
+     * 웹소켓 세션을 비동기 송신 버퍼로 감쌈
+     */
+    OutboundSession open(WebSocketSession session) {
+        if (session instanceof NativeWebSocketSession nativeSession) {
+            jakarta.websocket.Session standardSession = nativeSession.getNativeSession(jakarta.websocket.Session.class);
+            if (standardSession != null) {
+                standardSession.getUserProperties().put(TOMCAT_BLOCKING_SEND_TIMEOUT, sendTimeLimitMillis);
+            }
+        }
+        OutboundSession outbound = new OutboundSession(session, executor, sendTimeLimitMillis, bufferSizeLimit,
+                overflowPolicy, droppedFrames);
+        sessions.add(outbound);
+        return outbound;
+    }
+
+    /**
+     * 연결이 끊긴 세션 제거
+     */
+    void closed(OutboundSession outbound) {
+        sessions.remove(outbound);
+    }
+
+    private void closeStalledSessions() {
+        long now = System.currentTimeMillis();
+        for (OutboundSession outbound : sessions) {
+            outbound.closeIfStalled(now);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        watchdog.shutdownNow();
+        executor.shutdown();
+        executor.awaitTermination(5, TimeUnit.SECONDS);
+    }
+}
@@ -0,0 +1,23 @@
+package com.kh.login.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.flyway.FlywayConfigurationCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class FlywayConfig {
+
+    /**
+     * 스키마 버전 관리 (src/main/resources/db/migration)
+     * V1은 Flyway 도입 이전에 Hibernate DDL로 만들어진 스키마이므로,
+     * 이미 테이블이 있는 DB는 V1로 baseline 처리하고 V2부터 적용 (추가된 컬럼/인덱스는 V2부터 하나씩 추가)
+     * migration은 MySQL 문법이므로 H2를 사용하는 테스트/벤치마크는 spring.flyway.enabled=false로 Hibernate DDL 사용
+     * application.yml에 spring.flyway.baseline-on-migrate를 직접 지정하면 그 값을 사용
+     */
+    @Bean
+    public FlywayConfigurationCustomizer baselineCustomizer(
+            @Value("${spring.flyway.baseline-on-migrate:true}") boolean baselineOnMigrate) {
+        return configuration -> configuration.baselineOnMigrate(baselineOnMigrate);
+    }
+}
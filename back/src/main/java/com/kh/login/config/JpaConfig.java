@@ -0,0 +1,26 @@
+package com.kh.login.config;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class JpaConfig {
+
+    /**
+     * Hibernate JDBC batch insert/update 설정
+     * 채팅 엔티티는 TSID(애플리케이션 생성 ID)를 사용하므로 같은 엔티티의 insert를 묶어서 전송할 수 있음
+     * application.yml에 spring.jpa.properties.hibernate.* 로 직접 지정한 값이 있으면 그 값을 우선 사용
+     * (MySQL은 JDBC URL에 rewriteBatchedStatements=true 를 함께 지정해야 multi-row insert로 전송됨)
+     */
+    @Bean
+    public HibernatePropertiesCustomizer jdbcBatchCustomizer(@Value("${chat.jdbc.batch-size:50}") int batchSize) {
+        return properties -> {
+            properties.putIfAbsent(AvailableSettings.STATEMENT_BATCH_SIZE, batchSize);
+            properties.putIfAbsent(AvailableSettings.ORDER_INSERTS, true);
+            properties.putIfAbsent(AvailableSettings.ORDER_UPDATES, true);
+        };
+    }
+}
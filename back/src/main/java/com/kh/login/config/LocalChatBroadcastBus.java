@@ -0,0 +1,54 @@
+package com.kh.login.config;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * 단일 노드용 브로드캐스트 버스 (chat.bus.type=local, 기본값)
+ *
+ * 발행한 스레드에서 바로 순번을 붙여 리스너에 전달하며, 같은 채팅방의 발행은 채팅방 락으로 직렬화하여
+ * 모든 세션이 순번 순서대로 메시지를 받도록 함 (다른 채팅방의 발행은 서로 기다리지 않음)
+ */
+@Component
+@ConditionalOnProperty(name = "chat.bus.type", havingValue = "local", matchIfMissing = true)
+public class LocalChatBroadcastBus implements ChatBroadcastBus {
+
+    private final List<Listener> listeners = new CopyOnWriteArrayList<>();
+    private final RoomLocks roomLocks = new RoomLocks();
+    private volatile Sequencer sequencer = (roomId, draft) -> draft;
+
+    @Override
+    public boolean publish(Long roomId, String draft) {
+        return roomLocks.call(roomId, () -> {
+            String payload = sequencer.sequence(roomId, draft);
+            if (payload == null) {
+                return false;
+            }
+            for (Listener listener : listeners) {
+                listener.deliver(roomId, payload);
+            }
+            return true;
+        });
+    }
+
+    @Override
+    public void subscribe(Listener listener) {
+        listeners.add(listener);
+    }
+
+    @Override
+    public void setSequencer(Sequencer sequencer) {
+        this.sequencer = sequencer;
+    }
+
+    // 다른 노드가 없으므로 전달할 곳도, 받을 이벤트도 없음
+    @Override
+    public void broadcastEvent(String event) {
+    }
+
+    @Override
+    public void subscribeEvents(EventListener listener) {
+    }
+}
@@ -0,0 +1,42 @@
+package com.kh.login.config;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.orm.jpa.support.OpenEntityManagerInViewInterceptor;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Open EntityManager In View 등록 (스프링 부트 기본 설정을 대체)
+ *
+ * OSIV EntityManager는 처음 조회할 때 얻은 DB 커넥션을 요청이 끝날 때까지 유지하는데,
+ * 비밀번호 해시를 기다리는 비동기 요청(로그인, 회원가입)에서는 해시가 끝날 때까지 커넥션을 잡고 있게 되어
+ * 로그인이 몰리면 커넥션 풀이 고갈됨 → 해당 경로만 OSIV에서 제외 (조회마다 트랜잭션 범위에서 커넥션 반납)
+ * spring.jpa.open-in-view=false 이면 등록하지 않음
+ */
+@Configuration
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@ConditionalOnProperty(prefix = "spring.jpa", name = "open-in-view", havingValue = "true", matchIfMissing = true)
+public class OpenEntityManagerInViewConfig {
+
+    private static final String[] EXCLUDED_PATHS = {"/v1/member/login", "/v1/member/signup"};
+
+    // 이 타입의 빈이 있으면 스프링 부트의 OSIV 자동 설정은 등록되지 않음
+    @Bean
+    public OpenEntityManagerInViewInterceptor openEntityManagerInViewInterceptor() {
+        return new OpenEntityManagerInViewInterceptor();
+    }
+
+    @Bean
+    public WebMvcConfigurer openEntityManagerInViewInterceptorConfigurer(OpenEntityManagerInViewInterceptor interceptor) {
+        return new WebMvcConfigurer() {
+            @Override
+            public void addInterceptors(InterceptorRegistry registry) {
+                registry.addWebRequestInterceptor(interceptor)
+                        .excludePathPatterns(EXCLUDED_PATHS);
+            }
+        };
+    }
+}
@@ -0,0 +1,171 @@
+package com.kh.login.config;
+
+import io.micrometer.core.instrument.Counter;
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.Queue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketSession;
+
+/**
+ * 웹소켓 세션 하나의 비동기 송신 버퍼
+ *
+ * 브로드캐스트하는 스레드는 버퍼에 넣기만 하고 바로 반환하며,
+ * 실제 전송은 송신 스레드풀에서 세션당 한 스레드씩 순서대로 수행
+ * → 느린 클라이언트 하나가 채팅방 전체 전송을 막지 않고, 같은 세션에 대한 동시 전송도 발생하지 않음
+ *
+ * - 버퍼가 가득 차면 overflow 정책에 따라 가장 오래된 프레임을 버리거나(DROP_OLDEST) 세션을 닫음(CLOSE)
+ * - 전송 하나가 send-time-limit 보다 오래 걸리면 세션을 닫음
+ *   (새 프레임이 올 때와 ChatOutboundDispatcher의 watchdog이 주기적으로 확인하므로, 전송이 막혀 있는 동안에도 닫힘)
+ */
+@Slf4j
+class OutboundSession {
+
+    enum OverflowPolicy {
+        DROP_OLDEST, CLOSE
+    }
+
+    private final WebSocketSession session;
+    private final Executor executor;
+    private final long sendTimeLimitMillis;
+    private final int bufferSizeLimit;
+    private final OverflowPolicy overflowPolicy;
+    private final Counter droppedFrames;
+
+    private final Queue<TextMessage> buffer = new ArrayDeque<>();
+    // buffer, draining은 this 락으로 보호
+    private boolean draining;
+    private volatile long sendStartedMillis;
+    private volatile boolean closed;
+
+    OutboundSession(WebSocketSession session, Executor executor, long sendTimeLimitMillis, int bufferSizeLimit,
+                    OverflowPolicy overflowPolicy, Counter droppedFrames) {
+        this.session = session;
+        this.executor = executor;
+        this.sendTimeLimitMillis = sendTimeLimitMillis;
+        this.bufferSizeLimit = bufferSizeLimit;
+        this.overflowPolicy = overflowPolicy;
+        this.droppedFrames = droppedFrames;
+    }
+
+    WebSocketSession getSession() {
+        return session;
+    }
+
+    /**
+     * 프레임을 송신 버퍼에 추가 (호출 스레드는 전송을 기다리지 않음)
+     */
+    void send(TextMessage message) {
+        if (closed) {
+            return;
+        }
+        if (isStalled(System.currentTimeMillis())) {
+            close("send time limit exceeded");
+            return;
+        }
+
+        boolean dropped = false;
+        boolean schedule;
+        synchronized (this) {
+            if (buffer.size() >= bufferSizeLimit) {
+                dropped = true;
+                if (overflowPolicy == OverflowPolicy.DROP_OLDEST) {
+                    buffer.poll();
+                }
+            }
+            if (overflowPolicy == OverflowPolicy.DROP_OLDEST || !dropped) {
+                buffer.add(message);
+            }
+            schedule = !draining;
+            draining = true;
+        }
+
+        if (dropped) {
+            droppedFrames.increment();
+            if (overflowPolicy == OverflowPolicy.CLOSE) {
+                close("send buffer overflow");
+                return;
+            }
+        }
+        if (schedule) {
+            try {
+                executor.execute(this::drain);
+            } catch (RejectedExecutionException e) {
+                // 애플리케이션 종료 중
+                synchronized (this) {
+                    draining = false;
+                }
+            }
+        }
+    }
+
+    /**
+     * 전송 하나가 send-time-limit을 넘겨 막혀 있으면 세션을 닫음 (watchdog에서 호출)
+     * 세션을 닫으면 막혀 있던 전송이 실패하면서 송신 스레드가 풀려남
+     */
+    void closeIfStalled(long now) {
+        if (!closed && isStalled(now)) {
+            close("send time limit exceeded");
+        }
+    }
+
+    synchronized int getBufferSize() {
+        return buffer.size();
+    }
+
+    boolean isOpen() {
+        return !closed && session.isOpen();
+    }
+
+    private boolean isStalled(long now) {
+        long started = sendStartedMillis;
+        return started != 0 && now - started > sendTimeLimitMillis;
+    }
+
+    private void drain() {
+        while (true) {
+            TextMessage message;
+            synchronized (this) {
+                message = buffer.poll();
+                if (message == null || closed) {
+                    draining = false;
+                    return;
+                }
+            }
+            sendStartedMillis = System.currentTimeMillis();
+            try {
+                if (session.isOpen()) {
+                    session.sendMessage(message);
+                }
+            } catch (IOException | IllegalStateException e) {
+                log.debug("웹소켓 전송 실패: session={}, {}", session.getId(), e.getMessage());
+                close("send failed");
+            } finally {
+                sendStartedMillis = 0;
+            }
+        }
+    }
+
+    private void close(String reason) {
+        int discarded;
+        synchronized (this) {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            discarded = buffer.size();
+            buffer.clear();
+        }
+        droppedFrames.increment(discarded);
+        log.warn("느린 웹소켓 세션 종료: session={}, reason={}", session.getId(), reason);
+        try {
+            session.close(CloseStatus.SESSION_NOT_RELIABLE);
+        } catch (IOException e) {
+            log.debug("웹소켓 세션 종료 실패: session={}", session.getId(), e);
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package com.kh.login.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.kh.login.auth.RateLimitFilter;
+import com.kh.login.auth.RateLimitProperties;
+import com.kh.login.auth.RateLimiter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.security.SecurityProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * 인증 경로 요청 횟수 제한 필터 등록
+ * 설정된 경로에만 매핑하고, 스프링 시큐리티 필터 체인보다 먼저 실행 (rate-limit.enabled=false 이면 등록하지 않음)
+ */
+@Configuration
+@EnableConfigurationProperties(RateLimitProperties.class)
+public class RateLimitConfig {
+
+    @Bean
+    public FilterRegistrationBean<RateLimitFilter> rateLimitFilter(RateLimitProperties properties,
+                                                                   RateLimiter rateLimiter,
+                                                                   ObjectMapper objectMapper,
+                                                                   MeterRegistry meterRegistry) {
+        FilterRegistrationBean<RateLimitFilter> registration =
+                new FilterRegistrationBean<>(new RateLimitFilter(properties, rateLimiter, objectMapper, meterRegistry));
+        registration.setUrlPatterns(properties.routes().stream().map(RateLimitProperties.Route::getPath).toList());
+        registration.setOrder(SecurityProperties.DEFAULT_FILTER_ORDER - 1);
+        registration.setEnabled(properties.isEnabled());
+        return registration;
+    }
+}
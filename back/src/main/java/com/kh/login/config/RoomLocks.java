@@ -0,0 +1,48 @@
+package com.kh.login.config;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * 채팅방별 순서 보장용 락 (채팅방마다 락 하나, 같은 채팅방끼리만 직렬화)
+ *
+ * 락 안에서 순번 발급/저장(DB 호출)을 하므로 여러 채팅방이 락을 나눠 쓰면 관계없는 채팅방이 서로의 DB 호출을 기다림
+ * → 사용 중인 채팅방에만 락을 만들고, 기다리는 스레드까지 모두 끝나면 제거 (사용자 수는 compute 안에서만 변경)
+ */
+final class RoomLocks {
+
+    private final Map<Long, RoomLock> locks = new ConcurrentHashMap<>();
+
+    /**
+     * 채팅방 락 안에서 action을 실행하고 결과 반환
+     */
+    <T> T call(Long roomId, Supplier<T> action) {
+        RoomLock lock = locks.compute(roomId, (id, current) -> {
+            RoomLock acquired = current == null ? new RoomLock() : current;
+            acquired.users++;
+            return acquired;
+        });
+        try {
+            synchronized (lock) {
+                return action.get();
+            }
+        } finally {
+            locks.computeIfPresent(roomId, (id, current) -> --current.users == 0 ? null : current);
+        }
+    }
+
+    /**
+     * 채팅방 락 안에서 action 실행
+     */
+    void run(Long roomId, Runnable action) {
+        call(roomId, () -> {
+            action.run();
+            return null;
+        });
+    }
+
+    private static final class RoomLock {
+        private int users;
+    }
+}
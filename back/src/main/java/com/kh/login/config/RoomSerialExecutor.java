@@ -0,0 +1,80 @@
+package com.kh.login.config;
+
+import java.util.ArrayDeque;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 채팅방별 순차 실행기
+ *
+ * 같은 채팅방의 작업은 제출 순서대로 하나씩, 다른 채팅방의 작업은 executor 스레드에서 서로 기다리지 않고 실행
+ * 채팅방마다 대기 작업이 capacity개를 넘으면 새 작업을 거절 (대기열은 실행할 작업이 있는 채팅방에만 존재)
+ */
+@Slf4j
+final class RoomSerialExecutor {
+
+    private final Executor executor;
+    private final int capacity;
+    // 맨 앞 작업은 실행 중인 작업 (대기열 변경은 compute 안에서만)
+    private final Map<Long, Queue<Runnable>> queues = new ConcurrentHashMap<>();
+
+    RoomSerialExecutor(Executor executor, int capacity) {
+        this.executor = executor;
+        this.capacity = capacity;
+    }
+
+    /**
+     * @return 대기 작업이 가득 차 거절했으면 false
+     */
+    boolean execute(Long roomId, Runnable task) {
+        boolean[] accepted = new boolean[1];
+        boolean[] idle = new boolean[1];
+        queues.compute(roomId, (id, current) -> {
+            // 대기열이 없으면 실행 중인 작업도 없음 (작업이 모두 끝나면 대기열을 제거하므로)
+            idle[0] = current == null;
+            Queue<Runnable> tasks = idle[0] ? new ArrayDeque<>() : current;
+            if (tasks.size() < capacity) {
+                tasks.add(task);
+                accepted[0] = true;
+            }
+            return tasks.isEmpty() ? null : tasks;
+        });
+        if (accepted[0] && idle[0]) {
+            try {
+                executor.execute(() -> drain(roomId, task));
+            } catch (RejectedExecutionException e) {
+                // 종료 중
+                queues.remove(roomId);
+                return false;
+            }
+        }
+        return accepted[0];
+    }
+
+    private void drain(Long roomId, Runnable first) {
+        Runnable task = first;
+        while (task != null) {
+            try {
+                task.run();
+            } catch (RuntimeException e) {
+                log.error("채팅방 작업 실행 실패: roomId={}", roomId, e);
+            }
+            task = next(roomId);
+        }
+    }
+
+    // 끝난 작업을 빼고 다음 작업 반환, 남은 작업이 없으면 대기열 제거
+    private Runnable next(Long roomId) {
+        Runnable[] next = new Runnable[1];
+        queues.computeIfPresent(roomId, (id, tasks) -> {
+            tasks.poll();
+            next[0] = tasks.peek();
+            return tasks.isEmpty() ? null : tasks;
+        });
+        return next[0];
+    }
+}
@@ -0,0 +1,10 @@
+package com.kh.login.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+// 캐시/인덱스 정리 등 주기 작업(@Scheduled) 활성화
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
@@ -1,14 +1,21 @@
 package com.kh.login.config;
 
+import com.kh.login.auth.BCryptStrengthCalibrator;
 import com.kh.login.auth.JwtTokenFilter;
 import com.kh.login.service.GoogleOauth2LoginSuccess;
+import java.time.Duration;
 import java.util.Arrays;
+import java.util.Map;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
 import org.springframework.security.config.http.SessionCreationPolicy;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.factory.PasswordEncoderFactories;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
@@ -38,6 +45,7 @@ public class SecurityConfig {
                         .requestMatchers(
                                 "/v1/member/login",    //일반로그인
                                 "/v1/member/signup",    //일반 회원가입
+                                "/v1/member/refresh",    // refresh token으로 access token 재발급
                                 "/v1/member/kakao/login",    // 카카오 로그인 (수동 구현)
                                 "/auth/email/*",
                                 "/oauth2/**",                // Spring OAuth2 클라이언트 경로
@@ -52,13 +60,41 @@ public class SecurityConfig {
                 .build();
     }
 
+    /**
+     * JwtTokenFilter는 @Component 필터라 서블릿 필터로도 자동 등록되어 요청마다 두 번 실행되므로,
+     * 서블릿 필터 등록은 끄고 위의 시큐리티 필터 체인에서만 실행
+     */
+    @Bean
+    public FilterRegistrationBean<JwtTokenFilter> jwtTokenFilterRegistration() {
+        FilterRegistrationBean<JwtTokenFilter> registration = new FilterRegistrationBean<>(jwtTokenFilter);
+        registration.setEnabled(false);
+        return registration;
+    }
+
     /**
      * 비밀번호 인코더 빈 설정
      * Spring Security에서 지원하는 다양한 인코딩 방식을 위임하여 사용하는 Encoder
+     *
+     * - 새 비밀번호는 bcrypt로 저장하며, 강도는 security.password.bcrypt-strength 로 지정
+     *   (0이면 기동 시 해시 1회가 security.password.target-hash-ms 를 넘지 않도록 보정)
+     * - 저장된 해시의 강도가 낮으면 upgradeEncoding()이 true → 로그인 성공 시 재해시
+     *   (여러 노드의 보정 결과가 달라도 강도는 올라가기만 하고 낮아지지 않음)
      */
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return PasswordEncoderFactories.createDelegatingPasswordEncoder();
+    public PasswordEncoder passwordEncoder(@Value("${security.password.bcrypt-strength:0}") int bcryptStrength,
+                                           @Value("${security.password.target-hash-ms:250}") long targetHashMillis) {
+        int strength = bcryptStrength > 0
+                ? bcryptStrength
+                : BCryptStrengthCalibrator.calibrate(Duration.ofMillis(targetHashMillis));
+        return createPasswordEncoder(strength);
+    }
+
+    public static PasswordEncoder createPasswordEncoder(int bcryptStrength) {
+        DelegatingPasswordEncoder passwordEncoder = new DelegatingPasswordEncoder(
+                "bcrypt", Map.of("bcrypt", new BCryptPasswordEncoder(bcryptStrength)));
+        // bcrypt 외의 id({noop}, {pbkdf2} 등)로 저장된 기존 해시도 검증할 수 있도록 기본 위임 인코더 사용
+        passwordEncoder.setDefaultPasswordEncoderForMatches(PasswordEncoderFactories.createDelegatingPasswordEncoder());
+        return passwordEncoder;
     }
 
     /**
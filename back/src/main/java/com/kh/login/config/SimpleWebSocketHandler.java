@@ -1,104 +1,320 @@
 package com.kh.login.config;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
-import com.kh.login.dto.chat.ChatMessageDto;
+import com.kh.login.auth.TokenRevocationList;
+import com.kh.login.domain.ChatMessage;
+import com.kh.login.dto.chat.ChatClusterEventDto;
+import com.kh.login.dto.chat.ChatClusterEventType;
+import com.kh.login.dto.chat.ChatFrameDto;
+import com.kh.login.dto.chat.ChatFrameType;
+import com.kh.login.dto.chat.ChatMessageDraftDto;
 import com.kh.login.service.ChatService;
+import com.kh.login.service.event.AccessTokenRevokedEvent;
+import com.kh.login.service.event.ChatParticipantLeftEvent;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.event.EventListener;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
 import org.springframework.web.socket.CloseStatus;
 import org.springframework.web.socket.TextMessage;
 import org.springframework.web.socket.WebSocketSession;
 import org.springframework.web.socket.handler.TextWebSocketHandler;
 
+import java.io.IOException;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
-import io.jsonwebtoken.Claims;
-import io.jsonwebtoken.Jwts;
-import io.jsonwebtoken.security.Keys;
-import java.nio.charset.StandardCharsets;
-import com.kh.login.auth.JwtTokenProvider;
 
 //connect로 웹소켓 연결요청이 들어왔을때 이를 처리할 클래스
+// - /connect?roomId=1&token=... : 채팅방 하나 전용 연결 (기존 방식)
+// - /connect?token=... : 멀티플렉스 연결, SUBSCRIBE/UNSUBSCRIBE/MESSAGE 프레임으로 여러 채팅방을 한 연결에서 사용
+@Slf4j
 @Component
 public class SimpleWebSocketHandler extends TextWebSocketHandler {
 
-  //    연결된 세션 관리 : 스레드 safe한 set 사용
-    private final Map<Long, Set<WebSocketSession>> roomSessions = new ConcurrentHashMap<>();
+    private static final String OUTBOUND_ATTRIBUTE = "outbound";
+    private static final String ROOMS_ATTRIBUTE = "rooms";
+    private static final String MULTIPLEX_ATTRIBUTE = "multiplex";
+
+  //    연결된 세션 관리 : 스레드 safe한 set 사용 (세션마다 비동기 송신 버퍼로 감싸서 보관)
+    // 채팅방별 세션 (메시지 전달용)
+    private final Map<Long, Set<OutboundSession>> roomSessions = new ConcurrentHashMap<>();
+    // 회원별 세션 (채팅방을 나간 회원, 토큰이 폐기된 회원의 세션을 찾을 때 사용)
+    private final Map<Long, Set<OutboundSession>> memberSessions = new ConcurrentHashMap<>();
     private final ChatService chatService;
-    private final ObjectMapper objectMapper = new ObjectMapper();
-    private final JwtTokenProvider jwtTokenProvider;
+    private final ObjectMapper objectMapper;
+    private final ChatOutboundDispatcher outboundDispatcher;
+    private final ChatBroadcastBus chatBroadcastBus;
+    private final TokenRevocationList tokenRevocationList;
 
     @Autowired
-    public SimpleWebSocketHandler(ChatService chatService, JwtTokenProvider jwtTokenProvider) {
+    public SimpleWebSocketHandler(ChatService chatService, ObjectMapper objectMapper,
+                                  ChatOutboundDispatcher outboundDispatcher,
+                                  ChatBroadcastBus chatBroadcastBus,
+                                  TokenRevocationList tokenRevocationList) {
         this.chatService = chatService;
-        this.jwtTokenProvider = jwtTokenProvider;
+        this.objectMapper = objectMapper;
+        this.outboundDispatcher = outboundDispatcher;
+        this.chatBroadcastBus = chatBroadcastBus;
+        this.tokenRevocationList = tokenRevocationList;
+        // 버스로 전달된 메시지(다른 노드에서 발행한 메시지 포함)를 이 노드에 연결된 세션에 전송
+        chatBroadcastBus.subscribe(this::deliver);
+        // 다른 노드에서 채팅방을 나간 회원의 이 노드 세션도 구독 해제, 다른 노드에서 폐기된 토큰의 세션은 종료
+        chatBroadcastBus.subscribeEvents(this::onClusterEvent);
     }
 
     @Override
     public void afterConnectionEstablished(WebSocketSession session) throws Exception {
-        // 쿼리 파라미터에서 roomId, token 추출
-        String query = session.getUri().getQuery();
-        Long roomId = null;
-        String token = null;
-        if (query != null) {
-            String[] params = query.split("&");
-            for (String param : params) {
-                if (param.startsWith("roomId=")) {
-                    roomId = Long.parseLong(param.substring(7));
-                } else if (param.startsWith("token=")) {
-                    token = param.substring(6);
+        // JWT, 채팅방 참여 여부는 ChatHandshakeInterceptor에서 검증 완료
+        Long memberId = memberId(session);
+        Long roomId = (Long) session.getAttributes().get(ChatHandshakeInterceptor.ROOM_ID_ATTRIBUTE);
+        OutboundSession outbound = outboundDispatcher.open(session);
+        session.getAttributes().put(OUTBOUND_ATTRIBUTE, outbound);
+        session.getAttributes().put(ROOMS_ATTRIBUTE, ConcurrentHashMap.<Long>newKeySet());
+        addSession(memberSessions, memberId, outbound);
+
+        if (roomId == null) {
+            session.getAttributes().put(MULTIPLEX_ATTRIBUTE, Boolean.TRUE);
+            log.debug("Connected : {} (multiplex)", session.getId());
+            return;
+        }
+        subscribe(session, roomId);
+        log.debug("Connected : {} to room {}", session.getId(), roomId);
+    }
+
+    @Override
+    protected void handleTextMessage(WebSocketSession session, TextMessage message) throws Exception {
+        String payload = message.getPayload();
+        if (Boolean.TRUE.equals(session.getAttributes().get(MULTIPLEX_ATTRIBUTE))) {
+            handleFrame(session, objectMapper.readValue(payload, ChatFrameDto.class));
+            return;
+        }
+        // 채팅방 전용 연결: 채팅방은 연결 시 검증한 채팅방으로 고정, type이 없으면 메시지 전송
+        ChatFrameDto frame = objectMapper.readValue(payload, ChatFrameDto.class);
+        Long roomId = (Long) session.getAttributes().get(ChatHandshakeInterceptor.ROOM_ID_ATTRIBUTE);
+        if (!rooms(session).contains(roomId)) {
+            // 연결 후 채팅방을 나간 경우
+            sendError(session, roomId, "채팅방 참여자가 아닙니다.");
+            return;
+        }
+        if (frame.getType() == ChatFrameType.READ) {
+            markRead(session, roomId, frame.getMessageId());
+            return;
+        }
+        saveAndPublish(session, roomId, frame.getMessage());
+    }
+
+    private void handleFrame(WebSocketSession session, ChatFrameDto frame) throws Exception {
+        Long roomId = frame.getRoomId();
+        if (frame.getType() == null || roomId == null) {
+            sendError(session, roomId, "type과 roomId는 필수입니다.");
+            return;
+        }
+        switch (frame.getType()) {
+            case SUBSCRIBE -> {
+                if (!chatService.isRoomParticipant(memberId(session), roomId)) {
+                    sendError(session, roomId, "채팅방 참여자가 아닙니다.");
+                    return;
                 }
+                subscribe(session, roomId);
             }
+            case UNSUBSCRIBE -> unsubscribe(session, roomId);
+            case MESSAGE -> {
+                if (!rooms(session).contains(roomId)) {
+                    sendError(session, roomId, "구독하지 않은 채팅방입니다.");
+                    return;
+                }
+                saveAndPublish(session, roomId, frame.getMessage());
+            }
+            case READ -> {
+                if (!rooms(session).contains(roomId)) {
+                    sendError(session, roomId, "구독하지 않은 채팅방입니다.");
+                    return;
+                }
+                markRead(session, roomId, frame.getMessageId());
+            }
+            default -> sendError(session, roomId, "지원하지 않는 프레임입니다: " + frame.getType());
         }
-        if (roomId == null || token == null) {
-            session.close();
+    }
+
+    // 발신자는 세션에 저장된 인증 정보로 지정 (payload의 senderEmail은 사용하지 않음)
+    private void saveAndPublish(WebSocketSession session, Long roomId, String content) throws Exception {
+        // 저장할 수 없는 메시지는 순번 발급/브로드캐스트 전에 거절
+        // (write-behind는 저장 전에 브로드캐스트하므로, 저장에 실패하면 history에서 조회되지 않는 메시지가 전달됨)
+        if (content == null || content.isBlank()) {
+            sendError(session, roomId, "메시지 내용이 비어 있습니다.");
             return;
         }
-        // JWT 검증
-        try {
-            jwtTokenProvider.parseClaims(token);
-            System.out.println("WebSocket JWT 인증 성공");
-        } catch (Exception e) {
-            System.out.println("WebSocket JWT 인증 실패: " + e.getMessage());
-            session.close();
+        if (content.length() > ChatMessage.MAX_CONTENT_LENGTH) {
+            sendError(session, roomId, "메시지는 " + ChatMessage.MAX_CONTENT_LENGTH + "자 이하로 입력해 주세요.");
             return;
         }
-        session.getAttributes().put("roomId", roomId);
-        roomSessions.computeIfAbsent(roomId, k -> ConcurrentHashMap.newKeySet()).add(session);
-        System.out.println("Connected : " + session.getId() + " to room " + roomId);
+        // 순번 발급과 저장은 채팅방 담당 노드의 ChatMessageSequencer가 전달 순서대로 수행
+        ChatMessageDraftDto draft = ChatMessageDraftDto.builder()
+                .memberId(memberId(session))
+                .senderEmail((String) session.getAttributes().get(ChatHandshakeInterceptor.EMAIL_ATTRIBUTE))
+                .message(content)
+                .build();
+        if (!chatBroadcastBus.publish(roomId, objectMapper.writeValueAsString(draft))) {
+            // 저장 버퍼가 가득 찼거나 채팅방 담당 노드와 연결이 끊긴 경우 (전달되지 않았으므로 다시 보내도 중복되지 않음)
+            sendError(session, roomId, "메시지를 전송하지 못했습니다. 잠시 후 다시 시도해 주세요.");
+        }
     }
 
-    @Override
-    protected void handleTextMessage(WebSocketSession session, TextMessage message) throws Exception {
-        String payload = message.getPayload();
-        System.out.println("received message : " + payload);
-        ChatMessageDto chatMessageDto = objectMapper.readValue(payload, ChatMessageDto.class);
-        chatService.saveMessage(chatMessageDto.getRoomId(), chatMessageDto);
-        Long roomId = chatMessageDto.getRoomId();
-        Set<WebSocketSession> targetSessions = roomSessions.get(roomId);
+    // 읽음 커서 이동 (REST 읽음 처리 호출 없이 웹소켓으로 처리)
+    private void markRead(WebSocketSession session, Long roomId, Long messageId) throws Exception {
+        if (messageId == null) {
+            sendError(session, roomId, "READ 프레임에는 messageId가 필요합니다.");
+            return;
+        }
+        chatService.markReadUpTo(roomId, memberId(session), messageId);
+    }
+
+    private void deliver(Long roomId, String payload) {
+        Set<OutboundSession> targetSessions = roomSessions.get(roomId);
         if (targetSessions != null) {
-            for (WebSocketSession s : targetSessions) {
+            // 송신 버퍼에 넣기만 하고 실제 전송은 송신 스레드가 처리 (느린 세션이 다른 세션 전송을 막지 않음)
+            TextMessage textMessage = new TextMessage(payload);
+            for (OutboundSession s : targetSessions) {
                 if (s.isOpen()) {
-                    s.sendMessage(new TextMessage(payload));
+                    s.send(textMessage);
                 }
             }
         }
     }
 
+    // 채팅방을 나간 회원의 이 노드 세션들은 더 이상 해당 채팅방 메시지를 받지 않음
+    @TransactionalEventListener
+    public void onParticipantLeft(ChatParticipantLeftEvent event) {
+        unsubscribeMember(event.memberId(), event.roomId());
+    }
+
+    private void onClusterEvent(String payload) {
+        ChatClusterEventDto event;
+        try {
+            event = objectMapper.readValue(payload, ChatClusterEventDto.class);
+        } catch (JsonProcessingException e) {
+            log.warn("채팅 버스 이벤트 형식 오류: {}", e.getOriginalMessage());
+            return;
+        }
+        if (event.getType() == ChatClusterEventType.PARTICIPANT_LEFT) {
+            unsubscribeMember(event.getMemberId(), event.getRoomId());
+        } else if (event.getType() == ChatClusterEventType.TOKEN_REVOKED) {
+            // 폐기 토큰 저장은 폐기한 노드에서 완료, 이 노드는 재구성 전에도 핸드셰이크에서 거절하도록 필터에만 추가
+            tokenRevocationList.markRevoked(event.getTokenId());
+            closeTokenSessions(event.getMemberId(), event.getTokenId());
+        }
+    }
+
+    // 로그아웃 등으로 폐기된 토큰으로 연결한 이 노드의 세션을 종료하고 다른 노드에도 전달
+    @EventListener
+    public void onTokenRevoked(AccessTokenRevokedEvent event) {
+        closeTokenSessions(event.memberId(), event.tokenId());
+        try {
+            chatBroadcastBus.broadcastEvent(objectMapper.writeValueAsString(ChatClusterEventDto.builder()
+                    .type(ChatClusterEventType.TOKEN_REVOKED)
+                    .memberId(event.memberId())
+                    .tokenId(event.tokenId())
+                    .build()));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private void closeTokenSessions(Long memberId, long tokenId) {
+        Set<OutboundSession> sessions = memberSessions.get(memberId);
+        if (sessions == null) {
+            return;
+        }
+        for (OutboundSession outbound : sessions) {
+            WebSocketSession session = outbound.getSession();
+            if (!Long.valueOf(tokenId).equals(session.getAttributes().get(ChatHandshakeInterceptor.TOKEN_ID_ATTRIBUTE))) {
+                continue;
+            }
+            try {
+                session.close(CloseStatus.POLICY_VIOLATION.withReason("token revoked"));
+            } catch (IOException e) {
+                log.debug("웹소켓 세션 종료 실패: session={}", session.getId(), e);
+            }
+        }
+    }
+
+    private void unsubscribeMember(Long memberId, Long roomId) {
+        Set<OutboundSession> sessions = memberSessions.get(memberId);
+        if (sessions == null) {
+            return;
+        }
+        for (OutboundSession outbound : sessions) {
+            unsubscribe(outbound.getSession(), roomId);
+        }
+    }
+
+    private void subscribe(WebSocketSession session, Long roomId) {
+        OutboundSession outbound = outbound(session);
+        if (!rooms(session).add(roomId)) {
+            return;
+        }
+        addSession(roomSessions, roomId, outbound);
+    }
+
+    // 추가도 compute 안에서 해야 빈 set을 제거하는 computeIfPresent와 겹쳐 제거된 set에 추가되지 않음
+    private static void addSession(Map<Long, Set<OutboundSession>> sessionsByKey, Long key, OutboundSession outbound) {
+        sessionsByKey.compute(key, (k, sessions) -> {
+            Set<OutboundSession> target = sessions == null ? ConcurrentHashMap.newKeySet() : sessions;
+            target.add(outbound);
+            return target;
+        });
+    }
+
+    private void unsubscribe(WebSocketSession session, Long roomId) {
+        if (!rooms(session).remove(roomId)) {
+            return;
+        }
+        OutboundSession outbound = outbound(session);
+        roomSessions.computeIfPresent(roomId, (id, sessions) -> {
+            sessions.remove(outbound);
+            return sessions.isEmpty() ? null : sessions;
+        });
+    }
+
+    private void sendError(WebSocketSession session, Long roomId, String message) throws Exception {
+        ChatFrameDto error = ChatFrameDto.builder()
+                .type(ChatFrameType.ERROR)
+                .roomId(roomId)
+                .message(message)
+                .build();
+        outbound(session).send(new TextMessage(objectMapper.writeValueAsString(error)));
+    }
+
+    private Long memberId(WebSocketSession session) {
+        return (Long) session.getAttributes().get(ChatHandshakeInterceptor.MEMBER_ID_ATTRIBUTE);
+    }
+
+    private OutboundSession outbound(WebSocketSession session) {
+        return (OutboundSession) session.getAttributes().get(OUTBOUND_ATTRIBUTE);
+    }
+
+    @SuppressWarnings("unchecked")
+    private Set<Long> rooms(WebSocketSession session) {
+        return (Set<Long>) session.getAttributes().get(ROOMS_ATTRIBUTE);
+    }
+
     @Override
     public void afterConnectionClosed(WebSocketSession session, CloseStatus status) throws Exception {
-        Long roomId = (Long) session.getAttributes().get("roomId");
-        if (roomId != null) {
-            Set<WebSocketSession> sessions = roomSessions.get(roomId);
-            if (sessions != null) {
-                sessions.remove(session);
-                if (sessions.isEmpty()) {
-                    roomSessions.remove(roomId);
-                }
+        OutboundSession outbound = outbound(session);
+        if (outbound != null) {
+            outboundDispatcher.closed(outbound);
+            for (Long roomId : Set.copyOf(rooms(session))) {
+                unsubscribe(session, roomId);
             }
+            memberSessions.computeIfPresent(memberId(session), (id, sessions) -> {
+                sessions.remove(outbound);
+                return sessions.isEmpty() ? null : sessions;
+            });
         }
-        System.out.println("disconnected!!");
+        log.debug("disconnected : {}", session.getId());
     }
 
 
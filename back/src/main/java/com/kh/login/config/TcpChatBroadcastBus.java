@@ -0,0 +1,543 @@
+package com.kh.login.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.UnknownHostException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+/**
+ * 여러 노드 간 TCP 브로드캐스트 버스 (chat.bus.type=tcp)
+ *
+ * 모든 노드가 같은 노드 목록(chat.bus.tcp.nodes)을 가지고, 채팅방마다 담당 노드(roomId 해시)를 정함
+ * - 담당 노드가 아닌 노드는 순번을 붙이기 전의 메시지를 담당 노드로 전달(FORWARD)
+ * - 담당 노드는 채팅방 락 안에서 Sequencer로 순번을 붙이고, 같은 락 안에서 자기 세션에 전달하고 다른 모든 노드의 전송 대기열에 추가(DELIVER)
+ * - 다른 노드에서 받은 FORWARD는 수신 스레드가 직접 처리하지 않고 채팅방별 순차 실행기로 넘김
+ *   (순번 발급/저장의 DB 호출을 수신 스레드에서 기다리면 같은 연결로 오는 다른 채팅방 메시지까지 밀림)
+ * → 순번 발급 순서 = 전송 대기열 순서이고, 노드 간 연결마다 전송 스레드 하나가 순서대로 보내므로
+ *   같은 채팅방 메시지는 모든 노드에서 순번 순서대로 전달됨
+ *
+ * 담당 노드에 연결되어 있지 않거나 담당 노드 전송 대기열이 가득 차면 발행을 거절 (발신자에게 오류 프레임)
+ * → 순번은 항상 담당 노드 한 곳에서만 발급 (다른 노드가 발급하면 같은 채팅방에 중복 순번이 생김), 전달은 at-most-once
+ * 이벤트(EVENT)는 담당 노드를 거치지 않고 다른 모든 노드에 바로 전달 (roomId 자리는 0)
+ *
+ * 노드 간 인증: chat.bus.tcp.secret이 있으면 연결마다 challenge-response로 확인
+ * (수신 노드가 보낸 nonce의 HMAC-SHA256을 연결한 노드가 응답, 내용은 암호화하지 않으므로 내부망에서만 사용)
+ * secret 없이는 loopback에만 바인딩할 수 있음
+ *
+ * 핸드셰이크 (secret이 있을 때) : 수신 노드 → [nonce 16byte], 연결한 노드 → [HMAC 32byte], 수신 노드 → [OK 1byte]
+ * 프레임 : [type 1byte][roomId 8byte][length 4byte][payload UTF-8]
+ *
+ * 설정
+ * - chat.bus.tcp.bind-address : 수신 주소 (기본값 127.0.0.1, loopback이 아니면 secret 필수)
+ * - chat.bus.tcp.port : 수신 포트
+ * - chat.bus.tcp.secret : 노드 간 공유 비밀값
+ * - chat.bus.tcp.nodes : 전체 노드 목록 host:port (모든 노드에서 같은 순서)
+ * - chat.bus.tcp.self : 노드 목록 중 이 노드 (기본값 localhost:{port})
+ * - chat.bus.tcp.queue-capacity : 노드별 전송 대기 프레임 수 (초과 시 버리고 chat.bus.dropped 증가),
+ *   다른 노드에서 받아 순번 발급을 기다리는 채팅방별 FORWARD 수 (초과 시 버리고 chat.bus.rejected 증가)
+ * - chat.bus.tcp.sequencer-threads : FORWARD 순번 발급 스레드 수 (기본값 CPU 수 * 2)
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "chat.bus.type", havingValue = "tcp")
+public class TcpChatBroadcastBus implements ChatBroadcastBus, SmartLifecycle {
+
+    private static final byte DELIVER = 1;
+    private static final byte FORWARD = 2;
+    private static final byte EVENT = 3;
+    private static final int HEADER_SIZE = 1 + 8 + 4;
+    private static final int MAX_PAYLOAD_SIZE = 1024 * 1024;
+    private static final int CONNECT_TIMEOUT_MS = 2000;
+    private static final long RECONNECT_DELAY_MS = 1000;
+    private static final long IDLE_POLL_MS = 100;
+    private static final int NONCE_SIZE = 16;
+    private static final int MAC_SIZE = 32;
+    private static final int HANDSHAKE_OK = 1;
+    private static final String MAC_ALGORITHM = "HmacSHA256";
+
+    private final String bindAddress;
+    private final int port;
+    private final List<String> nodes;
+    private final int selfIndex;
+    // 노드 목록 순서 그대로, 자기 자신 자리는 null
+    private final List<PeerConnection> peers = new ArrayList<>();
+    private final List<Listener> listeners = new CopyOnWriteArrayList<>();
+    private final List<EventListener> eventListeners = new CopyOnWriteArrayList<>();
+    private final RoomLocks roomLocks = new RoomLocks();
+    private final int queueCapacity;
+    private final int sequencerThreads;
+    // null이면 노드 간 인증 없음 (loopback 전용)
+    private final SecretKeySpec secretKey;
+    private final SecureRandom random = new SecureRandom();
+    private volatile Sequencer sequencer = (roomId, draft) -> draft;
+    private final Set<Socket> inboundSockets = ConcurrentHashMap.newKeySet();
+    private final Counter published;
+    private final Counter received;
+    private final Counter rejected;
+    private volatile boolean running;
+    private ServerSocket serverSocket;
+    private Thread acceptor;
+    private ExecutorService sequencerExecutor;
+    private RoomSerialExecutor forwardExecutor;
+
+    public TcpChatBroadcastBus(MeterRegistry meterRegistry,
+                               @Value("${chat.bus.tcp.bind-address:127.0.0.1}") String bindAddress,
+                               @Value("${chat.bus.tcp.port:7400}") int port,
+                               @Value("${chat.bus.tcp.nodes:}") String nodes,
+                               @Value("${chat.bus.tcp.self:}") String self,
+                               @Value("${chat.bus.tcp.queue-capacity:10000}") int queueCapacity,
+                               @Value("${chat.bus.tcp.secret:}") String secret,
+                               @Value("${chat.bus.tcp.sequencer-threads:0}") int sequencerThreads) {
+        this.bindAddress = bindAddress;
+        this.port = port;
+        this.queueCapacity = queueCapacity;
+        this.sequencerThreads = sequencerThreads > 0 ? sequencerThreads : Runtime.getRuntime().availableProcessors() * 2;
+        if (secret.isBlank() && !isLoopback(bindAddress)) {
+            throw new IllegalStateException("chat.bus.tcp.bind-address(" + bindAddress + ")가 loopback이 아니면 chat.bus.tcp.secret이 필요합니다.");
+        }
+        this.secretKey = secret.isBlank() ? null : new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8), MAC_ALGORITHM);
+        String selfAddress = self.isBlank() ? "localhost:" + port : self.trim();
+        List<String> nodeList = Arrays.stream(nodes.split(","))
+                .map(String::trim)
+                .filter(s -> !s.isEmpty())
+                .toList();
+        this.nodes = nodeList.isEmpty() ? List.of(selfAddress) : nodeList;
+        this.selfIndex = this.nodes.indexOf(selfAddress);
+        if (selfIndex < 0) {
+            throw new IllegalStateException("chat.bus.tcp.self(" + selfAddress + ")가 chat.bus.tcp.nodes에 없습니다: " + this.nodes);
+        }
+        for (int i = 0; i < this.nodes.size(); i++) {
+            peers.add(i == selfIndex ? null : new PeerConnection(this.nodes.get(i), queueCapacity,
+                    Counter.builder("chat.bus.dropped").tag("peer", this.nodes.get(i)).register(meterRegistry)));
+        }
+        this.published = meterRegistry.counter("chat.bus.published");
+        this.received = meterRegistry.counter("chat.bus.received");
+        this.rejected = meterRegistry.counter("chat.bus.rejected");
+    }
+
+    @Override
+    public boolean publish(Long roomId, String draft) {
+        published.increment();
+        int owner = ownerOf(roomId);
+        if (owner == selfIndex) {
+            return sequence(roomId, draft);
+        }
+        PeerConnection ownerPeer = peers.get(owner);
+        if (ownerPeer.isConnected() && ownerPeer.offer(encode(FORWARD, roomId, draft.getBytes(StandardCharsets.UTF_8)))) {
+            return true;
+        }
+        // 담당 노드와 연결이 끊긴 상태: 이 노드에서 순번을 발급하지 않고 거절 (담당 노드가 다시 연결되면 정상 발행)
+        rejected.increment();
+        return false;
+    }
+
+    @Override
+    public void subscribe(Listener listener) {
+        listeners.add(listener);
+    }
+
+    @Override
+    public void setSequencer(Sequencer sequencer) {
+        this.sequencer = sequencer;
+    }
+
+    @Override
+    public void broadcastEvent(String event) {
+        byte[] frame = encode(EVENT, 0L, event.getBytes(StandardCharsets.UTF_8));
+        for (PeerConnection peer : peers) {
+            if (peer != null) {
+                peer.offer(frame);
+            }
+        }
+    }
+
+    @Override
+    public void subscribeEvents(EventListener listener) {
+        eventListeners.add(listener);
+    }
+
+    int ownerOf(Long roomId) {
+        return Math.floorMod(Long.hashCode(roomId), nodes.size());
+    }
+
+    /**
+     * 다른 모든 노드와 연결되어 있는지 (연결 직후 핸드셰이크까지 끝난 상태)
+     */
+    boolean isConnectedToAllPeers() {
+        for (PeerConnection peer : peers) {
+            if (peer != null && !peer.isConnected()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 채팅방 락 안에서 순번 발급, 자기 세션 전달, 다른 노드 전송 대기열 추가를 함께 수행하여
+     * 모든 노드의 전달 순서를 순번 순서와 맞춤
+     */
+    private boolean sequence(Long roomId, String draft) {
+        return roomLocks.call(roomId, () -> {
+            String payload = sequencer.sequence(roomId, draft);
+            if (payload == null) {
+                return false;
+            }
+            byte[] frame = encode(DELIVER, roomId, payload.getBytes(StandardCharsets.UTF_8));
+            deliverLocal(roomId, payload);
+            for (PeerConnection peer : peers) {
+                if (peer != null) {
+                    peer.offer(frame);
+                }
+            }
+            return true;
+        });
+    }
+
+    // 다른 노드에서 받은 메시지의 순번 발급/저장 (실패해도 발신 노드에는 알릴 수 없음)
+    private void sequenceForwarded(Long roomId, String draft) {
+        try {
+            if (!sequence(roomId, draft)) {
+                log.warn("다른 노드에서 받은 채팅 메시지 거절: roomId={}", roomId);
+            }
+        } catch (RuntimeException e) {
+            log.error("채팅 메시지 순번 발급 실패: roomId={}", roomId, e);
+        }
+    }
+
+    private void deliverLocal(Long roomId, String payload) {
+        for (Listener listener : listeners) {
+            try {
+                listener.deliver(roomId, payload);
+            } catch (RuntimeException e) {
+                log.error("채팅 메시지 전달 실패: roomId={}", roomId, e);
+            }
+        }
+    }
+
+    private void deliverEvent(String event) {
+        for (EventListener listener : eventListeners) {
+            try {
+                listener.onEvent(event);
+            } catch (RuntimeException e) {
+                log.error("채팅 버스 이벤트 처리 실패: {}", event, e);
+            }
+        }
+    }
+
+    private static byte[] encode(byte type, Long roomId, byte[] body) {
+        return ByteBuffer.allocate(HEADER_SIZE + body.length)
+                .put(type)
+                .putLong(roomId)
+                .putInt(body.length)
+                .put(body)
+                .array();
+    }
+
+    private void accept() {
+        while (running) {
+            try {
+                Socket socket = serverSocket.accept();
+                socket.setTcpNoDelay(true);
+                inboundSockets.add(socket);
+                Thread reader = new Thread(() -> read(socket), "chat-bus-in-" + socket.getRemoteSocketAddress());
+                reader.setDaemon(true);
+                reader.start();
+            } catch (IOException e) {
+                if (running) {
+                    log.warn("채팅 버스 연결 수락 실패: {}", e.getMessage());
+                }
+            }
+        }
+    }
+
+    // 연결 하나의 프레임은 이 스레드 하나가 순서대로 처리
+    private void read(Socket socket) {
+        try (socket; DataInputStream in = new DataInputStream(new BufferedInputStream(socket.getInputStream()))) {
+            if (!authenticate(socket, in)) {
+                log.warn("채팅 버스 노드 인증 실패, 연결 종료: {}", socket.getRemoteSocketAddress());
+                return;
+            }
+            while (running) {
+                byte type = in.readByte();
+                long roomId = in.readLong();
+                int length = in.readInt();
+                if (length < 0 || length > MAX_PAYLOAD_SIZE) {
+                    log.warn("채팅 버스 프레임 크기 오류, 연결 종료: {} bytes from {}", length, socket.getRemoteSocketAddress());
+                    return;
+                }
+                byte[] body = new byte[length];
+                in.readFully(body);
+                received.increment();
+                String payload = new String(body, StandardCharsets.UTF_8);
+                if (type == EVENT) {
+                    deliverEvent(payload);
+                } else if (type == FORWARD) {
+                    // 같은 연결로 온 같은 채팅방 메시지는 받은 순서대로 순번 발급
+                    if (!forwardExecutor.execute(roomId, () -> sequenceForwarded(roomId, payload))) {
+                        rejected.increment();
+                        log.warn("순번 발급 대기 메시지 초과로 버림: roomId={}", roomId);
+                    }
+                } else {
+                    roomLocks.run(roomId, () -> deliverLocal(roomId, payload));
+                }
+            }
+        } catch (EOFException e) {
+            log.debug("채팅 버스 연결 종료: {}", socket.getRemoteSocketAddress());
+        } catch (IOException e) {
+            if (running) {
+                log.warn("채팅 버스 수신 실패: {}, {}", socket.getRemoteSocketAddress(), e.getMessage());
+            }
+        } finally {
+            inboundSockets.remove(socket);
+        }
+    }
+
+    /**
+     * 연결한 노드가 같은 secret을 가지고 있는지 확인 (secret이 없으면 확인하지 않음)
+     */
+    private boolean authenticate(Socket socket, DataInputStream in) throws IOException {
+        if (secretKey == null) {
+            return true;
+        }
+        socket.setSoTimeout(CONNECT_TIMEOUT_MS);
+        byte[] nonce = new byte[NONCE_SIZE];
+        random.nextBytes(nonce);
+        OutputStream out = socket.getOutputStream();
+        out.write(nonce);
+        out.flush();
+        byte[] response = new byte[MAC_SIZE];
+        in.readFully(response);
+        if (!MessageDigest.isEqual(response, mac(nonce))) {
+            return false;
+        }
+        out.write(HANDSHAKE_OK);
+        out.flush();
+        socket.setSoTimeout(0);
+        return true;
+    }
+
+    /**
+     * 수신 노드가 보낸 nonce에 응답 (secret이 없으면 아무것도 하지 않음)
+     */
+    private void respondToChallenge(Socket socket) throws IOException {
+        if (secretKey == null) {
+            return;
+        }
+        socket.setSoTimeout(CONNECT_TIMEOUT_MS);
+        DataInputStream in = new DataInputStream(socket.getInputStream());
+        byte[] nonce = new byte[NONCE_SIZE];
+        in.readFully(nonce);
+        OutputStream out = socket.getOutputStream();
+        out.write(mac(nonce));
+        out.flush();
+        if (in.read() != HANDSHAKE_OK) {
+            throw new IOException("노드 인증 실패 (chat.bus.tcp.secret 확인 필요)");
+        }
+        socket.setSoTimeout(0);
+    }
+
+    private byte[] mac(byte[] nonce) {
+        try {
+            Mac mac = Mac.getInstance(MAC_ALGORITHM);
+            mac.init(secretKey);
+            return mac.doFinal(nonce);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static boolean isLoopback(String address) {
+        try {
+            return InetAddress.getByName(address).isLoopbackAddress();
+        } catch (UnknownHostException e) {
+            throw new IllegalStateException("chat.bus.tcp.bind-address 오류: " + address, e);
+        }
+    }
+
+    @Override
+    public void start() {
+        try {
+            serverSocket = new ServerSocket();
+            serverSocket.setReuseAddress(true);
+            serverSocket.bind(new InetSocketAddress(bindAddress, port));
+        } catch (IOException e) {
+            throw new IllegalStateException("채팅 버스 포트를 열 수 없습니다: " + bindAddress + ":" + port, e);
+        }
+        AtomicInteger threadIndex = new AtomicInteger();
+        sequencerExecutor = Executors.newFixedThreadPool(sequencerThreads, r -> {
+            Thread thread = new Thread(r, "chat-bus-seq-" + threadIndex.getAndIncrement());
+            thread.setDaemon(true);
+            return thread;
+        });
+        forwardExecutor = new RoomSerialExecutor(sequencerExecutor, queueCapacity);
+        running = true;
+        acceptor = new Thread(this::accept, "chat-bus-accept");
+        acceptor.setDaemon(true);
+        acceptor.start();
+        for (PeerConnection peer : peers) {
+            if (peer != null) {
+                peer.start();
+            }
+        }
+        log.info("채팅 버스 시작: self={}, nodes={}", nodes.get(selfIndex), nodes);
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        try {
+            serverSocket.close();
+        } catch (IOException e) {
+            log.debug("채팅 버스 포트 종료 실패", e);
+        }
+        for (Socket socket : inboundSockets) {
+            try {
+                socket.close();
+            } catch (IOException e) {
+                log.debug("채팅 버스 연결 종료 실패", e);
+            }
+        }
+        for (PeerConnection peer : peers) {
+            if (peer != null) {
+                peer.stop();
+            }
+        }
+        sequencerExecutor.shutdown();
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    /**
+     * 다른 노드 하나로 가는 연결 (전송 스레드 하나가 대기열 순서대로 전송, 끊기면 재연결)
+     */
+    private final class PeerConnection {
+
+        private final String address;
+        private final String host;
+        private final int port;
+        private final BlockingQueue<byte[]> queue;
+        private final Counter dropped;
+        private final Thread sender;
+        private volatile boolean connected;
+        private volatile Socket socket;
+
+        PeerConnection(String address, int queueCapacity, Counter dropped) {
+            int separator = address.lastIndexOf(':');
+            if (separator < 0) {
+                throw new IllegalStateException("chat.bus.tcp.nodes 형식 오류(host:port): " + address);
+            }
+            this.address = address;
+            this.host = address.substring(0, separator);
+            this.port = Integer.parseInt(address.substring(separator + 1));
+            this.queue = new ArrayBlockingQueue<>(queueCapacity);
+            this.dropped = dropped;
+            this.sender = new Thread(this::run, "chat-bus-out-" + address);
+            this.sender.setDaemon(true);
+        }
+
+        boolean isConnected() {
+            return connected;
+        }
+
+        boolean offer(byte[] frame) {
+            if (queue.offer(frame)) {
+                return true;
+            }
+            dropped.increment();
+            return false;
+        }
+
+        void start() {
+            sender.start();
+        }
+
+        void stop() {
+            sender.interrupt();
+            Socket current = socket;
+            if (current != null) {
+                try {
+                    current.close();
+                } catch (IOException e) {
+                    log.debug("채팅 버스 연결 종료 실패: {}", address, e);
+                }
+            }
+        }
+
+        private void run() {
+            while (running) {
+                try (Socket s = new Socket()) {
+                    s.connect(new InetSocketAddress(host, port), CONNECT_TIMEOUT_MS);
+                    s.setTcpNoDelay(true);
+                    socket = s;
+                    respondToChallenge(s);
+                    connected = true;
+                    log.info("채팅 버스 노드 연결: {}", address);
+                    OutputStream out = new BufferedOutputStream(s.getOutputStream());
+                    while (running) {
+                        byte[] frame = queue.poll(IDLE_POLL_MS, TimeUnit.MILLISECONDS);
+                        if (frame == null) {
+                            continue;
+                        }
+                        // 쌓여 있는 프레임은 모아서 한 번에 flush
+                        do {
+                            out.write(frame);
+                        } while ((frame = queue.poll()) != null);
+                        out.flush();
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                } catch (IOException e) {
+                    if (running) {
+                        log.warn("채팅 버스 노드 연결 실패: {}, {}", address, e.getMessage());
+                    }
+                } finally {
+                    connected = false;
+                    socket = null;
+                }
+                try {
+                    Thread.sleep(RECONNECT_DELAY_MS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+}
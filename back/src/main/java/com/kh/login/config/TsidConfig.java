@@ -0,0 +1,34 @@
+package com.kh.login.config;
+
+import com.kh.login.domain.id.Tsid;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.core.env.Profiles;
+
+@Slf4j
+@Configuration
+public class TsidConfig {
+
+    // 단일 인스턴스로만 실행하는 프로파일 (노드 ID가 없으면 임시 노드 ID 사용)
+    private static final Profiles SINGLE_INSTANCE_PROFILES = Profiles.of("dev", "local", "test");
+
+    /**
+     * TSID 노드 ID 지정 (tsid.node, 환경변수 TSID_NODE도 가능)
+     * 노드 ID가 같은 인스턴스끼리는 같은 ms에 같은 PK를 만들 수 있으므로 인스턴스마다 다른 값(0~31)을 지정해야 함
+     * (예: StatefulSet이면 pod ordinal을 그대로 사용)
+     * 설정이 없으면 dev/local/test 프로파일이 아닌 한 기동 실패
+     */
+    public TsidConfig(Environment environment) {
+        Integer node = environment.getProperty("tsid.node", Integer.class);
+        if (node != null) {
+            Tsid.useNode(node);
+            log.info("TSID 노드 ID: {}", node);
+            return;
+        }
+        if (!environment.acceptsProfiles(SINGLE_INSTANCE_PROFILES)) {
+            throw new IllegalStateException("tsid.node(TSID_NODE)가 설정되지 않았습니다. 인스턴스마다 다른 노드 ID(0~31)를 지정하세요.");
+        }
+        log.warn("tsid.node가 설정되지 않아 임시 노드 ID {} 사용 (단일 인스턴스 프로파일에서만 허용)", Tsid.node());
+    }
+}
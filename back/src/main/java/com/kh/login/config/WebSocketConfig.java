@@ -11,11 +11,14 @@ import org.springframework.web.socket.config.annotation.WebSocketHandlerRegistry
 @EnableWebSocket
 public class WebSocketConfig implements WebSocketConfigurer {
     private final SimpleWebSocketHandler simpleWebSocketHandler;
+    private final ChatHandshakeInterceptor chatHandshakeInterceptor;
 
     @Override
     public void registerWebSocketHandlers(WebSocketHandlerRegistry registry) {
 //        /connect url로 websocket연결 요청이 들어오면, 핸들러 클래스가 처리
         registry.addHandler(simpleWebSocketHandler, "/connect")
+//                JWT 검증, 채팅방 참여 여부 확인은 핸드셰이크에서 한 번만
+                .addInterceptors(chatHandshakeInterceptor)
 //                securityconfig에서의 cors예외는 http요청에 대한 예외. 따라서 websocket 프로토콜에 대한 요청에 대해서는 별도의 cors설정 필요.
                 .setAllowedOrigins("http://localhost:3000");
     }
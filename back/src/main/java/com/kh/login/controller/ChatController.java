@@ -46,10 +46,21 @@ public class ChatController {
         return ResponseEntity.ok().build();
     }
 
-//    이전 메시지 조회
+//    이전 메시지 조회 : before(메시지 ID) 이전의 메시지를 size개씩 역방향으로 페이지 조회
     @GetMapping("/history/{roomId}")
-    public ResponseEntity<?> getChatHistory(@PathVariable Long roomId){
-        List<ChatMessageDto> chatMessageDtos = chatService.getChatHistory(roomId);
+    public ResponseEntity<?> getChatHistory(@PathVariable Long roomId,
+                                            @RequestParam(required = false) Long before,
+                                            @RequestParam(defaultValue = "50") int size){
+        List<ChatMessageDto> chatMessageDtos = chatService.getChatHistory(roomId, before, size);
+        return new ResponseEntity<>(chatMessageDtos, HttpStatus.OK);
+    }
+
+//    재연결 시 놓친 메시지 조회 : afterSeq(마지막으로 받은 메시지 순번) 이후 메시지를 순번순으로 size개 조회
+    @GetMapping("/history/{roomId}/resume")
+    public ResponseEntity<?> resumeChatHistory(@PathVariable Long roomId,
+                                               @RequestParam Long afterSeq,
+                                               @RequestParam(defaultValue = "100") int size){
+        List<ChatMessageDto> chatMessageDtos = chatService.getMessagesAfterSeq(roomId, afterSeq, size);
         return new ResponseEntity<>(chatMessageDtos, HttpStatus.OK);
     }
 
@@ -1,6 +1,8 @@
 package com.kh.login.controller;
 
 import com.kh.login.auth.JwtTokenProvider;
+import com.kh.login.auth.MemberPrincipal;
+import com.kh.login.auth.TokenRevocationList;
 import com.kh.login.domain.Member;
 import com.kh.login.dto.member.AccessTokenDto;
 import com.kh.login.dto.member.KakaoProfileDto;
@@ -8,17 +10,27 @@ import com.kh.login.dto.member.MemberCreateDto;
 import com.kh.login.dto.member.MemberLoginDto;
 import com.kh.login.dto.member.MemberResponseDto;
 import com.kh.login.dto.member.RedirectDto;
+import com.kh.login.dto.member.RefreshTokenRequestDto;
 import com.kh.login.enums.SocialType;
+import com.kh.login.exception.InvalidCredentialsException;
 import com.kh.login.repository.MemberRepository;
 import com.kh.login.service.KakaoService;
 import com.kh.login.service.MemberService;
+import com.kh.login.service.RefreshTokenService;
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.util.StringUtils;
+import org.springframework.web.bind.annotation.CookieValue;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
@@ -34,25 +46,61 @@ public class MemberController {
     private final MemberService memberService;
     private final JwtTokenProvider jwtTokenProvider;
     private final KakaoService kakaoService;
+    private final RefreshTokenService refreshTokenService;
+    private final TokenRevocationList tokenRevocationList;
+    // 스프링 부트 기본 실행기 (bean 이름으로 주입)
+    private final Executor applicationTaskExecutor;
 
+    // 비밀번호 해시 동안 요청 스레드를 반납하도록 CompletableFuture 반환 (Spring MVC 비동기 처리)
     @PostMapping("/signup")
-    public ResponseEntity<?> signup(@Valid @RequestBody MemberCreateDto memberCreateDto) {
-        Member member = memberService.create(memberCreateDto);
-        return new ResponseEntity<>(member.getId(), HttpStatus.CREATED);
+    public CompletableFuture<ResponseEntity<?>> signup(@Valid @RequestBody MemberCreateDto memberCreateDto) {
+        return memberService.create(memberCreateDto)
+                .thenApply(member -> new ResponseEntity<>(member.getId(), HttpStatus.CREATED));
     }
 
     @PostMapping("/login")
-    public ResponseEntity<?> doLogin(@Valid @RequestBody MemberLoginDto memberLoginDto){
+    public CompletableFuture<ResponseEntity<?>> doLogin(@Valid @RequestBody MemberLoginDto memberLoginDto){
         //email, password 일치한지 검증
-        Member member = memberService.login(memberLoginDto);
+        // refresh token 저장은 비밀번호 해시 실행기가 아닌 스프링 부트 기본 실행기에서
+        return memberService.login(memberLoginDto).thenApplyAsync(member -> {
+            //일치할 경우 jwt accesstoken, refresh token 생성
+            String jwtToken = jwtTokenProvider.createToken(member.getId(), member.getEmail(), member.getRole().toString());
 
-        //일치할 경우 jwt accesstoken 생성
-        String jwtToken = jwtTokenProvider.createToken(member.getEmail(), member.getRole().toString());
+            Map<String, Object> loginInfo = new HashMap<>();
+            loginInfo.put("id", member.getId());
+            loginInfo.put("name", member.getName());
+            loginInfo.put("token", jwtToken);
+            loginInfo.put("refreshToken", refreshTokenService.issue(member));
+            return new ResponseEntity<>(loginInfo, HttpStatus.OK);
+        }, applicationTaskExecutor);
+    }
+
+    // access token 만료 시 refresh token으로 재발급 (refresh token도 새 토큰으로 교체되므로 응답의 refreshToken을 저장해야 함)
+    // refresh token은 body 또는 구글 로그인 시 발급한 쿠키 (쿠키로 받았으면 새 토큰도 쿠키로 교체)
+    @PostMapping("/refresh")
+    public ResponseEntity<?> refresh(@RequestBody(required = false) RefreshTokenRequestDto refreshTokenRequestDto,
+                                     @CookieValue(name = "refreshToken", required = false) String refreshTokenCookie,
+                                     HttpServletResponse response){
+        boolean fromBody = refreshTokenRequestDto != null && StringUtils.hasText(refreshTokenRequestDto.getRefreshToken());
+        if (!fromBody && !StringUtils.hasText(refreshTokenCookie)) {
+            throw new InvalidCredentialsException("refresh token은 필수입니다.");
+        }
+        RefreshTokenService.Rotation rotation = refreshTokenService.rotate(
+                fromBody ? refreshTokenRequestDto.getRefreshToken() : refreshTokenCookie);
+        if (!fromBody) {
+            Cookie rotatedCookie = new Cookie("refreshToken", rotation.refreshToken());
+            rotatedCookie.setPath("/");
+            rotatedCookie.setHttpOnly(true);
+            response.addCookie(rotatedCookie);
+        }
+        Member member = rotation.member();
+        String jwtToken = jwtTokenProvider.createToken(member.getId(), member.getEmail(), member.getRole().toString());
 
         Map<String, Object> loginInfo = new HashMap<>();
         loginInfo.put("id", member.getId());
         loginInfo.put("name", member.getName());
         loginInfo.put("token", jwtToken);
+        loginInfo.put("refreshToken", rotation.refreshToken());
         return new ResponseEntity<>(loginInfo, HttpStatus.OK);
     }
 
@@ -77,14 +125,40 @@ public class MemberController {
                 SocialType.KAKAO
             );
         }
-        String jwtToken = jwtTokenProvider.createToken(originalMember.getEmail(), originalMember.getRole().toString());
+        String jwtToken = jwtTokenProvider.createToken(originalMember.getId(), originalMember.getEmail(), originalMember.getRole().toString());
 
         Map<String, Object> loginInfo = new HashMap<>();
         loginInfo.put("id", originalMember.getId());
         loginInfo.put("token", jwtToken);
+        loginInfo.put("refreshToken", refreshTokenService.issue(originalMember));
         return new ResponseEntity<>(loginInfo, HttpStatus.OK);
     }
 
+    // 로그아웃: 현재 access token 폐기 + refresh token family 삭제 (refresh token은 body 또는 구글 로그인 시 발급한 쿠키)
+    @PostMapping("/logout")
+    public ResponseEntity<?> logout(@AuthenticationPrincipal MemberPrincipal principal,
+                                    @RequestBody(required = false) RefreshTokenRequestDto refreshTokenRequestDto,
+                                    @CookieValue(name = "refreshToken", required = false) String refreshTokenCookie,
+                                    HttpServletResponse response) {
+        if (principal.getTokenId() != null) {
+            tokenRevocationList.revoke(principal.getTokenId(), principal.getMemberId(), principal.getTokenExpiresAtMillis());
+        }
+
+        String refreshToken = refreshTokenRequestDto != null && refreshTokenRequestDto.getRefreshToken() != null
+                ? refreshTokenRequestDto.getRefreshToken() : refreshTokenCookie;
+        if (refreshToken != null) {
+            refreshTokenService.revokeFamily(refreshToken, principal.getMemberId());
+        }
+        if (refreshTokenCookie != null) {
+            Cookie expiredCookie = new Cookie("refreshToken", null);
+            expiredCookie.setPath("/");
+            expiredCookie.setHttpOnly(true);
+            expiredCookie.setMaxAge(0);
+            response.addCookie(expiredCookie);
+        }
+        return ResponseEntity.ok().build();
+    }
+
     @GetMapping("/list")
     public ResponseEntity<?> memberList(){
         List<MemberResponseDto> dtos = memberService.findAll();
@@ -1,30 +1,35 @@
 package com.kh.login.domain;
 
-import jakarta.persistence.CascadeType;
+import com.kh.login.domain.id.TsidId;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.FetchType;
-import jakarta.persistence.GeneratedValue;
-import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
-import jakarta.persistence.OneToMany;
-import java.util.ArrayList;
-import java.util.List;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 
 @Entity
+// 채팅방별 메시지 ID 역순 페이지 조회(keyset pagination)용 인덱스
+// 재연결 시 순번 이후 메시지 조회용, 같은 채팅방에 같은 순번이 저장되지 않도록 unique (V10 migration)
+@Table(uniqueConstraints = @UniqueConstraint(name = "uk_chat_message_room_seq", columnNames = {"chat_room_id", "seq"}),
+        indexes = @Index(name = "idx_chat_message_room_id", columnList = "chat_room_id, id"))
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
 @Getter
 public class ChatMessage extends BaseTimeEntity {
+    // 메시지 내용 최대 길이 (content 컬럼 길이)
+    public static final int MAX_CONTENT_LENGTH = 500;
+
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @TsidId
     private Long id;
 
     @ManyToOne(fetch = FetchType.LAZY)
@@ -35,9 +40,9 @@ public class ChatMessage extends BaseTimeEntity {
     @JoinColumn(name = "member_id", nullable = false)
     private Member member;
 
-    @Column(nullable = false, length = 500)
+    @Column(nullable = false, length = MAX_CONTENT_LENGTH)
     private String content;
 
-    @OneToMany(mappedBy = "chatMessage", cascade = CascadeType.REMOVE, orphanRemoval = true)
-    private List<ReadStatus> readStatuses = new ArrayList<>();
+    // 채팅방 내 메시지 순번 (1부터 빈틈없이 증가, 순번 도입 이전 메시지는 null)
+    private Long seq;
 }
@@ -1,18 +1,22 @@
 package com.kh.login.domain;
 
+import com.kh.login.domain.id.TsidId;
+import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.FetchType;
-import jakarta.persistence.GeneratedValue;
-import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 
 @Entity
+// 채팅방 참여 여부 확인용, 같은 회원이 같은 채팅방에 중복 참여하지 않도록 unique (V7 migration)
+@Table(uniqueConstraints = @UniqueConstraint(name = "uk_chat_participant_room_member", columnNames = {"chat_room_id", "member_id"}))
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
@@ -20,7 +24,7 @@ import lombok.NoArgsConstructor;
 public class ChatParticipant  extends BaseTimeEntity {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @TsidId
     private Long id;
 
     @ManyToOne(fetch = FetchType.LAZY)
@@ -31,5 +35,8 @@ public class ChatParticipant  extends BaseTimeEntity {
     @JoinColumn(name = "member_id", nullable = false)
     private Member member;
 
-
+    // 마지막으로 읽은 메시지 ID (이보다 큰 ID의 타인 메시지가 안 읽은 메시지)
+    @Column(nullable = false)
+    @Builder.Default
+    private Long lastReadMessageId = 0L;
 }
@@ -1,20 +1,24 @@
 package com.kh.login.domain;
 
-import jakarta.persistence.CascadeType;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
-import jakarta.persistence.OneToMany;
-import java.util.ArrayList;
-import java.util.List;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.ColumnDefault;
 
 @Entity
+// 1:1 채팅방은 두 회원 쌍마다 하나만 존재 (그룹 채팅방은 키가 null이므로 제약 대상 아님)
+// 그룹 채팅방 목록, 정리되지 않은 삭제 채팅방 조회용 인덱스 (V7 migration)
+@Table(uniqueConstraints = @UniqueConstraint(name = "uk_chat_room_private_pair_key", columnNames = "private_pair_key"),
+        indexes = @Index(name = "idx_chat_room_deleted_group", columnList = "is_deleted, is_group_chat"))
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
@@ -27,10 +31,34 @@ public class ChatRoom  extends BaseTimeEntity {
     private String name;
     @Builder.Default
     private String isGroupChat="N";
+    // 1:1 채팅방의 두 회원 ID "작은ID:큰ID" (privatePairKey로 생성, 그룹 채팅방은 null)
+    @Column(length = 41)
+    private String privatePairKey;
+    // 채팅방의 마지막 메시지 순번 (동기 저장 시 DB에서 1씩 증가, write-behind 모드에서는 담당 노드가 메모리에서 발급하고 저장 시 반영)
+    @Column(nullable = false)
+    @Builder.Default
+    private Long lastSeq = 0L;
+    // 삭제 표시 (Y이면 조회/참여 대상에서 제외되고 메시지 등은 ChatRoomTeardownService가 정리)
+    // 메시지/참여자는 cascade로 지우지 않음 (한 건씩 로딩/삭제하지 않도록 chunk 단위 bulk delete)
+    @Column(nullable = false)
+    @ColumnDefault("'N'")
+    @Builder.Default
+    private String isDeleted = "N";
+
+    public void markDeleted() {
+        this.isDeleted = "Y";
+    }
 
-    @OneToMany(mappedBy = "chatRoom", cascade = CascadeType.REMOVE)
-    private List<ChatParticipant> chatParticipants = new ArrayList<>();
+    /**
+     * 두 회원의 1:1 채팅방 키 (순서와 관계없이 같은 값)
+     */
+    public static String privatePairKey(Long memberId, Long otherMemberId) {
+        long min = Math.min(memberId, otherMemberId);
+        long max = Math.max(memberId, otherMemberId);
+        return min + ":" + max;
+    }
 
-    @OneToMany(mappedBy = "chatRoom", cascade = CascadeType.REMOVE, orphanRemoval = true)
-    private List<ChatMessage> chatMessages = new ArrayList<>();
+    public void assignPrivatePairKey(String privatePairKey) {
+        this.privatePairKey = privatePairKey;
+    }
 }
@@ -12,6 +12,8 @@ import java.time.LocalDateTime;
 @NoArgsConstructor
 @Getter
 @Entity
+// 이메일별 최신 인증 코드 조회용 인덱스 (V7 migration)
+@Table(indexes = @Index(name = "idx_email_verification_email_created", columnList = "email, created_at"))
 public class EmailVerification {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
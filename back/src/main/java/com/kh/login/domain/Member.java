@@ -9,7 +9,9 @@ import jakarta.persistence.Enumerated;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.PrePersist;
+import jakarta.persistence.Table;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Getter;
@@ -21,6 +23,8 @@ import java.time.LocalDateTime;
 @NoArgsConstructor
 @Getter
 @Entity
+// 소셜 로그인 회원 조회용 인덱스 (V7 migration)
+@Table(indexes = @Index(name = "idx_member_social", columnList = "social_id, social_type"))
 public class Member {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
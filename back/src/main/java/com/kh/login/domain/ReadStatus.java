@@ -1,19 +1,22 @@
 package com.kh.login.domain;
 
+import com.kh.login.domain.id.TsidId;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.FetchType;
-import jakarta.persistence.GeneratedValue;
-import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.Table;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 
 @Entity
+// 읽음 커서 이관 시 참여자별 안 읽은 메시지 조회용 인덱스 (V7 migration)
+@Table(indexes = @Index(name = "idx_read_status_room_member_read", columnList = "chat_room_id, member_id, is_read"))
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
@@ -21,7 +24,7 @@ import lombok.NoArgsConstructor;
 public class ReadStatus extends BaseTimeEntity {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @TsidId
     private Long id;
 
     @ManyToOne(fetch = FetchType.LAZY)
@@ -0,0 +1,57 @@
+package com.kh.login.domain;
+
+import com.kh.login.domain.id.TsidId;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.FetchType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.ManyToOne;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import java.time.LocalDateTime;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * 회전(rotation) 방식 refresh token (V8 migration)
+ *
+ * - 토큰 원문은 저장하지 않고 HMAC-SHA256(32바이트)만 저장하여 token_hash unique 인덱스로 조회
+ * - 한 번 로그인해서 이어지는 토큰들은 같은 familyId를 가짐
+ * - 사용된(새 토큰으로 교체된) 토큰은 rotatedAt을 기록해 두고, 다시 사용되면 탈취로 보고 family 전체 삭제
+ */
+@Entity
+@Table(uniqueConstraints = @UniqueConstraint(name = "uk_refresh_token_hash", columnNames = "token_hash"),
+        indexes = {
+                @Index(name = "idx_refresh_token_family", columnList = "family_id"),
+                @Index(name = "idx_refresh_token_expires_at", columnList = "expires_at")
+        })
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Getter
+public class RefreshToken extends BaseTimeEntity {
+
+    @Id
+    @TsidId
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "member_id", nullable = false)
+    private Member member;
+
+    @Column(nullable = false)
+    private Long familyId;
+
+    @Column(nullable = false, length = 32)
+    private byte[] tokenHash;
+
+    @Column(nullable = false)
+    private LocalDateTime expiresAt;
+
+    // 새 토큰으로 교체된 시각 (null이면 아직 사용되지 않은 최신 토큰)
+    private LocalDateTime rotatedAt;
+}
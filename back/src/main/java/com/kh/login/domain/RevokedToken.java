@@ -0,0 +1,34 @@
+package com.kh.login.domain;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import java.time.LocalDateTime;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * 폐기된(로그아웃한) access token (V9 migration)
+ *
+ * 토큰 원문 대신 jti만 저장하고, 토큰이 만료되면 더 이상 확인할 필요가 없으므로 정리 대상
+ */
+@Entity
+@Table(indexes = @Index(name = "idx_revoked_token_expires_at", columnList = "expires_at"))
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Getter
+public class RevokedToken extends BaseTimeEntity {
+
+    // access token의 jti (발급 시 TSID로 생성)
+    @Id
+    private Long id;
+
+    // access token의 exp
+    @Column(nullable = false)
+    private LocalDateTime expiresAt;
+}
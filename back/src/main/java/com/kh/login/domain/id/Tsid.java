@@ -0,0 +1,88 @@
+package com.kh.login.domain.id;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 시간순 정렬 가능한 64bit ID 생성기 (Snowflake/TSID 방식)
+ *
+ * [41bit 타임스탬프(ms, 2025-01-01 기준)][5bit 노드][7bit 시퀀스]
+ * - 총 53bit만 사용하여 프론트엔드(JavaScript Number)에서도 정밀도 손실 없이 다룰 수 있음
+ * - 노드 ID(0~31)는 애플리케이션 기동 시 TsidConfig가 tsid.node 설정값으로 지정
+ *   (설정이 없으면 dev/local/test 프로파일이 아닌 한 기동 실패, 스프링 밖에서는 시스템 프로퍼티 tsid.node 또는 환경변수 TSID_NODE, 없으면 랜덤)
+ * - 락 없이 CAS로 생성: 같은 ms에 시퀀스(128개)를 다 쓰거나 시계가 뒤로 가면
+ *   다음 ms를 미리 사용하여 노드 내 단조 증가를 보장
+ *
+ * 서로 다른 노드의 ID는 ms 단위로만 정렬됨
+ */
+@Slf4j
+public final class Tsid {
+
+    private static final long EPOCH = 1735689600000L; // 2025-01-01T00:00:00Z
+    private static final int NODE_BITS = 5;
+    private static final int SEQUENCE_BITS = 7;
+    private static final long NODE_MASK = (1L << NODE_BITS) - 1;
+    private static final long SEQUENCE_MASK = (1L << SEQUENCE_BITS) - 1;
+
+    private static final int MAX_NODE = (int) NODE_MASK;
+
+    private static volatile long node = resolveNode();
+
+    // (타임스탬프 << SEQUENCE_BITS) | 시퀀스
+    private static final AtomicLong STATE = new AtomicLong();
+
+    private Tsid() {
+    }
+
+    public static long next() {
+        while (true) {
+            long prev = STATE.get();
+            long prevTimestamp = prev >>> SEQUENCE_BITS;
+            long now = System.currentTimeMillis() - EPOCH;
+            long next;
+            if (now > prevTimestamp) {
+                next = now << SEQUENCE_BITS;
+            } else if ((prev & SEQUENCE_MASK) < SEQUENCE_MASK) {
+                next = prev + 1;
+            } else {
+                next = (prevTimestamp + 1) << SEQUENCE_BITS;
+            }
+            if (STATE.compareAndSet(prev, next)) {
+                return ((next >>> SEQUENCE_BITS) << (NODE_BITS + SEQUENCE_BITS))
+                        | (node << SEQUENCE_BITS)
+                        | (next & SEQUENCE_MASK);
+            }
+        }
+    }
+
+    /**
+     * 노드 ID 지정 (ID를 생성하기 전, 애플리케이션 기동 시 한 번 호출)
+     *
+     * @throws IllegalArgumentException 0~31 범위가 아니면 (잘라서 쓰면 다른 노드와 겹칠 수 있음)
+     */
+    public static void useNode(int nodeId) {
+        node = checkNode(nodeId);
+    }
+
+    public static int node() {
+        return (int) node;
+    }
+
+    private static long checkNode(long nodeId) {
+        if (nodeId < 0 || nodeId > MAX_NODE) {
+            throw new IllegalArgumentException("tsid.node는 0~" + MAX_NODE + " 범위여야 합니다: " + nodeId);
+        }
+        return nodeId;
+    }
+
+    private static long resolveNode() {
+        String configured = System.getProperty("tsid.node", System.getenv("TSID_NODE"));
+        if (configured != null) {
+            return checkNode(Long.parseLong(configured.trim()));
+        }
+        long random = ThreadLocalRandom.current().nextLong(NODE_MASK + 1);
+        log.debug("tsid.node가 설정되지 않아 임시 노드 ID {} 사용", random);
+        return random;
+    }
+}
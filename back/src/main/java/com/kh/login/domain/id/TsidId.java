@@ -0,0 +1,17 @@
+package com.kh.login.domain.id;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+import org.hibernate.annotations.IdGeneratorType;
+
+/**
+ * 애플리케이션에서 생성한 TSID를 PK로 사용
+ * IDENTITY와 달리 insert 전에 ID를 알 수 있어 Hibernate JDBC batch insert가 가능
+ */
+@IdGeneratorType(TsidIdentifierGenerator.class)
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.FIELD, ElementType.METHOD})
+public @interface TsidId {
+}
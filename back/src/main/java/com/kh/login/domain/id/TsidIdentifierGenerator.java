@@ -0,0 +1,15 @@
+package com.kh.login.domain.id;
+
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.id.IdentifierGenerator;
+
+/**
+ * @TsidId 가 붙은 PK에 Tsid.next() 값을 할당하는 Hibernate ID 생성기
+ */
+public class TsidIdentifierGenerator implements IdentifierGenerator {
+
+    @Override
+    public Object generate(SharedSessionContractImplementor session, Object object) {
+        return Tsid.next();
+    }
+}
@@ -0,0 +1,21 @@
+package com.kh.login.dto.chat;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 노드 간 이벤트 (브로드캐스트 버스 내부용, 클라이언트에는 전달되지 않음)
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ChatClusterEventDto {
+    private ChatClusterEventType type;
+    private Long roomId;
+    private Long memberId;
+    // 폐기된 access token의 jti (TOKEN_REVOKED)
+    private Long tokenId;
+}
@@ -0,0 +1,13 @@
+package com.kh.login.dto.chat;
+
+/**
+ * 노드 간 이벤트 종류 (브로드캐스트 버스로 다른 노드의 메모리 상태를 무효화)
+ */
+public enum ChatClusterEventType {
+    // 참여자가 채팅방을 나감 (roomId, memberId)
+    PARTICIPANT_LEFT,
+    // 채팅방 삭제 표시 (roomId)
+    ROOM_DELETED,
+    // access token 폐기 (memberId, tokenId) - 그 토큰으로 연결한 세션 종료
+    TOKEN_REVOKED
+}
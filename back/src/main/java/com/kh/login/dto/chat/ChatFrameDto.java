@@ -0,0 +1,25 @@
+package com.kh.login.dto.chat;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 웹소켓 클라이언트 프레임
+ * - 멀티플렉스 연결: SUBSCRIBE/UNSUBSCRIBE/MESSAGE/READ
+ * - 채팅방 전용 연결: type이 없으면 MESSAGE, READ만 추가로 사용
+ * MESSAGE 프레임의 roomId, message, senderEmail은 ChatMessageDto와 같은 의미
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ChatFrameDto {
+    private ChatFrameType type;
+    private Long roomId;
+    private String message;
+    private String senderEmail;
+    // READ 프레임: 마지막으로 읽은 메시지 ID
+    private Long messageId;
+}
@@ -0,0 +1,11 @@
+package com.kh.login.dto.chat;
+
+/**
+ * 멀티플렉스 웹소켓 프레임 종류
+ */
+public enum ChatFrameType {
+    // 클라이언트 → 서버
+    SUBSCRIBE, UNSUBSCRIBE, MESSAGE, READ,
+    // 서버 → 클라이언트
+    ERROR
+}
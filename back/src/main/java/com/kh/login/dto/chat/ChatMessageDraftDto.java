@@ -0,0 +1,21 @@
+package com.kh.login.dto.chat;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 순번을 발급받기 전의 채팅 메시지 (브로드캐스트 버스 내부용, 클라이언트에는 전달되지 않음)
+ * 채팅방 담당 노드가 순번/메시지 ID를 붙여 ChatMessageDto로 만들어 전달
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ChatMessageDraftDto {
+    // 웹소켓 핸드셰이크에서 검증한 발신자
+    private Long memberId;
+    private String senderEmail;
+    private String message;
+}
@@ -13,4 +13,8 @@ public class ChatMessageDto {
     private Long roomId;
     private String message;
     private String senderEmail;
+    // 저장된 메시지 ID (이전 메시지 페이지 조회 시 before 커서로 사용)
+    private Long messageId;
+    // 채팅방 내 메시지 순번 (재연결 시 마지막으로 받은 순번 이후 메시지만 조회)
+    private Long seq;
 }
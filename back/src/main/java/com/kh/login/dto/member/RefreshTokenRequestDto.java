@@ -0,0 +1,14 @@
+package com.kh.login.dto.member;
+
+import jakarta.validation.constraints.NotBlank;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RefreshTokenRequestDto {
+    @NotBlank(message = "refresh token은 필수입니다.")
+    private String refreshToken;
+}
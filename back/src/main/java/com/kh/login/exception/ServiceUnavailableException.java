@@ -0,0 +1,15 @@
+package com.kh.login.exception;
+
+public class ServiceUnavailableException extends BaseException {
+    public ServiceUnavailableException() {
+        super(ErrorCode.SERVICE_UNAVAILABLE);
+    }
+
+    public ServiceUnavailableException(String message) {
+        super(ErrorCode.SERVICE_UNAVAILABLE, message);
+    }
+
+    public ServiceUnavailableException(String message, Throwable cause) {
+        super(ErrorCode.SERVICE_UNAVAILABLE, message, cause);
+    }
+} 
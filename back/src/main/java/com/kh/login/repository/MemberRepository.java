@@ -4,6 +4,10 @@ import com.kh.login.domain.Member;
 import com.kh.login.enums.SocialType;
 import java.util.Optional;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
 public interface MemberRepository extends JpaRepository<Member, Long> {
     Optional<Member> findByEmail(String email);
@@ -11,4 +15,10 @@ public interface MemberRepository extends JpaRepository<Member, Long> {
     Optional<Member> findBySocialIdAndSocialType(String socialId, SocialType socialType);
     boolean existsByEmail(String email);
     boolean existsByPhoneNumber(String phoneNumber);
+
+    // 로그인 성공 시 비밀번호 해시를 현재 설정(강도)으로 교체 (그 사이 비밀번호가 바뀌었으면 덮어쓰지 않음)
+    @Transactional
+    @Modifying
+    @Query("UPDATE Member m SET m.password = :newPassword WHERE m.id = :memberId AND m.password = :oldPassword")
+    int updatePassword(@Param("memberId") Long memberId, @Param("oldPassword") String oldPassword, @Param("newPassword") String newPassword);
 }
@@ -0,0 +1,35 @@
+package com.kh.login.repository;
+
+import com.kh.login.domain.RefreshToken;
+import java.time.LocalDateTime;
+import java.util.Optional;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+public interface RefreshTokenRepository extends JpaRepository<RefreshToken, Long> {
+
+    // 토큰 조회 (새 access token 발급에 필요한 회원 정보까지 한 번에)
+    @Query("SELECT r FROM RefreshToken r JOIN FETCH r.member WHERE r.tokenHash = :tokenHash")
+    Optional<RefreshToken> findByTokenHash(@Param("tokenHash") byte[] tokenHash);
+
+    // 아직 교체되지 않은 토큰만 교체 표시 (동시에 같은 토큰으로 요청하면 하나만 성공)
+    @Transactional
+    @Modifying
+    @Query("UPDATE RefreshToken r SET r.rotatedAt = :rotatedAt WHERE r.id = :id AND r.rotatedAt IS NULL")
+    int markRotated(@Param("id") Long id, @Param("rotatedAt") LocalDateTime rotatedAt);
+
+    // 재사용 감지, 로그아웃 시 같은 로그인에서 이어진 토큰 전체 삭제
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM RefreshToken r WHERE r.familyId = :familyId")
+    int deleteByFamilyId(@Param("familyId") Long familyId);
+
+    // 만료된 토큰을 chunk 단위로 삭제
+    @Transactional
+    @Modifying
+    @Query(value = "DELETE FROM refresh_token WHERE expires_at < :now LIMIT :chunkSize", nativeQuery = true)
+    int deleteExpiredChunk(@Param("now") LocalDateTime now, @Param("chunkSize") int chunkSize);
+}
@@ -0,0 +1,27 @@
+package com.kh.login.repository;
+
+import com.kh.login.domain.RevokedToken;
+import java.time.LocalDateTime;
+import java.util.List;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+public interface RevokedTokenRepository extends JpaRepository<RevokedToken, Long> {
+
+    // Bloom filter 크기 결정용
+    long countByExpiresAtAfter(LocalDateTime now);
+
+    // Bloom filter 재구성 시 아직 만료되지 않은 jti를 PK 순으로 나눠서 조회
+    @Query("SELECT r.id FROM RevokedToken r WHERE r.id > :afterId AND r.expiresAt > :now ORDER BY r.id")
+    List<Long> findIdsAfter(@Param("afterId") Long afterId, @Param("now") LocalDateTime now, Limit limit);
+
+    // 만료된 토큰을 chunk 단위로 삭제
+    @Transactional
+    @Modifying
+    @Query(value = "DELETE FROM revoked_token WHERE expires_at < :now LIMIT :chunkSize", nativeQuery = true)
+    int deleteExpiredChunk(@Param("now") LocalDateTime now, @Param("chunkSize") int chunkSize);
+}
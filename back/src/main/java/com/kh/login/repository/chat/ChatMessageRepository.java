@@ -2,12 +2,37 @@ package com.kh.login.repository.chat;
 
 
 import com.kh.login.domain.ChatMessage;
-import com.kh.login.domain.ChatRoom;
+import com.kh.login.dto.chat.ChatMessageDto;
 import java.util.List;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 @Repository
 public interface ChatMessageRepository extends JpaRepository<ChatMessage, Long> {
-    List<ChatMessage> findByChatRoomOrderByCreatedTimeAsc(ChatRoom chatRoom);
+    // before 이전 메시지를 최신순으로 limit개 조회 (발신자 join으로 N+1 없이 DTO 변환)
+    @Query("SELECT new com.kh.login.dto.chat.ChatMessageDto(m.chatRoom.id, m.content, mem.email, m.id, m.seq) "
+            + "FROM ChatMessage m JOIN m.member mem "
+            + "WHERE m.chatRoom.id = :roomId AND m.id < :before ORDER BY m.id DESC")
+    List<ChatMessageDto> findHistoryBefore(@Param("roomId") Long roomId, @Param("before") Long before, Limit limit);
+
+    // afterSeq 이후 메시지를 순번순으로 limit개 조회 (재연결 시 놓친 메시지만 조회)
+    @Query("SELECT new com.kh.login.dto.chat.ChatMessageDto(m.chatRoom.id, m.content, mem.email, m.id, m.seq) "
+            + "FROM ChatMessage m JOIN m.member mem "
+            + "WHERE m.chatRoom.id = :roomId AND m.seq > :afterSeq ORDER BY m.seq ASC")
+    List<ChatMessageDto> findAfterSeq(@Param("roomId") Long roomId, @Param("afterSeq") Long afterSeq, Limit limit);
+
+    // 삭제된 채팅방의 메시지를 chunk 단위로 삭제 (한 트랜잭션이 너무 커지지 않도록)
+    @Transactional
+    @Modifying
+    @Query(value = "DELETE FROM chat_message WHERE chat_room_id = :roomId LIMIT :chunkSize", nativeQuery = true)
+    int deleteChunkByRoomId(@Param("roomId") Long roomId, @Param("chunkSize") int chunkSize);
+
+    // 채팅방의 마지막 메시지 ID (메시지가 없으면 0)
+    @Query("SELECT COALESCE(MAX(m.id), 0) FROM ChatMessage m WHERE m.chatRoom.id = :roomId")
+    Long findLastMessageId(@Param("roomId") Long roomId);
 }
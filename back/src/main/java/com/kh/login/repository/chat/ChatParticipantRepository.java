@@ -4,19 +4,64 @@ package com.kh.login.repository.chat;
 import com.kh.login.domain.ChatParticipant;
 import com.kh.login.domain.ChatRoom;
 import com.kh.login.domain.Member;
+import com.kh.login.dto.chat.MyChatListResDto;
 import java.util.List;
 import java.util.Optional;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 @Repository
 public interface ChatParticipantRepository extends JpaRepository<ChatParticipant, Long> {
     List<ChatParticipant> findByChatRoom(ChatRoom chatRoom);
     Optional<ChatParticipant> findByChatRoomAndMember(ChatRoom chatRoom, Member member);
     List<ChatParticipant> findAllByMember(Member member);
+    boolean existsByChatRoomIdAndMemberId(Long chatRoomId, Long memberId);
+    boolean existsByChatRoomId(Long chatRoomId);
 
-    @Query("SELECT cp1.chatRoom FROM ChatParticipant cp1 WHERE cp1.chatRoom.isGroupChat = 'N' AND cp1.chatRoom.id IN (SELECT cp2.chatRoom.id FROM ChatParticipant cp2 WHERE cp2.member.id = :myId OR cp2.member.id = :otherMemberId GROUP BY cp2.chatRoom.id HAVING COUNT(DISTINCT cp2.member.id) = 2)")
-    Optional<ChatRoom> findExistingPrivateRoom(@Param("myId") Long myId, @Param("otherMemberId") Long otherMemberId);
+    // 참여자 인덱스 적재용 (엔티티 대신 회원 ID만 조회)
+    @Query("SELECT cp.member.id FROM ChatParticipant cp WHERE cp.chatRoom.id = :roomId")
+    List<Long> findMemberIdsByRoomId(@Param("roomId") Long roomId);
+
+    // 키가 없는 기존 1:1 채팅방의 [채팅방 ID, 작은 회원 ID, 큰 회원 ID] (키 backfill용, 채팅방 ID순)
+    @Query("SELECT cp.chatRoom.id, MIN(cp.member.id), MAX(cp.member.id) FROM ChatParticipant cp "
+            + "WHERE cp.chatRoom.isGroupChat = 'N' AND cp.chatRoom.privatePairKey IS NULL "
+            + "GROUP BY cp.chatRoom.id ORDER BY cp.chatRoom.id")
+    List<Object[]> findPrivateRoomPairsWithoutKey();
+
+    // 내 채팅방 목록 + 안 읽은 메시지 수를 한 번의 쿼리로 조회 (채팅방별 count 쿼리 N번 → 1번)
+    @Query("SELECT new com.kh.login.dto.chat.MyChatListResDto(r.id, r.name, r.isGroupChat, "
+            + "(SELECT COUNT(m) FROM ChatMessage m WHERE m.chatRoom = r AND m.id > cp.lastReadMessageId AND m.member.id <> :memberId)) "
+            + "FROM ChatParticipant cp JOIN cp.chatRoom r WHERE cp.member.id = :memberId")
+    List<MyChatListResDto> findMyChatRooms(@Param("memberId") Long memberId);
+
+    // 읽음 커서를 채팅방의 마지막 메시지로 이동 (단일 row update, 커서는 뒤로 가지 않음)
+    @Modifying
+    @Query("UPDATE ChatParticipant cp SET cp.lastReadMessageId = GREATEST(cp.lastReadMessageId, (SELECT COALESCE(MAX(m.id), 0) FROM ChatMessage m WHERE m.chatRoom.id = :roomId)) WHERE cp.chatRoom.id = :roomId AND cp.member.id = :memberId")
+    int markAllRead(@Param("roomId") Long roomId, @Param("memberId") Long memberId);
+
+    // 읽음 커서를 messageId까지 이동 (이미 더 뒤까지 읽었으면 변경하지 않음)
+    // messageId는 클라이언트가 보낸 값이므로 채팅방의 마지막 메시지 ID를 넘지 않도록 제한 (이후 메시지가 읽음으로 처리되지 않도록)
+    @Modifying
+    @Query("UPDATE ChatParticipant cp SET cp.lastReadMessageId = GREATEST(cp.lastReadMessageId, LEAST(:messageId, (SELECT COALESCE(MAX(m.id), 0) FROM ChatMessage m WHERE m.chatRoom.id = :roomId))) WHERE cp.chatRoom.id = :roomId AND cp.member.id = :memberId AND cp.lastReadMessageId < :messageId")
+    int markReadUpTo(@Param("roomId") Long roomId, @Param("memberId") Long memberId, @Param("messageId") Long messageId);
+
+    // 삭제된 채팅방의 참여자를 chunk 단위로 삭제
+    @Transactional
+    @Modifying
+    @Query(value = "DELETE FROM chat_participant WHERE chat_room_id = :roomId LIMIT :chunkSize", nativeQuery = true)
+    int deleteChunkByRoomId(@Param("roomId") Long roomId, @Param("chunkSize") int chunkSize);
+
+    // 기존 read_status 데이터로 읽음 커서 계산: 첫 번째 안 읽은 메시지 직전, 안 읽은 메시지가 없으면 마지막 메시지
+    // 아직 커서가 설정되지 않은(0) 참여자만 대상으로 하므로 중간에 중단되어도 다시 실행 가능
+    @Transactional
+    @Modifying
+    @Query(value = "UPDATE chat_participant cp SET cp.last_read_message_id = COALESCE("
+            + "(SELECT MIN(rs.chat_message_id) - 1 FROM read_status rs WHERE rs.chat_room_id = cp.chat_room_id AND rs.member_id = cp.member_id AND rs.is_read = false), "
+            + "(SELECT MAX(m.id) FROM chat_message m WHERE m.chat_room_id = cp.chat_room_id), 0) "
+            + "WHERE cp.last_read_message_id = 0", nativeQuery = true)
+    int migrateReadCursorsFromReadStatus();
 }
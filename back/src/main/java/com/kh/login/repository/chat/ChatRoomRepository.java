@@ -2,10 +2,48 @@ package com.kh.login.repository.chat;
 
 import com.kh.login.domain.ChatRoom;
 import java.util.List;
+import java.util.Optional;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 @Repository
 public interface ChatRoomRepository extends JpaRepository<ChatRoom, Long> {
-    List<ChatRoom> findByIsGroupChat(String isGroupChat);
+    List<ChatRoom> findByIsGroupChatAndIsDeleted(String isGroupChat, String isDeleted);
+
+    // 1:1 채팅방 조회 (private_pair_key unique 인덱스 조회 한 번)
+    @Query("SELECT r.id FROM ChatRoom r WHERE r.privatePairKey = :privatePairKey")
+    Optional<Long> findIdByPrivatePairKey(@Param("privatePairKey") String privatePairKey);
+
+    // 키가 없는 기존 1:1 채팅방에 키 설정
+    @Transactional
+    @Modifying
+    @Query("UPDATE ChatRoom r SET r.privatePairKey = :privatePairKey WHERE r.id = :roomId AND r.privatePairKey IS NULL")
+    int assignPrivatePairKey(@Param("roomId") Long roomId, @Param("privatePairKey") String privatePairKey);
+
+    // 정리가 끝나지 않은 삭제 표시 채팅방 (재기동 시 정리 재개)
+    @Query("SELECT r.id FROM ChatRoom r WHERE r.isDeleted = 'Y'")
+    List<Long> findDeletedRoomIds();
+
+    // 메시지/참여자 정리가 끝난 삭제 표시 채팅방 삭제
+    @Transactional
+    @Modifying
+    @Query(value = "DELETE FROM chat_room WHERE id = :roomId AND is_deleted = 'Y'", nativeQuery = true)
+    int deleteMarkedRoom(@Param("roomId") Long roomId);
+
+    // 메시지 순번 증가 (row lock이 트랜잭션 종료까지 유지되므로 같은 채팅방의 순번은 커밋 순서대로 빈틈없이 발급)
+    // 증가된 값은 LAST_INSERT_ID에 담기므로 채팅방 row를 다시 읽지 않고 findIncrementedLastSeq로 조회
+    @Modifying
+    @Query(value = "UPDATE chat_room SET last_seq = LAST_INSERT_ID(last_seq + 1) WHERE id = :roomId", nativeQuery = true)
+    int incrementLastSeq(@Param("roomId") Long roomId);
+
+    // 같은 커넥션에서 직전에 incrementLastSeq로 증가시킨 순번 (테이블을 읽지 않음)
+    @Query(value = "SELECT LAST_INSERT_ID()", nativeQuery = true)
+    Long findIncrementedLastSeq();
+
+    @Query("SELECT r.lastSeq FROM ChatRoom r WHERE r.id = :roomId")
+    Long findLastSeq(@Param("roomId") Long roomId);
 }
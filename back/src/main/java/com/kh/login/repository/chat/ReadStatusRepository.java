@@ -1,14 +1,29 @@
 package com.kh.login.repository.chat;
 
-import com.kh.login.domain.ChatRoom;
-import com.kh.login.domain.Member;
 import com.kh.login.domain.ReadStatus;
-import java.util.List;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+/**
+ * 메시지별 읽음 상태(read_status)는 ChatParticipant.lastReadMessageId 커서로 대체됨
+ * 기존 데이터 이관(ReadStatusMigrationRunner)과 채팅방 정리(ChatRoomTeardownService)에서만 사용
+ */
 @Repository
 public interface ReadStatusRepository extends JpaRepository<ReadStatus, Long> {
-    List<ReadStatus> findByChatRoomAndMember(ChatRoom chatRoom, Member member);
-    Long countByChatRoomAndMemberAndIsReadFalse(ChatRoom chatRoom, Member member);
+
+    // 이관이 끝난 read_status row를 chunk 단위로 삭제 (한 트랜잭션이 너무 커지지 않도록)
+    @Transactional
+    @Modifying
+    @Query(value = "DELETE FROM read_status LIMIT :chunkSize", nativeQuery = true)
+    int deleteChunk(@Param("chunkSize") int chunkSize);
+
+    // 삭제된 채팅방의 read_status row를 chunk 단위로 삭제
+    @Transactional
+    @Modifying
+    @Query(value = "DELETE FROM read_status WHERE chat_room_id = :roomId LIMIT :chunkSize", nativeQuery = true)
+    int deleteChunkByRoomId(@Param("roomId") Long roomId, @Param("chunkSize") int chunkSize);
 }
@@ -0,0 +1,261 @@
+package com.kh.login.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.kh.login.config.ChatBroadcastBus;
+import com.kh.login.dto.chat.ChatClusterEventDto;
+import com.kh.login.dto.chat.ChatClusterEventType;
+import com.kh.login.repository.chat.ChatParticipantRepository;
+import com.kh.login.service.event.ChatParticipantJoinedEvent;
+import com.kh.login.service.event.ChatParticipantLeftEvent;
+import com.kh.login.service.event.ChatRoomDeletedEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * 채팅방 참여자 인덱스 (채팅방 ID → 정렬된 회원 ID 배열)
+ *
+ * "회원 X가 채팅방 Y의 참여자인가"를 참여자 목록 조회 없이 메모리에서 이진 탐색으로 확인
+ * - 채팅방을 처음 조회할 때 참여자 ID만 조회하여 적재 (lazy warm-up)
+ * - 같은 노드의 참여/나가기는 커밋 후 이벤트로 바로 반영 (배열은 copy-on-write로 교체)
+ * - 다른 노드에서 일어난 변경을 위해
+ *   · 나가기/채팅방 삭제는 브로드캐스트 버스로 다른 노드에 알려 바로 제거
+ *   · 참여자가 아니라는 결과는 DB로 한 번 더 확인하고, 참여자로 확인되면 인덱스에 추가
+ *   · 버스 이벤트가 유실될 수 있으므로 적재 후 chat.membership.ttl-ms가 지난 채팅방은 다시 적재
+ * - 적재(DB 조회)는 map 락 밖에서 수행하고, 조회 중 그 채팅방에 나가기/채팅방 삭제가 반영되었으면 조회 결과를 버리고 DB로 확인
+ *   (채팅방마다 나가기 버전을 두고, 적재 중인 채팅방에는 적재 중 표시 항목을 넣어 적재 전후 버전을 비교)
+ * - 사용되지 않는 채팅방은 주기적으로 제거
+ */
+@Slf4j
+@Component
+public class ChatMembershipIndex {
+
+    private static final long[] EMPTY = new long[0];
+
+    private final ChatParticipantRepository chatParticipantRepository;
+    private final ChatBroadcastBus chatBroadcastBus;
+    private final ObjectMapper objectMapper;
+    private final Map<Long, Entry> rooms = new ConcurrentHashMap<>();
+    // 항목 버전 발급 (채팅방 항목이 새로 생기거나 나가기가 반영될 때만 바뀌고, 삭제 후 다시 생긴 항목과 겹치지 않도록 전체에서 발급)
+    private final AtomicLong versions = new AtomicLong();
+    private final long ttlMillis;
+    private final long idleMillis;
+    private final Counter hits;
+    private final Counter misses;
+
+    public ChatMembershipIndex(ChatParticipantRepository chatParticipantRepository,
+                               ChatBroadcastBus chatBroadcastBus,
+                               ObjectMapper objectMapper,
+                               MeterRegistry meterRegistry,
+                               @Value("${chat.membership.ttl-ms:60000}") long ttlMillis,
+                               @Value("${chat.membership.idle-ms:600000}") long idleMillis) {
+        this.chatParticipantRepository = chatParticipantRepository;
+        this.chatBroadcastBus = chatBroadcastBus;
+        this.objectMapper = objectMapper;
+        this.ttlMillis = ttlMillis;
+        this.idleMillis = idleMillis;
+        this.hits = meterRegistry.counter("chat.membership.hits");
+        this.misses = meterRegistry.counter("chat.membership.misses");
+        meterRegistry.gaugeMapSize("chat.membership.rooms", Tags.empty(), rooms);
+        chatBroadcastBus.subscribeEvents(this::onClusterEvent);
+    }
+
+    /**
+     * 채팅방 참여 여부 확인
+     */
+    public boolean isMember(Long roomId, Long memberId) {
+        Entry entry = entry(roomId);
+        if (entry != null && Arrays.binarySearch(entry.members, memberId) >= 0) {
+            return true;
+        }
+        // 다른 노드에서 참여했을 수 있으므로 DB로 확인 (적재 결과를 버린 경우도 DB로 확인)
+        if (!chatParticipantRepository.existsByChatRoomIdAndMemberId(roomId, memberId)) {
+            return false;
+        }
+        add(roomId, memberId);
+        return true;
+    }
+
+    @TransactionalEventListener
+    public void onJoined(ChatParticipantJoinedEvent event) {
+        add(event.roomId(), event.memberId());
+    }
+
+    @TransactionalEventListener
+    public void onLeft(ChatParticipantLeftEvent event) {
+        remove(event.roomId(), event.memberId());
+        broadcast(ChatClusterEventDto.builder()
+                .type(ChatClusterEventType.PARTICIPANT_LEFT)
+                .roomId(event.roomId())
+                .memberId(event.memberId())
+                .build());
+    }
+
+    @TransactionalEventListener
+    public void onRoomDeleted(ChatRoomDeletedEvent event) {
+        removeRoom(event.roomId());
+        broadcast(ChatClusterEventDto.builder()
+                .type(ChatClusterEventType.ROOM_DELETED)
+                .roomId(event.roomId())
+                .build());
+    }
+
+    // 다른 노드에서 일어난 나가기/채팅방 삭제
+    private void onClusterEvent(String payload) {
+        ChatClusterEventDto event;
+        try {
+            event = objectMapper.readValue(payload, ChatClusterEventDto.class);
+        } catch (JsonProcessingException e) {
+            log.warn("채팅 버스 이벤트 형식 오류: {}", e.getOriginalMessage());
+            return;
+        }
+        if (event.getType() == ChatClusterEventType.PARTICIPANT_LEFT) {
+            remove(event.getRoomId(), event.getMemberId());
+        } else if (event.getType() == ChatClusterEventType.ROOM_DELETED) {
+            removeRoom(event.getRoomId());
+        }
+    }
+
+    private void broadcast(ChatClusterEventDto event) {
+        try {
+            chatBroadcastBus.broadcastEvent(objectMapper.writeValueAsString(event));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * 일정 시간 사용되지 않은 채팅방 제거
+     */
+    @Scheduled(fixedDelayString = "${chat.membership.sweep-interval-ms:60000}")
+    public void evictIdle() {
+        long now = System.currentTimeMillis();
+        rooms.values().removeIf(entry -> now - entry.lastAccessMillis > idleMillis);
+    }
+
+    /**
+     * 채팅방의 참여자 항목, 적재하는 동안 나가기/채팅방 삭제가 있어 조회 결과를 버렸으면 null
+     */
+    private Entry entry(Long roomId) {
+        long now = System.currentTimeMillis();
+        Entry entry = rooms.get(roomId);
+        if (entry != null && entry.isLoaded() && now - entry.loadedMillis <= ttlMillis) {
+            hits.increment();
+            entry.lastAccessMillis = now;
+            return entry;
+        }
+        misses.increment();
+        // 처음 적재하는 채팅방은 적재 중 표시 항목을 먼저 넣어 적재하는 동안의 나가기도 버전에 남김
+        Entry base = entry != null ? entry : rooms.computeIfAbsent(roomId, id -> Entry.loading(now, versions.incrementAndGet()));
+        if (base.isLoaded() && now - base.loadedMillis <= ttlMillis) {
+            // 그 사이 다른 스레드가 적재 완료
+            return base;
+        }
+        // DB 조회는 map 락 밖에서 (compute 안에서 조회하면 같은 bin의 다른 채팅방까지 막힘)
+        Entry loaded = load(roomId, now, base.version);
+        Entry installed = rooms.compute(roomId, (id, current) -> {
+            // 조회하는 동안 나가기/채팅방 삭제/제거가 있었으면 나간 참여자가 조회 결과에 남아 있을 수 있으므로 넣지 않음
+            // (참여는 놓쳐도 isMember가 DB로 다시 확인하므로 문제없음)
+            if (current == null || current.version != base.version) {
+                return current;
+            }
+            return current.isLoaded() && current.loadedMillis >= loaded.loadedMillis ? current : loaded;
+        });
+        return installed != null && installed.isLoaded() && installed.version == base.version ? installed : null;
+    }
+
+    private Entry load(Long roomId, long now, long version) {
+        List<Long> memberIds = chatParticipantRepository.findMemberIdsByRoomId(roomId);
+        long[] members = memberIds.isEmpty() ? EMPTY : memberIds.stream().mapToLong(Long::longValue).sorted().toArray();
+        return new Entry(members, now, version);
+    }
+
+    private void remove(Long roomId, Long memberId) {
+        // 인덱스에 없던 회원이어도 버전을 바꿔야 진행 중인 적재가 나가기 전 조회 결과를 넣지 않음
+        rooms.computeIfPresent(roomId, (id, entry) -> {
+            long version = versions.incrementAndGet();
+            if (!entry.isLoaded()) {
+                return entry.removed(null, version);
+            }
+            int index = Arrays.binarySearch(entry.members, memberId);
+            if (index < 0) {
+                return entry.removed(entry.members, version);
+            }
+            long[] members = new long[entry.members.length - 1];
+            System.arraycopy(entry.members, 0, members, 0, index);
+            System.arraycopy(entry.members, index + 1, members, index, members.length - index);
+            return entry.removed(members, version);
+        });
+    }
+
+    // 항목이 없어지므로 진행 중인 적재도 조회 결과를 넣지 않음
+    private void removeRoom(Long roomId) {
+        rooms.remove(roomId);
+    }
+
+    private void add(Long roomId, Long memberId) {
+        rooms.computeIfPresent(roomId, (id, entry) -> {
+            if (!entry.isLoaded()) {
+                // 적재 중이면 적재 결과에 포함되거나, 빠졌으면 isMember가 DB로 확인
+                return entry;
+            }
+            int index = Arrays.binarySearch(entry.members, memberId);
+            if (index >= 0) {
+                return entry;
+            }
+            int insertAt = -index - 1;
+            long[] members = new long[entry.members.length + 1];
+            System.arraycopy(entry.members, 0, members, 0, insertAt);
+            members[insertAt] = memberId;
+            System.arraycopy(entry.members, insertAt, members, insertAt + 1, entry.members.length - insertAt);
+            return entry.with(members);
+        });
+    }
+
+    private static final class Entry {
+        // 적재 중 표시 항목이면 null
+        private final long[] members;
+        private final long loadedMillis;
+        // 적재 전후 비교용 버전 (나가기가 반영되면 바뀜)
+        private final long version;
+        private volatile long lastAccessMillis;
+
+        private Entry(long[] members, long loadedMillis, long version) {
+            this.members = members;
+            this.loadedMillis = loadedMillis;
+            this.version = version;
+            this.lastAccessMillis = loadedMillis;
+        }
+
+        private static Entry loading(long now, long version) {
+            return new Entry(null, now, version);
+        }
+
+        private boolean isLoaded() {
+            return members != null;
+        }
+
+        private Entry with(long[] members) {
+            Entry entry = new Entry(members, loadedMillis, version);
+            entry.lastAccessMillis = lastAccessMillis;
+            return entry;
+        }
+
+        private Entry removed(long[] members, long version) {
+            Entry entry = new Entry(members, loadedMillis, version);
+            entry.lastAccessMillis = lastAccessMillis;
+            return entry;
+        }
+    }
+}
@@ -0,0 +1,143 @@
+package com.kh.login.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.kh.login.config.ChatBroadcastBus;
+import com.kh.login.domain.ChatMessage;
+import com.kh.login.dto.chat.ChatMessageDraftDto;
+import com.kh.login.dto.chat.ChatMessageDto;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * 채팅 메시지 순번 발급과 저장 (브로드캐스트 버스의 Sequencer)
+ *
+ * 채팅방 담당 노드에서 채팅방 락 안에서 호출되므로 순번 발급 순서와 모든 노드의 전달 순서가 같음
+ * - write-behind 모드 : 순번을 메모리에서 발급하고(채팅방마다 처음 한 번만 DB에서 마지막 순번 조회)
+ *   메시지 ID를 발급하여 저장 버퍼에 넣은 뒤 바로 전달 → DB 호출 없음, 마지막 순번은 버퍼가 저장할 때 반영
+ *   버퍼가 거절하면(가득 참) 발급한 순번을 되돌리고 null을 반환하여 전달하지 않음
+ * - 그 외 : 메시지를 저장한 뒤 전달 (순번은 DB에서 발급)
+ *
+ * 메모리의 순번은 일정 시간(chat.sequencer.idle-ms) 메시지가 없고, 버퍼가 마지막 발급 순번까지 chat_room.last_seq에 반영한 채팅방만 제거
+ * (다음 메시지에서 DB로 다시 조회한 순번이 최신이어야 하므로)
+ * 순번 발급과 제거는 모두 roomSeqs의 채팅방 key에 대한 compute 안에서 하므로 서로 겹치지 않음
+ */
+@Component
+public class ChatMessageSequencer implements ChatBroadcastBus.Sequencer {
+
+    private final ChatService chatService;
+    private final ObjectMapper objectMapper;
+    // chat.persistence.mode=write-behind 일 때만 존재 (없으면 동기 저장)
+    private final ChatMessageWriteBuffer chatMessageWriteBuffer;
+    // write-behind 모드의 채팅방별 마지막 발급 순번 (추가는 채팅방 락 안에서만, 변경/제거는 compute 안에서만)
+    private final Map<Long, RoomSeq> roomSeqs = new ConcurrentHashMap<>();
+    private final long idleMillis;
+
+    public ChatMessageSequencer(ChatBroadcastBus chatBroadcastBus, ChatService chatService, ObjectMapper objectMapper,
+                                ObjectProvider<ChatMessageWriteBuffer> chatMessageWriteBuffer,
+                                @Value("${chat.sequencer.idle-ms:600000}") long idleMillis) {
+        this.chatService = chatService;
+        this.objectMapper = objectMapper;
+        this.chatMessageWriteBuffer = chatMessageWriteBuffer.getIfAvailable();
+        this.idleMillis = idleMillis;
+        chatBroadcastBus.setSequencer(this);
+    }
+
+    @Override
+    public String sequence(Long roomId, String draft) {
+        ChatMessageDraftDto message = readDraft(draft);
+        Long messageId;
+        Long seq;
+        if (chatMessageWriteBuffer != null) {
+            seq = nextSeq(roomId);
+            messageId = chatMessageWriteBuffer.enqueue(roomId, message.getMemberId(), seq, message.getMessage());
+            if (messageId == null) {
+                // 채팅방 락 안이므로 그 사이 발급된 순번이 없어 되돌려도 순번이 비지 않음
+                // (저장 전인 순번이 있으므로 제거되지 않음)
+                roomSeqs.computeIfPresent(roomId, (id, roomSeq) -> {
+                    roomSeq.lastSeq--;
+                    return roomSeq;
+                });
+                return null;
+            }
+        } else {
+            ChatMessage saved = chatService.saveMessage(roomId, message.getMemberId(), message.getMessage());
+            messageId = saved.getId();
+            seq = saved.getSeq();
+        }
+        // 클라이언트는 seq로 순서를 맞추고, 재연결 시 마지막 seq 이후 메시지만 조회
+        ChatMessageDto chatMessageDto = ChatMessageDto.builder()
+                .roomId(roomId)
+                .message(message.getMessage())
+                .senderEmail(message.getSenderEmail())
+                .messageId(messageId)
+                .seq(seq)
+                .build();
+        try {
+            return objectMapper.writeValueAsString(chatMessageDto);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    // 채팅방 락 안에서 호출되므로 같은 채팅방의 순번을 동시에 발급하지 않음
+    private long nextSeq(Long roomId) {
+        long now = System.currentTimeMillis();
+        RoomSeq roomSeq = roomSeqs.computeIfPresent(roomId, (id, current) -> current.next(now));
+        if (roomSeq == null) {
+            // DB 조회는 map 락 밖에서, 추가는 채팅방 락 안에서만 하므로 조회하는 동안 다른 스레드가 추가하지 않음
+            long lastSeq = chatService.findLastSeq(roomId);
+            roomSeq = roomSeqs.compute(roomId, (id, current) -> (current != null ? current : new RoomSeq(lastSeq)).next(now));
+        }
+        // 같은 채팅방의 다른 발급은 채팅방 락을 기다리고, 제거는 값을 바꾸지 않음
+        return roomSeq.lastSeq;
+    }
+
+    /**
+     * 일정 시간 메시지가 없고 발급한 순번이 모두 DB에 반영된 채팅방의 순번 제거 (다음 메시지에서 DB의 마지막 순번부터 다시 발급)
+     */
+    @Scheduled(fixedDelayString = "${chat.sequencer.sweep-interval-ms:60000}")
+    public void evictIdle() {
+        if (chatMessageWriteBuffer == null) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        for (Long roomId : roomSeqs.keySet()) {
+            roomSeqs.computeIfPresent(roomId, (id, roomSeq) -> {
+                if (now - roomSeq.lastUsedMillis <= idleMillis || chatMessageWriteBuffer.flushedSeq(id) < roomSeq.lastSeq) {
+                    return roomSeq;
+                }
+                chatMessageWriteBuffer.forgetFlushedSeq(id);
+                return null;
+            });
+        }
+    }
+
+    private ChatMessageDraftDto readDraft(String draft) {
+        try {
+            return objectMapper.readValue(draft, ChatMessageDraftDto.class);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("잘못된 채팅 메시지 형식: " + e.getOriginalMessage(), e);
+        }
+    }
+
+    // 필드는 roomSeqs의 compute 안에서만 변경
+    private static final class RoomSeq {
+        private long lastSeq;
+        private long lastUsedMillis;
+
+        private RoomSeq(long lastSeq) {
+            this.lastSeq = lastSeq;
+        }
+
+        private RoomSeq next(long now) {
+            lastSeq++;
+            lastUsedMillis = now;
+            return this;
+        }
+    }
+}
@@ -0,0 +1,287 @@
+package com.kh.login.service;
+
+import com.kh.login.domain.id.Tsid;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.TransientDataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * 채팅 메시지 write-behind 저장 버퍼 (chat.persistence.mode=write-behind 일 때만 등록)
+ *
+ * 웹소켓 핸들러는 메시지를 버퍼에 넣은 즉시 브로드캐스트하고,
+ * 백그라운드 worker가 버퍼를 flush-size개 또는 flush-interval-ms마다 JDBC batch insert로 저장함
+ * → 메시지 전달 지연이 DB 지연에 영향받지 않음
+ *
+ * - 버퍼가 가득 차면 offer-timeout-ms 동안 대기 후, 그래도 자리가 없으면 거절 (backpressure, 발신자에게 오류 프레임)
+ *   enqueue는 채팅방 락 안에서 호출되므로 호출 스레드에서 직접 저장하지 않고, 거절된 메시지는 브로드캐스트하지 않음
+ * - 저장하면서 채팅방의 마지막 순번(chat_room.last_seq)도 같은 트랜잭션에서 반영하고,
+ *   채팅방별로 반영한 가장 큰 순번을 기록 (ChatMessageSequencer가 메모리 순번을 제거해도 되는지 확인)
+ * - 애플리케이션 종료 시 worker를 멈추기 전에 남은 메시지를 모두 저장
+ * - DB 연결 장애 등 일시적인 실패는 버리지 않고 retry-delay-ms 간격으로 다시 저장 (이미 브로드캐스트된 메시지이므로)
+ *   그동안 버퍼가 차면 새 메시지는 거절됨
+ * - 그 외 실패는 한 건씩 다시 저장하여 저장할 수 없는 메시지만 버림
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "chat.persistence.mode", havingValue = "write-behind")
+public class ChatMessageWriteBuffer implements SmartLifecycle {
+
+    // 발신자 ID는 웹소켓 핸드셰이크에서 검증된 값, 순번은 enqueue 전에 발급된 값
+    private static final String INSERT_SQL =
+            "INSERT INTO chat_message (id, chat_room_id, member_id, content, seq, created_time, updated_time) "
+                    + "VALUES (?, ?, ?, ?, ?, ?, ?)";
+    // 순번은 담당 노드가 메모리에서 발급하므로 저장한 메시지의 최대 순번을 채팅방에 반영 (다른 노드가 먼저 반영했으면 유지)
+    private static final String UPDATE_LAST_SEQ_SQL =
+            "UPDATE chat_room SET last_seq = GREATEST(last_seq, ?) WHERE id = ?";
+
+    private final BlockingQueue<PendingMessage> queue;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final int flushSize;
+    private final long flushIntervalMillis;
+    private final long offerTimeoutMillis;
+    private final long retryDelayMillis;
+    private final long shutdownTimeoutMillis;
+    private final List<Thread> workers = new ArrayList<>();
+    // 채팅방별로 chat_room.last_seq에 반영한 가장 큰 순번
+    private final Map<Long, Long> flushedSeqs = new ConcurrentHashMap<>();
+    private final Counter flushed;
+    private final Counter rejected;
+    private final Counter failed;
+    private volatile boolean running;
+
+    public ChatMessageWriteBuffer(JdbcTemplate jdbcTemplate,
+                                  PlatformTransactionManager transactionManager,
+                                  MeterRegistry meterRegistry,
+                                  @Value("${chat.write-behind.capacity:10000}") int capacity,
+                                  @Value("${chat.write-behind.flush-size:500}") int flushSize,
+                                  @Value("${chat.write-behind.flush-interval-ms:50}") long flushIntervalMillis,
+                                  @Value("${chat.write-behind.offer-timeout-ms:100}") long offerTimeoutMillis,
+                                  @Value("${chat.write-behind.retry-delay-ms:1000}") long retryDelayMillis,
+                                  @Value("${chat.write-behind.workers:1}") int workerCount,
+                                  @Value("${chat.write-behind.shutdown-timeout-ms:30000}") long shutdownTimeoutMillis) {
+        this.queue = new ArrayBlockingQueue<>(capacity);
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.flushSize = flushSize;
+        this.flushIntervalMillis = flushIntervalMillis;
+        this.offerTimeoutMillis = offerTimeoutMillis;
+        this.retryDelayMillis = retryDelayMillis;
+        this.shutdownTimeoutMillis = shutdownTimeoutMillis;
+        for (int i = 0; i < workerCount; i++) {
+            Thread worker = new Thread(this::runWorker, "chat-write-behind-" + i);
+            worker.setDaemon(false);
+            workers.add(worker);
+        }
+        this.flushed = meterRegistry.counter("chat.write-behind.flushed");
+        this.rejected = meterRegistry.counter("chat.write-behind.rejected");
+        this.failed = meterRegistry.counter("chat.write-behind.failed");
+        meterRegistry.gaugeCollectionSize("chat.write-behind.queue.size", Tags.empty(), queue);
+    }
+
+    /**
+     * 메시지를 저장 버퍼에 추가
+     * 버퍼가 가득 차 있으면 잠시 대기하고, 그래도 자리가 없거나 종료 중이면 거절
+     *
+     * @param seq 채팅방 담당 노드가 발급한 메시지 순번 (ChatMessageSequencer)
+     * @return 메시지 ID (저장 전에 미리 발급), 거절하면 null
+     */
+    public Long enqueue(Long roomId, Long memberId, Long seq, String content) {
+        PendingMessage message = new PendingMessage(Tsid.next(), roomId, memberId, content, seq,
+                Timestamp.valueOf(LocalDateTime.now()));
+        try {
+            if (running && queue.offer(message, offerTimeoutMillis, TimeUnit.MILLISECONDS)) {
+                return message.id();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        rejected.increment();
+        return null;
+    }
+
+    /**
+     * 이 버퍼가 채팅방의 chat_room.last_seq에 반영한 가장 큰 순번 (없으면 0)
+     */
+    public long flushedSeq(Long roomId) {
+        return flushedSeqs.getOrDefault(roomId, 0L);
+    }
+
+    /**
+     * 채팅방의 반영 순번 기록 제거 (ChatMessageSequencer가 채팅방의 메모리 순번을 제거할 때)
+     */
+    public void forgetFlushedSeq(Long roomId) {
+        flushedSeqs.remove(roomId);
+    }
+
+    private void runWorker() {
+        List<PendingMessage> batch = new ArrayList<>(flushSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                PendingMessage first = queue.poll(flushIntervalMillis, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                // flush-size개가 모이거나 flush-interval-ms가 지날 때까지 모음
+                long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(flushIntervalMillis);
+                while (batch.size() < flushSize) {
+                    queue.drainTo(batch, flushSize - batch.size());
+                    long remaining = deadline - System.nanoTime();
+                    if (batch.size() >= flushSize || remaining <= 0) {
+                        break;
+                    }
+                    PendingMessage next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+            } catch (InterruptedException e) {
+                // 모은 메시지는 버리지 않고 아래에서 저장, 종료 여부는 running으로 판단
+                queue.drainTo(batch, flushSize - batch.size());
+            }
+            if (!batch.isEmpty()) {
+                flush(batch);
+                batch.clear();
+            }
+        }
+    }
+
+    private void flush(List<PendingMessage> batch) {
+        while (true) {
+            try {
+                save(batch);
+                return;
+            } catch (TransientDataAccessException | DataAccessResourceFailureException e) {
+                // 종료 중에는 더 기다리지 않고 아래에서 한 건씩 저장 시도
+                if (!running) {
+                    break;
+                }
+                log.warn("채팅 메시지 저장 실패, {}ms 후 재시도: {}건, {}", retryDelayMillis, batch.size(), e.getMessage());
+                try {
+                    Thread.sleep(retryDelayMillis);
+                } catch (InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+                    break;
+                }
+            } catch (DataAccessException e) {
+                break;
+            }
+        }
+        saveOneByOne(batch);
+    }
+
+    private void saveOneByOne(List<PendingMessage> batch) {
+        if (batch.size() > 1) {
+            // 어떤 메시지가 실패했는지 알 수 없으므로 한 건씩 다시 저장
+            log.warn("채팅 메시지 batch 저장 실패, 한 건씩 재시도: {}건", batch.size());
+        }
+        for (PendingMessage message : batch) {
+            try {
+                save(List.of(message));
+            } catch (DataAccessException e) {
+                failed.increment();
+                log.error("채팅 메시지 저장 실패: roomId={}, memberId={}", message.roomId(), message.memberId(), e);
+                saveLastSeq(message);
+            }
+        }
+    }
+
+    // 저장하지 못한 메시지의 순번도 이미 전달되었으므로 채팅방에 반영 (다시 DB에서 순번을 조회해도 재사용하지 않도록)
+    private void saveLastSeq(PendingMessage message) {
+        try {
+            jdbcTemplate.update(UPDATE_LAST_SEQ_SQL, message.seq(), message.roomId());
+            flushedSeqs.merge(message.roomId(), message.seq(), Math::max);
+        } catch (DataAccessException e) {
+            log.warn("채팅방 마지막 순번 반영 실패: roomId={}, seq={}, {}", message.roomId(), message.seq(), e.getMessage());
+        }
+    }
+
+    private void save(List<PendingMessage> batch) {
+        Map<Long, Long> lastSeqs = lastSeqByRoom(batch);
+        transactionTemplate.executeWithoutResult(status -> {
+            jdbcTemplate.batchUpdate(INSERT_SQL, batch, batch.size(),
+                    (ps, m) -> {
+                        ps.setLong(1, m.id());
+                        ps.setLong(2, m.roomId());
+                        ps.setLong(3, m.memberId());
+                        ps.setString(4, m.content());
+                        ps.setLong(5, m.seq());
+                        ps.setTimestamp(6, m.createdTime());
+                        ps.setTimestamp(7, m.createdTime());
+                    });
+            List<Object[]> args = new ArrayList<>(lastSeqs.size());
+            lastSeqs.forEach((roomId, lastSeq) -> args.add(new Object[]{lastSeq, roomId}));
+            jdbcTemplate.batchUpdate(UPDATE_LAST_SEQ_SQL, args);
+        });
+        flushed.increment(batch.size());
+        lastSeqs.forEach((roomId, lastSeq) -> flushedSeqs.merge(roomId, lastSeq, Math::max));
+    }
+
+    // 채팅방 ID 순으로 정렬 (worker가 여러 개일 때 채팅방 row lock을 같은 순서로 잡도록)
+    private static Map<Long, Long> lastSeqByRoom(List<PendingMessage> batch) {
+        Map<Long, Long> lastSeqs = new TreeMap<>();
+        for (PendingMessage message : batch) {
+            lastSeqs.merge(message.roomId(), message.seq(), Math::max);
+        }
+        return lastSeqs;
+    }
+
+    @Override
+    public void start() {
+        running = true;
+        workers.forEach(Thread::start);
+    }
+
+    @Override
+    public void stop() {
+        // 새 메시지는 거절하고, worker는 버퍼를 비운 뒤 종료
+        running = false;
+        long deadline = System.currentTimeMillis() + shutdownTimeoutMillis;
+        for (Thread worker : workers) {
+            try {
+                worker.join(Math.max(1, deadline - System.currentTimeMillis()));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        // worker 종료 직전에 들어온 메시지나 시간 초과로 남은 메시지는 여기서 저장
+        List<PendingMessage> remaining = new ArrayList<>();
+        queue.drainTo(remaining);
+        if (!remaining.isEmpty()) {
+            log.warn("채팅 메시지 write-behind 버퍼 종료: 남은 메시지 {}건 저장", remaining.size());
+            flush(remaining);
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private record PendingMessage(long id, Long roomId, Long memberId, String content, long seq,
+                                  Timestamp createdTime) {
+    }
+}
@@ -0,0 +1,359 @@
+package com.kh.login.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.kh.login.config.ChatBroadcastBus;
+import com.kh.login.dto.chat.ChatClusterEventDto;
+import com.kh.login.dto.chat.ChatClusterEventType;
+import com.kh.login.dto.chat.ChatMessageDto;
+import com.kh.login.service.event.ChatRoomDeletedEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * 채팅방별 최근 메시지 캐시 (채팅방마다 고정 크기 ring buffer)
+ *
+ * 채팅방을 열 때 조회하는 최신 메시지 페이지를 DB 대신 메모리에서 반환
+ * - 채팅방의 최신 페이지를 처음 조회할 때 최근 N개(chat.recent-messages.size)를 DB에서 적재
+ * - 이후 브로드캐스트 버스로 전달되는 메시지(다른 노드에서 저장한 메시지 포함)를 추가
+ * - 요청한 페이지를 모두 가지고 있을 때만 캐시에서 반환하고, 그보다 오래된 페이지는 DB 조회
+ * - 재연결 시 순번 이후 메시지 조회도 순번이 빈틈없이 있을 때만 캐시에서 반환
+ * - 반환할 페이지의 순번에 빈틈이 있으면(적재와 버스 수신 사이에 빠진 메시지) DB에서 다시 적재하여 채움
+ * - 일정 시간(chat.recent-messages.idle-ms) 사용되지 않은 채팅방은 제거
+ *
+ * 메시지는 채팅방마다 미리 할당한 배열(ID, 순번, 발신자, 내용)에 저장하므로 메시지마다 객체를 만들지 않음
+ *
+ * 메트릭
+ * - chat.recent.hits / chat.recent.misses : 캐시에서 반환한/반환하지 못한 조회 수
+ * - chat.recent.rooms : 캐시 중인 채팅방 수
+ * - chat.recent.bytes : 캐시 메모리 사용량 추정치
+ */
+@Slf4j
+@Component
+public class ChatRecentMessageCache {
+
+    // 배열 원소(long 2개 + 참조 2개)와 String 객체 헤더의 대략적인 크기
+    private static final int SLOT_BYTES = 8 + 8 + 4 + 4;
+    private static final int STRING_OVERHEAD_BYTES = 40;
+
+    private final Map<Long, Ring> rooms = new ConcurrentHashMap<>();
+    private final ObjectMapper objectMapper;
+    private final int capacity;
+    private final long idleMillis;
+    private final Counter hits;
+    private final Counter misses;
+
+    public ChatRecentMessageCache(ChatBroadcastBus chatBroadcastBus,
+                                  ObjectMapper objectMapper,
+                                  MeterRegistry meterRegistry,
+                                  @Value("${chat.recent-messages.size:100}") int capacity,
+                                  @Value("${chat.recent-messages.idle-ms:600000}") long idleMillis) {
+        this.objectMapper = objectMapper;
+        this.capacity = capacity;
+        this.idleMillis = idleMillis;
+        this.hits = meterRegistry.counter("chat.recent.hits");
+        this.misses = meterRegistry.counter("chat.recent.misses");
+        meterRegistry.gaugeMapSize("chat.recent.rooms", Tags.empty(), rooms);
+        Gauge.builder("chat.recent.bytes", this, ChatRecentMessageCache::estimateBytes)
+                .baseUnit("bytes")
+                .register(meterRegistry);
+        chatBroadcastBus.subscribe(this::onMessage);
+        chatBroadcastBus.subscribeEvents(this::onClusterEvent);
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * before 메시지 ID 이전의 메시지 size개 (오래된 순)
+     *
+     * @return 캐시가 요청한 페이지를 모두 가지고 있지 않으면 null
+     */
+    public List<ChatMessageDto> find(Long roomId, Long before, int size) {
+        Ring ring = rooms.get(roomId);
+        List<ChatMessageDto> page = ring == null ? null : ring.page(roomId, before != null ? before : Long.MAX_VALUE, size);
+        if (page == null) {
+            misses.increment();
+        } else {
+            hits.increment();
+        }
+        return page;
+    }
+
+    /**
+     * afterSeq 이후 메시지 최대 size개 (순번순)
+     *
+     * @return 캐시에 afterSeq 이후 메시지가 빈틈없이 있지 않으면 null
+     */
+    public List<ChatMessageDto> findAfterSeq(Long roomId, Long afterSeq, int size) {
+        Ring ring = rooms.get(roomId);
+        List<ChatMessageDto> messages = ring == null ? null : ring.afterSeq(roomId, afterSeq, size);
+        if (messages == null) {
+            misses.increment();
+        } else {
+            hits.increment();
+        }
+        return messages;
+    }
+
+    /**
+     * 채팅방 캐시 적재 (이미 적재되어 있으면 아무것도 하지 않음)
+     *
+     * @param loader 채팅방의 최근 메시지 최대 capacity개 (오래된 순)
+     */
+    public void warm(Long roomId, Supplier<List<ChatMessageDto>> loader) {
+        // 조회 전에 ring을 먼저 만들어 두어야 조회하는 동안 도착한 메시지도 추가됨
+        Ring ring = rooms.computeIfAbsent(roomId, id -> new Ring(capacity));
+        if (ring.isWarm()) {
+            return;
+        }
+        ring.warm(loader.get());
+    }
+
+    @TransactionalEventListener
+    public void onRoomDeleted(ChatRoomDeletedEvent event) {
+        rooms.remove(event.roomId());
+    }
+
+    // 다른 노드에서 삭제 표시된 채팅방 (이벤트는 ChatMembershipIndex가 발행)
+    private void onClusterEvent(String payload) {
+        try {
+            ChatClusterEventDto event = objectMapper.readValue(payload, ChatClusterEventDto.class);
+            if (event.getType() == ChatClusterEventType.ROOM_DELETED) {
+                rooms.remove(event.getRoomId());
+            }
+        } catch (JsonProcessingException e) {
+            log.warn("채팅 버스 이벤트 형식 오류: {}", e.getOriginalMessage());
+        }
+    }
+
+    /**
+     * 일정 시간 사용되지 않은 채팅방 제거
+     */
+    @Scheduled(fixedDelayString = "${chat.recent-messages.sweep-interval-ms:60000}")
+    public void evictIdle() {
+        long now = System.currentTimeMillis();
+        rooms.values().removeIf(ring -> now - ring.lastAccessMillis > idleMillis);
+    }
+
+    private void onMessage(Long roomId, String payload) {
+        Ring ring = rooms.get(roomId);
+        if (ring == null) {
+            return;
+        }
+        try {
+            ChatMessageDto message = objectMapper.readValue(payload, ChatMessageDto.class);
+            if (message.getMessageId() != null) {
+                ring.add(message.getMessageId(), seqOf(message), message.getSenderEmail(), message.getMessage());
+            }
+        } catch (JsonProcessingException e) {
+            log.warn("최근 메시지 캐시 추가 실패: roomId={}, {}", roomId, e.getMessage());
+        }
+    }
+
+    // 순번이 없는 메시지(순번 도입 이전)는 0
+    private static long seqOf(ChatMessageDto message) {
+        return message.getSeq() != null ? message.getSeq() : 0;
+    }
+
+    private double estimateBytes() {
+        long bytes = 0;
+        for (Ring ring : rooms.values()) {
+            bytes += ring.estimateBytes();
+        }
+        return bytes;
+    }
+
+    /**
+     * 메시지 ID 순으로 정렬된 고정 크기 ring buffer (논리 인덱스 0이 가장 오래된 메시지)
+     */
+    private static final class Ring {
+        private final long[] ids;
+        private final long[] seqs;
+        private final String[] senders;
+        private final String[] contents;
+        private int start;
+        private int count;
+        // DB에서 최근 메시지를 적재했는지 (순번에 빈틈이 발견되면 false로 되돌려 다시 적재)
+        private boolean warm;
+        // 적재 시 채팅방의 전체 메시지를 가져왔고 이후 밀려난 메시지가 없는지 (오래된 쪽도 완전한지)
+        private boolean complete;
+        private volatile long lastAccessMillis = System.currentTimeMillis();
+
+        private Ring(int capacity) {
+            this.ids = new long[capacity];
+            this.seqs = new long[capacity];
+            this.senders = new String[capacity];
+            this.contents = new String[capacity];
+        }
+
+        synchronized boolean isWarm() {
+            return warm;
+        }
+
+        synchronized void warm(List<ChatMessageDto> loaded) {
+            if (warm) {
+                return;
+            }
+            // 적재 중 추가된 메시지(또는 다시 적재할 때 이미 있는 메시지)와 겹치는 메시지는 add에서 무시됨
+            complete = loaded.size() < ids.length;
+            for (ChatMessageDto message : loaded) {
+                add(message.getMessageId(), seqOf(message), message.getSenderEmail(), message.getMessage());
+            }
+            warm = true;
+            lastAccessMillis = System.currentTimeMillis();
+        }
+
+        synchronized void add(long id, long seq, String sender, String content) {
+            // 대부분 가장 최신 메시지이므로 뒤에서부터 위치 탐색
+            int position = count;
+            while (position > 0 && ids[physical(position - 1)] > id) {
+                position--;
+            }
+            if (position > 0 && ids[physical(position - 1)] == id) {
+                return;
+            }
+            if (count == ids.length) {
+                if (position == 0) {
+                    // 캐시의 가장 오래된 메시지보다 오래된 메시지
+                    complete = false;
+                    return;
+                }
+                // 가장 오래된 메시지를 밀어냄
+                senders[start] = null;
+                contents[start] = null;
+                start = physical(1);
+                count--;
+                position--;
+                complete = false;
+            }
+            for (int i = count; i > position; i--) {
+                int to = physical(i);
+                int from = physical(i - 1);
+                ids[to] = ids[from];
+                seqs[to] = seqs[from];
+                senders[to] = senders[from];
+                contents[to] = contents[from];
+            }
+            int slot = physical(position);
+            ids[slot] = id;
+            seqs[slot] = seq;
+            senders[slot] = sender;
+            contents[slot] = content;
+            count++;
+        }
+
+        synchronized List<ChatMessageDto> page(Long roomId, long before, int size) {
+            if (!warm) {
+                return null;
+            }
+            lastAccessMillis = System.currentTimeMillis();
+            int end = count;
+            while (end > 0 && ids[physical(end - 1)] >= before) {
+                end--;
+            }
+            int from = Math.max(0, end - size);
+            if (end - from < size && !complete) {
+                // 요청한 페이지 중 일부가 캐시보다 오래됨
+                return null;
+            }
+            if (hasSeqGap(from, end)) {
+                // 적재 시점과 버스 수신 사이에 빠진 메시지가 있음 - 다음 조회에서 DB로 다시 적재하여 채움
+                warm = false;
+                return null;
+            }
+            List<ChatMessageDto> page = new ArrayList<>(end - from);
+            for (int i = from; i < end; i++) {
+                int slot = physical(i);
+                page.add(toDto(roomId, slot));
+            }
+            return page.isEmpty() ? Collections.emptyList() : page;
+        }
+
+        // 범위 안의 순번(순번 없는 메시지 제외)이 빈틈없이 이어지는지
+        private boolean hasSeqGap(int from, int end) {
+            long min = Long.MAX_VALUE;
+            long max = Long.MIN_VALUE;
+            int sequenced = 0;
+            for (int i = from; i < end; i++) {
+                long seq = seqs[physical(i)];
+                if (seq > 0) {
+                    min = Math.min(min, seq);
+                    max = Math.max(max, seq);
+                    sequenced++;
+                }
+            }
+            return sequenced > 0 && max - min + 1 != sequenced;
+        }
+
+        synchronized List<ChatMessageDto> afterSeq(Long roomId, long afterSeq, int size) {
+            if (!warm) {
+                return null;
+            }
+            lastAccessMillis = System.currentTimeMillis();
+            // 노드마다 발급한 메시지 ID 순서와 순번 순서가 다를 수 있으므로 순번으로 정렬
+            List<Integer> slots = new ArrayList<>();
+            boolean containsAfterSeq = false;
+            for (int i = 0; i < count; i++) {
+                int slot = physical(i);
+                if (seqs[slot] > afterSeq) {
+                    slots.add(slot);
+                } else if (seqs[slot] == afterSeq) {
+                    containsAfterSeq = true;
+                }
+            }
+            if (slots.isEmpty()) {
+                // afterSeq가 캐시의 마지막 메시지면 놓친 메시지 없음, 아니면 캐시로는 알 수 없음
+                return containsAfterSeq ? Collections.emptyList() : null;
+            }
+            slots.sort((a, b) -> Long.compare(seqs[a], seqs[b]));
+            long expected = afterSeq + 1;
+            List<ChatMessageDto> messages = new ArrayList<>(Math.min(size, slots.size()));
+            for (int slot : slots) {
+                if (seqs[slot] != expected++) {
+                    // 캐시보다 오래된 메시지가 필요하거나 아직 도착하지 않은 순번이 있음
+                    return null;
+                }
+                if (messages.size() < size) {
+                    messages.add(toDto(roomId, slot));
+                }
+            }
+            return messages;
+        }
+
+        private ChatMessageDto toDto(Long roomId, int slot) {
+            return new ChatMessageDto(roomId, contents[slot], senders[slot], ids[slot], seqs[slot] == 0 ? null : seqs[slot]);
+        }
+
+        synchronized long estimateBytes() {
+            long bytes = (long) ids.length * SLOT_BYTES;
+            for (int i = 0; i < count; i++) {
+                int slot = physical(i);
+                bytes += stringBytes(senders[slot]) + stringBytes(contents[slot]);
+            }
+            return bytes;
+        }
+
+        private static long stringBytes(String value) {
+            return value == null ? 0 : STRING_OVERHEAD_BYTES + 2L * value.length();
+        }
+
+        private int physical(int index) {
+            return (start + index) % ids.length;
+        }
+    }
+}
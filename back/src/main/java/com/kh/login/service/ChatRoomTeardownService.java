@@ -0,0 +1,94 @@
+package com.kh.login.service;
+
+import com.kh.login.repository.chat.ChatMessageRepository;
+import com.kh.login.repository.chat.ChatParticipantRepository;
+import com.kh.login.repository.chat.ChatRoomRepository;
+import com.kh.login.repository.chat.ReadStatusRepository;
+import com.kh.login.service.event.ChatRoomDeletedEvent;
+import java.util.List;
+import java.util.function.IntUnaryOperator;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * 삭제 표시된 채팅방 정리 (백그라운드)
+ *
+ * 채팅방 나가기 요청은 채팅방에 삭제 표시만 하고 바로 반환하며,
+ * 커밋 후 이 서비스가 read_status → chat_message → chat_participant → chat_room 순으로
+ * chat.teardown.chunk-size개씩 bulk delete (chunk마다 별도 트랜잭션)
+ *
+ * 정리 중 애플리케이션이 종료되면 삭제 표시가 남아 있으므로 재기동 시 이어서 정리
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ChatRoomTeardownService {
+
+    // 정리 중 늦게 저장된 메시지(write-behind 등) 때문에 채팅방 삭제가 실패하면 다시 정리하는 횟수
+    private static final int MAX_ATTEMPTS = 3;
+
+    private final ChatRoomRepository chatRoomRepository;
+    private final ChatMessageRepository chatMessageRepository;
+    private final ChatParticipantRepository chatParticipantRepository;
+    private final ReadStatusRepository readStatusRepository;
+
+    @Value("${chat.teardown.chunk-size:1000}")
+    private int chunkSize;
+
+    @Async
+    @TransactionalEventListener
+    public void onRoomDeleted(ChatRoomDeletedEvent event) {
+        teardown(event.roomId());
+    }
+
+    @Async
+    @EventListener(ApplicationReadyEvent.class)
+    public void resumePendingTeardowns() {
+        List<Long> roomIds = chatRoomRepository.findDeletedRoomIds();
+        if (!roomIds.isEmpty()) {
+            log.info("정리되지 않은 삭제 채팅방 {}개 정리 재개", roomIds.size());
+        }
+        roomIds.forEach(this::teardown);
+    }
+
+    /**
+     * 채팅방의 read_status, 메시지, 참여자를 chunk 단위로 삭제한 뒤 채팅방 삭제
+     */
+    public void teardown(Long roomId) {
+        try {
+            for (int attempt = 1; attempt <= MAX_ATTEMPTS; attempt++) {
+                long readStatuses = deleteInChunks(n -> readStatusRepository.deleteChunkByRoomId(roomId, n));
+                long messages = deleteInChunks(n -> chatMessageRepository.deleteChunkByRoomId(roomId, n));
+                long participants = deleteInChunks(n -> chatParticipantRepository.deleteChunkByRoomId(roomId, n));
+                try {
+                    chatRoomRepository.deleteMarkedRoom(roomId);
+                    log.info("채팅방 정리 완료: roomId={}, 메시지 {}건, read_status {}건, 참여자 {}건",
+                            roomId, messages, readStatuses, participants);
+                    return;
+                } catch (DataIntegrityViolationException e) {
+                    log.warn("채팅방 삭제 중 남은 데이터 발견, 다시 정리: roomId={}, attempt={}", roomId, attempt);
+                }
+            }
+            log.error("채팅방 정리 실패 (재기동 시 재시도): roomId={}", roomId);
+        } catch (RuntimeException e) {
+            log.error("채팅방 정리 실패 (재기동 시 재시도): roomId={}", roomId, e);
+        }
+    }
+
+    private long deleteInChunks(IntUnaryOperator deleteChunk) {
+        long deleted = 0;
+        int count;
+        do {
+            count = deleteChunk.applyAsInt(chunkSize);
+            deleted += count;
+        } while (count == chunkSize);
+        return deleted;
+    }
+}
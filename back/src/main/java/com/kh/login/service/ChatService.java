@@ -1,10 +1,10 @@
 package com.kh.login.service;
 
+import com.kh.login.auth.JwtTokenProvider;
 import com.kh.login.domain.ChatMessage;
 import com.kh.login.domain.ChatParticipant;
 import com.kh.login.domain.ChatRoom;
 import com.kh.login.domain.Member;
-import com.kh.login.domain.ReadStatus;
 import com.kh.login.dto.chat.ChatMessageDto;
 import com.kh.login.dto.chat.ChatRoomListResDto;
 import com.kh.login.dto.chat.MyChatListResDto;
@@ -12,15 +12,23 @@ import com.kh.login.repository.MemberRepository;
 import com.kh.login.repository.chat.ChatMessageRepository;
 import com.kh.login.repository.chat.ChatParticipantRepository;
 import com.kh.login.repository.chat.ChatRoomRepository;
-import com.kh.login.repository.chat.ReadStatusRepository;
+import com.kh.login.service.event.ChatParticipantJoinedEvent;
+import com.kh.login.service.event.ChatParticipantLeftEvent;
+import com.kh.login.service.event.ChatRoomDeletedEvent;
 import jakarta.persistence.EntityNotFoundException;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
-import java.util.stream.Collectors;
 import lombok.RequiredArgsConstructor;
-import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 /**
  * 채팅 관련 비즈니스 로직을 처리하는 서비스 클래스
@@ -37,54 +45,81 @@ import org.springframework.transaction.annotation.Transactional;
 @Transactional
 public class ChatService {
 
+    // 이전 메시지 조회 시 한 번에 반환하는 최대 메시지 수
+    private static final int MAX_HISTORY_PAGE_SIZE = 100;
+
     // 레포지토리들 주입
     private final ChatRoomRepository chatRoomRepository;
     private final ChatParticipantRepository chatParticipantRepository;
     private final ChatMessageRepository chatMessageRepository;
-    private final ReadStatusRepository readStatusRepository;
     private final MemberRepository memberRepository;
+    private final JwtTokenProvider jwtTokenProvider;
+    private final ChatMembershipIndex chatMembershipIndex;
+    private final ChatRecentMessageCache chatRecentMessageCache;
+    // 참여/나가기 이벤트 (커밋 후 참여자 인덱스, 웹소켓 구독에 반영)
+    private final ApplicationEventPublisher eventPublisher;
+    // 1:1 채팅방 생성은 별도 트랜잭션에서 (중복 생성 시 현재 트랜잭션은 그대로 두고 기존 채팅방 재조회)
+    private final PlatformTransactionManager transactionManager;
 
     /**
      * [채팅 메시지 저장]
      * 
      * 비즈니스 로직:
-     * 1. 채팅방과 발신자 정보를 검증
-     * 2. 메시지를 데이터베이스에 저장
-     * 3. 해당 채팅방의 모든 참여자에 대해 읽음 상태를 생성
-     *    - 발신자 본인은 자동으로 읽음 처리
-     *    - 다른 참여자들은 읽지 않음 상태로 초기화
+     * 1. 채팅방의 메시지 순번 발급 (nextSeq)
+     * 2. 웹소켓 핸드셰이크에서 검증한 채팅방/발신자 ID로 메시지를 저장
+     *    (채팅방/발신자는 프록시 참조만 사용하므로 조회 쿼리 없이 insert 한 번)
+     * 
+     * 읽음 여부는 참여자별 읽음 커서(ChatParticipant.lastReadMessageId)로 판단하므로
+     * 메시지마다 참여자 수만큼 읽음 상태 row를 만들지 않음
      * 
      * @param roomId 채팅방 ID
-     * @param chatMessageReqDto 메시지 정보 (발신자 이메일, 메시지 내용)
+     * @param memberId 발신자 ID
+     * @param content 메시지 내용
+     * @return 저장된 메시지 (ID, 순번)
      */
-    public void saveMessage(Long roomId, ChatMessageDto chatMessageReqDto) {
-        // 채팅방 존재 여부 검증
-        ChatRoom chatRoom = chatRoomRepository.findById(roomId)
-                .orElseThrow(() -> new EntityNotFoundException("room cannot be found"));
-
-        // 발신자(보낸 사람) 정보 검증
-        Member sender = memberRepository.findByEmail(chatMessageReqDto.getSenderEmail())
-                .orElseThrow(() -> new EntityNotFoundException("member cannot be found"));
-
-        // 메시지 엔티티 생성 및 저장
+    public ChatMessage saveMessage(Long roomId, Long memberId, String content) {
         ChatMessage chatMessage = ChatMessage.builder()
-                .chatRoom(chatRoom)
-                .member(sender)
-                .content(chatMessageReqDto.getMessage())
+                .chatRoom(chatRoomRepository.getReferenceById(roomId))
+                .member(memberRepository.getReferenceById(memberId))
+                .content(content)
+                .seq(nextSeq(roomId))
                 .build();
-        chatMessageRepository.save(chatMessage);
-
-        // 모든 참여자에 대해 읽음 상태 생성 (배치 처리로 성능 최적화)
-        List<ChatParticipant> chatParticipants = chatParticipantRepository.findByChatRoom(chatRoom);
-        List<ReadStatus> readStatuses = chatParticipants.stream()
-                .map(c -> ReadStatus.builder()
-                        .chatRoom(chatRoom)
-                        .member(c.getMember())
-                        .chatMessage(chatMessage)
-                        .isRead(c.getMember().equals(sender))  // 발신자 본인은 읽음 처리
-                        .build())
-                .toList();
-        readStatusRepository.saveAll(readStatuses);
+        return chatMessageRepository.save(chatMessage);
+    }
+
+    /**
+     * [메시지 순번 발급 - 동기 저장]
+     * 
+     * 비즈니스 로직:
+     * 1. 채팅방의 lastSeq를 DB에서 1 증가시키면서 증가된 값을 LAST_INSERT_ID에 담음 (update 한 번)
+     *    (채팅방 row lock이 트랜잭션이 끝날 때까지 유지되므로 여러 노드에서 저장해도 순번이 겹치지 않음)
+     * 2. 같은 커넥션의 LAST_INSERT_ID()로 증가된 값을 반환 (채팅방 row를 다시 읽지 않음)
+     * 
+     * @param roomId 채팅방 ID
+     * @return 새 메시지 순번
+     */
+    public Long nextSeq(Long roomId) {
+        if (chatRoomRepository.incrementLastSeq(roomId) == 0) {
+            throw new EntityNotFoundException("room cannot be found");
+        }
+        return chatRoomRepository.findIncrementedLastSeq();
+    }
+
+    /**
+     * [마지막 메시지 순번 조회]
+     * 
+     * write-behind 모드에서 담당 노드가 채팅방의 순번을 메모리에서 발급하기 전에 한 번 조회
+     * 
+     * @param roomId 채팅방 ID
+     * @return 저장된 마지막 메시지 순번
+     */
+    @Transactional(readOnly = true)
+    public long findLastSeq(Long roomId) {
+        Long lastSeq = chatRoomRepository.findLastSeq(roomId);
+        if (lastSeq == null) {
+            throw new EntityNotFoundException("room cannot be found");
+        }
+        return lastSeq;
     }
 
     /**
@@ -99,8 +134,7 @@ public class ChatService {
      */
     public void createGroupRoom(String chatRoomName) {
         // 현재 로그인한 사용자 조회 (Spring Security 컨텍스트에서 추출)
-        Member member = memberRepository.findByEmail(SecurityContextHolder.getContext().getAuthentication().getName())
-                .orElseThrow(() -> new EntityNotFoundException("member cannot be found"));
+        Member member = currentMember();
 
         // 그룹 채팅방 생성 (isGroupChat = 'Y'로 설정)
         ChatRoom chatRoom = ChatRoom.builder()
@@ -115,20 +149,21 @@ public class ChatService {
                 .member(member)
                 .build();
         chatParticipantRepository.save(chatParticipant);
+        eventPublisher.publishEvent(new ChatParticipantJoinedEvent(chatRoom.getId(), member.getId()));
     }
 
     /**
      * [그룹 채팅방 목록 조회]
      * 
      * 비즈니스 로직:
-     * 1. isGroupChat = 'Y'인 채팅방만 필터링하여 조회
+     * 1. isGroupChat = 'Y'인 채팅방만 필터링하여 조회 (삭제 표시된 채팅방 제외)
      * 2. 각 채팅방 정보를 DTO로 변환하여 반환
      * 
      * @return 그룹 채팅방 목록 (방 ID, 방 이름)
      */
     public List<ChatRoomListResDto> getGroupchatRooms() {
         // 그룹 채팅방만 조회 (isGroupChat = 'Y')
-        List<ChatRoom> chatRooms = chatRoomRepository.findByIsGroupChat("Y");
+        List<ChatRoom> chatRooms = chatRoomRepository.findByIsGroupChatAndIsDeleted("Y", "N");
         
         // Stream API를 사용하여 DTO 변환 (성능 최적화)
         List<ChatRoomListResDto> dtos = chatRooms.stream()
@@ -146,8 +181,7 @@ public class ChatService {
      * 
      * 비즈니스 로직:
      * 1. 채팅방이 실제로 그룹 채팅방인지 검증
-     * 2. 현재 사용자가 이미 참여 중인지 확인
-     * 3. 참여하지 않은 경우에만 새로운 참여자로 추가
+     * 2. 참여하지 않은 경우에만 새로운 참여자로 추가 (중복 확인은 addParticipantToRoom에서)
      * 
      * @param roomId 참여할 채팅방 ID
      */
@@ -157,19 +191,19 @@ public class ChatService {
                 .orElseThrow(() -> new EntityNotFoundException("room cannot be found"));
 
         // 현재 로그인한 사용자 조회
-        Member member = memberRepository.findByEmail(SecurityContextHolder.getContext().getAuthentication().getName())
-                .orElseThrow(() -> new EntityNotFoundException("member cannot be found"));
+        Member member = currentMember();
+
+        // 정리 중인 채팅방에는 참여할 수 없음
+        if (chatRoom.getIsDeleted().equals("Y")) {
+            throw new EntityNotFoundException("room cannot be found");
+        }
 
         // 그룹 채팅방 검증 (단체 채팅이 아닐 경우 예외 발생)
         if (chatRoom.getIsGroupChat().equals("N")) {
             throw new IllegalArgumentException("그룹채팅이 아닙니다.");
         }
 
-        // 중복 참여 방지: 이미 참여 중인지 확인
-        Optional<ChatParticipant> participant = chatParticipantRepository.findByChatRoomAndMember(chatRoom, member);
-        if (!participant.isPresent()) {
-            addParticipantToRoom(chatRoom, member);
-        }
+        addParticipantToRoom(chatRoom, member);
     }
 
     /**
@@ -188,53 +222,100 @@ public class ChatService {
             return;
         }
 
-        // 새로운 참여자 등록
+        // 새로운 참여자 등록 (참여 이전 메시지는 읽은 것으로 간주)
         ChatParticipant chatParticipant = ChatParticipant.builder()
                 .chatRoom(chatRoom)
                 .member(member)
+                .lastReadMessageId(chatMessageRepository.findLastMessageId(chatRoom.getId()))
                 .build();
         chatParticipantRepository.save(chatParticipant);
+        eventPublisher.publishEvent(new ChatParticipantJoinedEvent(chatRoom.getId(), member.getId()));
     }
 
     /**
      * [채팅 내역 조회]
      * 
      * 비즈니스 로직:
-     * 1. 채팅방 존재 여부 검증
-     * 2. 현재 사용자가 해당 채팅방의 참여자인지 검증
-     * 3. 채팅방의 모든 메시지를 시간순으로 조회
-     * 4. 메시지 정보를 DTO로 변환하여 반환
+     * 1. 현재 사용자가 해당 채팅방의 참여자인지 검증 (참여자 인덱스, 참여자가 아니면 채팅방 존재 여부 확인)
+     * 2. 최근 메시지 캐시에 요청한 페이지가 모두 있으면 캐시에서 반환
+     *    (최신 페이지 요청인데 캐시가 비어 있으면 최근 메시지를 적재한 뒤 캐시에서 반환)
+     * 3. 캐시보다 오래된 페이지는 before 메시지 ID 이전의 메시지를 최신순으로 size개 조회 (인덱스 (chat_room_id, id) 사용)
+     * 4. 화면에 표시하기 좋도록 시간순(오래된 순)으로 뒤집어 반환
+     * 
+     * 클라이언트는 응답의 첫 번째 messageId를 다음 요청의 before로 넘겨 과거 메시지를 이어서 조회
      * 
      * @param roomId 조회할 채팅방 ID
-     * @return 채팅 메시지 목록 (발신자 이메일, 메시지 내용)
+     * @param before 이 메시지 ID 이전의 메시지만 조회 (null이면 최신 메시지부터)
+     * @param size 조회할 메시지 수 (최대 MAX_HISTORY_PAGE_SIZE)
+     * @return 채팅 메시지 목록 (발신자 이메일, 메시지 내용, 메시지 ID)
      */
-    public List<ChatMessageDto> getChatHistory(Long roomId) {
-        // 채팅방 존재 여부 검증
-        ChatRoom chatRoom = chatRoomRepository.findById(roomId)
-                .orElseThrow(() -> new EntityNotFoundException("room cannot be found"));
+    public List<ChatMessageDto> getChatHistory(Long roomId, Long before, int size) {
+        // 본인 참여 여부 확인 (보안 검증)
+        verifyCurrentMemberParticipates(roomId);
 
-        // 현재 로그인한 사용자 조회
-        Member member = memberRepository.findByEmail(SecurityContextHolder.getContext().getAuthentication().getName())
-                .orElseThrow(() -> new EntityNotFoundException("member cannot be found"));
+        int pageSize = Math.min(Math.max(size, 1), MAX_HISTORY_PAGE_SIZE);
+        List<ChatMessageDto> cached = chatRecentMessageCache.find(roomId, before, pageSize);
+        if (cached != null) {
+            return cached;
+        }
+        if (before == null) {
+            // 현재 트랜잭션의 스냅샷은 ring을 만들기 전에 시작되었을 수 있으므로 ring을 만든 뒤 새 트랜잭션에서 조회
+            // (스냅샷 이후 커밋되고 ring 생성 전에 전달된 메시지가 빠지지 않도록)
+            chatRecentMessageCache.warm(roomId, () -> readOnlyRequiresNew().execute(
+                    status -> findHistory(roomId, Long.MAX_VALUE, chatRecentMessageCache.getCapacity())));
+            cached = chatRecentMessageCache.find(roomId, null, pageSize);
+            if (cached != null) {
+                return cached;
+            }
+        }
 
-        // 본인 참여 여부 확인 (보안 검증)
-        boolean isParticipant = chatParticipantRepository.findByChatRoom(chatRoom)
-                .stream().anyMatch(cp -> cp.getMember().equals(member));
-        if (!isParticipant) {
-            throw new IllegalArgumentException("본인이 속하지 않은 채팅방입니다.");
+        return findHistory(roomId, before != null ? before : Long.MAX_VALUE, pageSize);
+    }
+
+    /**
+     * [재연결 시 놓친 메시지 조회]
+     * 
+     * 비즈니스 로직:
+     * 1. 현재 사용자가 해당 채팅방의 참여자인지 검증
+     * 2. 최근 메시지 캐시에 afterSeq 이후 메시지가 빈틈없이 있으면 캐시에서 반환
+     * 3. 없으면 afterSeq 이후 메시지를 순번순으로 size개 조회 (인덱스 (chat_room_id, seq) 사용)
+     * 
+     * 클라이언트는 마지막으로 받은 메시지의 seq를 afterSeq로 넘기고,
+     * 응답이 size개면 응답의 마지막 seq로 다시 요청하여 나머지를 조회
+     * 
+     * @param roomId 조회할 채팅방 ID
+     * @param afterSeq 이 순번 이후의 메시지만 조회
+     * @param size 조회할 메시지 수 (최대 MAX_HISTORY_PAGE_SIZE)
+     * @return 채팅 메시지 목록 (순번순)
+     */
+    public List<ChatMessageDto> getMessagesAfterSeq(Long roomId, Long afterSeq, int size) {
+        verifyCurrentMemberParticipates(roomId);
+
+        int pageSize = Math.min(Math.max(size, 1), MAX_HISTORY_PAGE_SIZE);
+        List<ChatMessageDto> cached = chatRecentMessageCache.findAfterSeq(roomId, afterSeq, pageSize);
+        if (cached != null) {
+            return cached;
         }
+        return chatMessageRepository.findAfterSeq(roomId, afterSeq, Limit.of(pageSize));
+    }
 
-        // 메시지 조회 (시간순 정렬)
-        List<ChatMessage> chatMessages = chatMessageRepository.findByChatRoomOrderByCreatedTimeAsc(chatRoom);
-        
-        // Stream API를 사용하여 DTO 변환
-        List<ChatMessageDto> chatMessageDtos = chatMessages.stream()
-                .map(c -> ChatMessageDto.builder()
-                        .message(c.getContent())
-                        .senderEmail(c.getMember().getEmail())
-                        .build())
-                .collect(Collectors.toList());
+    // 현재 사용자의 채팅방 참여 여부 확인 - 참여자 목록을 조회하지 않고 인덱스에서 확인
+    private void verifyCurrentMemberParticipates(Long roomId) {
+        Member member = currentMember();
+        if (!chatMembershipIndex.isMember(roomId, member.getId())) {
+            // 채팅방 존재 여부 검증
+            if (!chatRoomRepository.existsById(roomId)) {
+                throw new EntityNotFoundException("room cannot be found");
+            }
+            throw new IllegalArgumentException("본인이 속하지 않은 채팅방입니다.");
+        }
+    }
 
+    // 메시지 조회 (메시지 ID 역순, 발신자 join) 후 시간순(오래된 순)으로 정렬하여 반환
+    private List<ChatMessageDto> findHistory(Long roomId, long before, int size) {
+        List<ChatMessageDto> chatMessageDtos = new ArrayList<>(chatMessageRepository.findHistoryBefore(
+                roomId, before, Limit.of(size)));
+        Collections.reverse(chatMessageDtos);
         return chatMessageDtos;
     }
 
@@ -242,48 +323,58 @@ public class ChatService {
      * [특정 사용자의 채팅방 참여 여부 확인]
      * 
      * 비즈니스 로직:
-     * 1. 채팅방과 사용자 존재 여부 검증
-     * 2. 해당 사용자가 채팅방의 참여자인지 확인
+     * 1. 해당 사용자가 채팅방의 참여자인지 확인 (참여자 인덱스, 메모리 조회)
      * 
-     * @param email 확인할 사용자 이메일
+     * @param memberId 확인할 사용자 ID
      * @param roomId 확인할 채팅방 ID
-     * @return 참여 여부 (true: 참여 중, false: 참여하지 않음)
+     * @return 참여 여부 (true: 참여 중, false: 참여하지 않음, 채팅방이 없어도 false)
      */
-    public boolean isRoomPaticipant(String email, Long roomId) {
-        // 채팅방과 사용자 존재 여부 검증
-        ChatRoom chatRoom = chatRoomRepository.findById(roomId)
-                .orElseThrow(() -> new EntityNotFoundException("room cannot be found"));
-
-        Member member = memberRepository.findByEmail(email)
-                .orElseThrow(() -> new EntityNotFoundException("member cannot be found"));
+    public boolean isRoomParticipant(Long memberId, Long roomId) {
+        return chatMembershipIndex.isMember(roomId, memberId);
+    }
 
-        // 참여 여부 확인
-        return chatParticipantRepository.findByChatRoom(chatRoom)
-                .stream().anyMatch(cp -> cp.getMember().equals(member));
+    /**
+     * [이메일로 사용자 ID 조회]
+     * 
+     * memberId 클레임이 없는 예전 토큰으로 웹소켓에 연결할 때 사용
+     * 
+     * @param email 사용자 이메일
+     * @return 사용자 ID (없으면 empty)
+     */
+    public Optional<Long> findMemberId(String email) {
+        return memberRepository.findByEmail(email).map(Member::getId);
     }
 
     /**
      * [메시지 읽음 처리]
      * 
      * 비즈니스 로직:
-     * 1. 채팅방과 사용자 존재 여부 검증
-     * 2. 해당 사용자의 모든 읽지 않은 메시지를 읽음 상태로 변경
+     * 1. 해당 사용자의 읽음 커서를 채팅방의 마지막 메시지 ID로 변경
+     *    (커서 이전의 메시지는 모두 읽은 것으로 간주)
      * 
      * @param roomId 읽음 처리할 채팅방 ID
      */
     public void messageRead(Long roomId) {
-        // 채팅방과 사용자 존재 여부 검증
-        ChatRoom chatRoom = chatRoomRepository.findById(roomId)
-                .orElseThrow(() -> new EntityNotFoundException("room cannot be found"));
+        Member member = currentMember();
 
-        Member member = memberRepository.findByEmail(SecurityContextHolder.getContext().getAuthentication().getName())
-                .orElseThrow(() -> new EntityNotFoundException("member cannot be found"));
+        // 읽음 커서를 채팅방의 마지막 메시지로 이동 (참여자 row 하나만 update)
+        chatParticipantRepository.markAllRead(roomId, member.getId());
+    }
 
-        // 해당 사용자의 모든 읽지 않은 메시지를 읽음 상태로 변경
-        List<ReadStatus> readStatuses = readStatusRepository.findByChatRoomAndMember(chatRoom, member);
-        for (ReadStatus r : readStatuses) {
-            r.updateIsRead(true);
-        }
+    /**
+     * [메시지 읽음 처리 - 특정 메시지까지]
+     * 
+     * 비즈니스 로직:
+     * 1. 해당 사용자의 읽음 커서를 messageId로 변경 (커서보다 앞선 messageId면 변경하지 않음)
+     *    messageId가 채팅방의 마지막 메시지 ID보다 크면 마지막 메시지 ID까지만 이동
+     *    웹소켓 READ 프레임으로 호출되므로 사용자 ID는 핸드셰이크에서 검증된 값을 사용
+     * 
+     * @param roomId 읽음 처리할 채팅방 ID
+     * @param memberId 사용자 ID
+     * @param messageId 마지막으로 읽은 메시지 ID
+     */
+    public void markReadUpTo(Long roomId, Long memberId, Long messageId) {
+        chatParticipantRepository.markReadUpTo(roomId, memberId, messageId);
     }
 
     /**
@@ -291,35 +382,18 @@ public class ChatService {
      * 
      * 비즈니스 로직:
      * 1. 현재 로그인한 사용자가 참여 중인 모든 채팅방 조회
-     * 2. 각 채팅방마다 읽지 않은 메시지 수를 계산
+     * 2. 각 채팅방마다 읽음 커서 이후의 메시지 수를 계산 (상관 서브쿼리)
      * 3. 채팅방 정보와 읽지 않은 메시지 수를 포함하여 반환
+     *    → 채팅방 수와 관계없이 쿼리 1번
      * 
      * @return 내가 참여 중인 채팅방 목록 (방 정보 + 읽지 않은 메시지 수)
      */
     public List<MyChatListResDto> getMyChatRooms() {
-        // 현재 로그인한 사용자 조회
-        Member member = memberRepository.findByEmail(SecurityContextHolder.getContext().getAuthentication().getName())
-                .orElseThrow(() -> new EntityNotFoundException("member cannot be found"));
+        // 현재 로그인한 사용자
+        Member member = currentMember();
 
-        // 사용자가 참여 중인 모든 채팅방 조회
-        List<ChatParticipant> chatParticipants = chatParticipantRepository.findAllByMember(member);
-        
-        // Stream API를 사용하여 DTO 변환 및 읽지 않은 메시지 수 계산
-        List<MyChatListResDto> chatListResDtos = chatParticipants.stream()
-            .map(c -> {
-                // 각 채팅방의 읽지 않은 메시지 수 조회
-                Long count = readStatusRepository.countByChatRoomAndMemberAndIsReadFalse(c.getChatRoom(), member);
-                
-                return MyChatListResDto.builder()
-                        .roomId(c.getChatRoom().getId())
-                        .roomName(c.getChatRoom().getName())
-                        .isGroupChat(c.getChatRoom().getIsGroupChat())
-                        .unReadCount(count)
-                        .build();
-            })
-            .collect(Collectors.toList());
-
-        return chatListResDtos;
+        // 참여 중인 채팅방 정보와 읽지 않은 메시지 수를 한 번의 쿼리로 조회
+        return chatParticipantRepository.findMyChatRooms(member.getId());
     }
 
     /**
@@ -328,7 +402,8 @@ public class ChatService {
      * 비즈니스 로직:
      * 1. 채팅방이 그룹 채팅방인지 검증
      * 2. 현재 사용자를 채팅방에서 제거
-     * 3. 마지막 참여자가 나간 경우 채팅방 자체를 삭제
+     * 3. 마지막 참여자가 나간 경우 채팅방에 삭제 표시
+     *    (메시지/참여자 등은 커밋 후 ChatRoomTeardownService가 백그라운드에서 chunk 단위로 삭제하므로 바로 반환)
      * 
      * @param roomId 나갈 채팅방 ID
      */
@@ -337,8 +412,7 @@ public class ChatService {
         ChatRoom chatRoom = chatRoomRepository.findById(roomId)
                 .orElseThrow(() -> new EntityNotFoundException("room cannot be found"));
 
-        Member member = memberRepository.findByEmail(SecurityContextHolder.getContext().getAuthentication().getName())
-                .orElseThrow(() -> new EntityNotFoundException("member cannot be found"));
+        Member member = currentMember();
 
         // 그룹 채팅방 검증
         if (chatRoom.getIsGroupChat().equals("N")) {
@@ -349,11 +423,12 @@ public class ChatService {
         ChatParticipant c = chatParticipantRepository.findByChatRoomAndMember(chatRoom, member)
                 .orElseThrow(() -> new EntityNotFoundException("참여자를 찾을 수 없습니다."));
         chatParticipantRepository.delete(c);
+        eventPublisher.publishEvent(new ChatParticipantLeftEvent(roomId, member.getId()));
 
-        // 남은 참여자가 없다면 채팅방 삭제 (채팅방 정리)
-        List<ChatParticipant> chatParticipants = chatParticipantRepository.findByChatRoom(chatRoom);
-        if (chatParticipants.isEmpty()) {
-            chatRoomRepository.delete(chatRoom);
+        // 남은 참여자가 없다면 채팅방 삭제 표시 (채팅방 정리는 백그라운드에서)
+        if (!chatParticipantRepository.existsByChatRoomId(roomId)) {
+            chatRoom.markDeleted();
+            eventPublisher.publishEvent(new ChatRoomDeletedEvent(roomId));
         }
     }
 
@@ -361,35 +436,49 @@ public class ChatService {
      * [1:1 채팅방 생성 또는 조회]
      * 
      * 비즈니스 로직:
-     * 1. 두 사용자 간에 이미 존재하는 1:1 채팅방이 있는지 확인
+     * 1. 두 사용자 ID로 만든 키(작은ID:큰ID)로 기존 1:1 채팅방 조회 (unique 인덱스 조회 한 번)
      * 2. 존재하면 기존 채팅방 ID 반환
-     * 3. 존재하지 않으면 새로운 1:1 채팅방 생성
+     * 3. 존재하지 않으면 새로운 1:1 채팅방 생성 (별도 트랜잭션)
      *    - 채팅방 이름: "사용자1-사용자2" 형태
      *    - 두 사용자를 모두 참여자로 등록
+     * 4. 동시에 다른 요청이 먼저 생성해 unique 제약 위반이 나면 새 트랜잭션에서 다시 조회하여 그 채팅방 ID 반환
      * 
      * @param otherMemberId 상대방 사용자 ID
      * @return 1:1 채팅방 ID (기존 또는 새로 생성된)
      */
     public Long getOrCreatePrivateRoom(Long otherMemberId) {
         // 현재 로그인한 사용자와 상대방 사용자 조회
-        Member member = memberRepository.findByEmail(SecurityContextHolder.getContext().getAuthentication().getName())
-                .orElseThrow(() -> new EntityNotFoundException("member cannot be found"));
+        Member member = currentMember();
 
         Member otherMember = memberRepository.findById(otherMemberId)
                 .orElseThrow(() -> new EntityNotFoundException("member cannot be found"));
 
         // 기존 1:1 채팅방 존재 여부 확인
-        Optional<ChatRoom> chatRoom = chatParticipantRepository.findExistingPrivateRoom(member.getId(), otherMember.getId());
-        if (chatRoom.isPresent()) {
-            return chatRoom.get().getId();
+        String privatePairKey = ChatRoom.privatePairKey(member.getId(), otherMember.getId());
+        Optional<Long> existingRoomId = chatRoomRepository.findIdByPrivatePairKey(privatePairKey);
+        if (existingRoomId.isPresent()) {
+            return existingRoomId.get();
         }
 
-        // 새로운 1:1 채팅방 생성
+        String roomName = member.getName() + "-" + otherMember.getName();
+        try {
+            return requiresNew().execute(status -> createPrivateRoom(privatePairKey, roomName, member, otherMember));
+        } catch (DataIntegrityViolationException e) {
+            // 다른 요청이 같은 두 사용자의 채팅방을 먼저 생성함
+            // (현재 트랜잭션의 조회 시점 이후에 커밋된 채팅방이므로 새 트랜잭션에서 조회)
+            return requiresNew().execute(status -> chatRoomRepository.findIdByPrivatePairKey(privatePairKey))
+                    .orElseThrow(() -> e);
+        }
+    }
+
+    private Long createPrivateRoom(String privatePairKey, String roomName, Member member, Member otherMember) {
+        // 새로운 1:1 채팅방 생성 (키가 이미 있으면 insert 시 unique 제약 위반)
         ChatRoom newRoom = ChatRoom.builder()
                 .isGroupChat("N")  // 1:1 채팅방 표시
-                .name(member.getName() + "-" + otherMember.getName())  // 채팅방 이름 설정
+                .name(roomName)  // 채팅방 이름 설정
+                .privatePairKey(privatePairKey)
                 .build();
-        chatRoomRepository.save(newRoom);
+        chatRoomRepository.saveAndFlush(newRoom);
 
         // 두 사용자 모두 참여자로 등록
         addParticipantToRoom(newRoom, member);
@@ -397,6 +486,33 @@ public class ChatService {
 
         return newRoom.getId();
     }
-}
 
+    private TransactionTemplate requiresNew() {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        return transactionTemplate;
+    }
+
+    private TransactionTemplate readOnlyRequiresNew() {
+        TransactionTemplate transactionTemplate = requiresNew();
+        transactionTemplate.setReadOnly(true);
+        return transactionTemplate;
+    }
 
+    /**
+     * [현재 로그인한 사용자]
+     *
+     * JWT의 memberId 클레임으로 프록시(getReferenceById)만 만들어 반환하므로 SELECT가 발생하지 않음
+     * memberId 클레임이 없는 이전 토큰이면 이메일로 조회
+     *
+     * @return 현재 로그인한 사용자 (지연 로딩 프록시)
+     */
+    private Member currentMember() {
+        Long memberId = jwtTokenProvider.getMemberIdFromToken();
+        if (memberId != null) {
+            return memberRepository.getReferenceById(memberId);
+        }
+        return memberRepository.findByEmail(jwtTokenProvider.getUserEmailFromToken())
+                .orElseThrow(() -> new EntityNotFoundException("member cannot be found"));
+    }
+}
@@ -19,10 +19,13 @@ import org.springframework.stereotype.Service;
 public class GoogleOauth2LoginSuccess extends SimpleUrlAuthenticationSuccessHandler {
     private final MemberRepository memberRepository;
     private final JwtTokenProvider jwtTokenProvider;
+    private final RefreshTokenService refreshTokenService;
 
-    public GoogleOauth2LoginSuccess(MemberRepository memberRepository, JwtTokenProvider jwtTokenProvider) {
+    public GoogleOauth2LoginSuccess(MemberRepository memberRepository, JwtTokenProvider jwtTokenProvider,
+                                    RefreshTokenService refreshTokenService) {
         this.memberRepository = memberRepository;
         this.jwtTokenProvider = jwtTokenProvider;
+        this.refreshTokenService = refreshTokenService;
     }
 
     @Override
@@ -49,7 +52,7 @@ public class GoogleOauth2LoginSuccess extends SimpleUrlAuthenticationSuccessHand
             memberRepository.save(member);
         }
 //        jwt토큰 생성
-        String jwtToken = jwtTokenProvider.createToken(member.getEmail(), member.getRole().toString());
+        String jwtToken = jwtTokenProvider.createToken(member.getId(), member.getEmail(), member.getRole().toString());
 
 //        클라이언트 redirect 방식으로 토큰 전달
 //        response.sendRedirect("http://localhost:3000?token="+jwtToken);
@@ -57,6 +60,12 @@ public class GoogleOauth2LoginSuccess extends SimpleUrlAuthenticationSuccessHand
         Cookie jwtCookie = new Cookie("token", jwtToken);
         jwtCookie.setPath("/"); //모든 경로에서 쿠키 사용가능
         response.addCookie(jwtCookie);
+
+        // refresh token은 스크립트에서 읽을 필요가 없으므로 HttpOnly 쿠키로 전달
+        Cookie refreshTokenCookie = new Cookie("refreshToken", refreshTokenService.issue(member));
+        refreshTokenCookie.setPath("/");
+        refreshTokenCookie.setHttpOnly(true);
+        response.addCookie(refreshTokenCookie);
         response.sendRedirect("http://localhost:3000");
 
     }
@@ -6,10 +6,12 @@ import com.kh.login.dto.member.MemberLoginDto;
 import com.kh.login.dto.member.MemberResponseDto;
 import com.kh.login.enums.SocialType;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 public interface MemberService {
-    Member create(MemberCreateDto memberCreateDto);
-    Member login(MemberLoginDto memberLoginDto);
+    // 비밀번호 해시가 끝나면 완료 (해시 실행기가 가득 차면 ServiceUnavailableException)
+    CompletableFuture<Member> create(MemberCreateDto memberCreateDto);
+    CompletableFuture<Member> login(MemberLoginDto memberLoginDto);
     MemberResponseDto getMemberInfoByEmail(String email);
 
     Member getMemberBySocialId(String socialId, SocialType socialType);
@@ -6,28 +6,39 @@ import com.kh.login.dto.member.MemberLoginDto;
 import com.kh.login.dto.member.MemberResponseDto;
 import com.kh.login.enums.SocialType;
 import com.kh.login.exception.InvalidCredentialsException;
+import com.kh.login.exception.ServiceUnavailableException;
 import com.kh.login.exception.UserAlreadyExistsException;
 import com.kh.login.exception.UserNotFoundException;
 import com.kh.login.repository.MemberRepository;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 import java.util.stream.Collectors;
-import org.springframework.security.crypto.password.PasswordEncoder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
 import org.springframework.stereotype.Service;
 
+@Slf4j
 @Service
 public class MemberServiceImpl implements MemberService {
 
     private final MemberRepository memberRepository;
-    private final PasswordEncoder passwordEncoder;
+    // 비밀번호 해시는 요청 스레드가 아닌 전용 실행기에서 (가득 차면 503)
+    private final PasswordHashingService passwordHashingService;
+    // 해시 이후의 DB 저장은 해시 실행기 스레드를 묶지 않도록 스프링 부트 기본 실행기(applicationTaskExecutor)에서
+    private final Executor persistenceExecutor;
 
-    public MemberServiceImpl(MemberRepository memberRepository, PasswordEncoder passwordEncoder) {
+    public MemberServiceImpl(MemberRepository memberRepository, PasswordHashingService passwordHashingService,
+                             @Qualifier(TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME) Executor persistenceExecutor) {
         this.memberRepository = memberRepository;
-        this.passwordEncoder = passwordEncoder;
+        this.passwordHashingService = passwordHashingService;
+        this.persistenceExecutor = persistenceExecutor;
     }
 
-    public Member create(MemberCreateDto memberCreateDto) {
+    public CompletableFuture<Member> create(MemberCreateDto memberCreateDto) {
         // 이메일 중복 검증
         if (memberRepository.existsByEmail(memberCreateDto.getEmail())) {
             throw new UserAlreadyExistsException("이미 존재하는 이메일입니다.");
@@ -38,27 +49,56 @@ public class MemberServiceImpl implements MemberService {
             throw new UserAlreadyExistsException("이미 존재하는 전화번호입니다.");
         }
 
-        Member member = Member.builder()
-                              .name(memberCreateDto.getName())
-                              .email(memberCreateDto.getEmail())
-                              .password(passwordEncoder.encode(memberCreateDto.getPassword()))
-                              .phoneNumber(memberCreateDto.getPhoneNumber())
-                              .build();
-        memberRepository.save(member);
-        return member;
+        return passwordHashingService.encode(memberCreateDto.getPassword())
+                .thenApplyAsync(encodedPassword -> {
+                    Member member = Member.builder()
+                                          .name(memberCreateDto.getName())
+                                          .email(memberCreateDto.getEmail())
+                                          .password(encodedPassword)
+                                          .phoneNumber(memberCreateDto.getPhoneNumber())
+                                          .build();
+                    memberRepository.save(member);
+                    return member;
+                }, persistenceExecutor);
     }
 
-    public Member login(MemberLoginDto memberLoginDto) {
+    public CompletableFuture<Member> login(MemberLoginDto memberLoginDto) {
         Optional<Member> optMember = memberRepository.findByEmail(memberLoginDto.getEmail());
         if(!optMember.isPresent()){
             throw new InvalidCredentialsException("이메일이 존재하지 않습니다.");
         }
 
         Member member = optMember.get();
-        if(!passwordEncoder.matches(memberLoginDto.getPassword(), member.getPassword())){
-            throw new InvalidCredentialsException("비밀번호가 일치하지 않습니다.");
+        return passwordHashingService.matches(memberLoginDto.getPassword(), member.getPassword())
+                .thenApplyAsync(matched -> {
+                    if(!matched){
+                        throw new InvalidCredentialsException("비밀번호가 일치하지 않습니다.");
+                    }
+                    upgradePasswordIfNeeded(member, memberLoginDto.getPassword());
+                    return member;
+                }, persistenceExecutor);
+    }
+
+    /**
+     * 저장된 해시가 현재 인코더 설정(bcrypt 강도 등)보다 약하면 로그인한 비밀번호로 다시 해시하여 저장
+     * 응답을 기다리게 하지 않도록 비동기로 실행하며, 실행기가 가득 차 있거나 실패하면 다음 로그인 때 다시 시도
+     */
+    private void upgradePasswordIfNeeded(Member member, String rawPassword) {
+        String oldPassword = member.getPassword();
+        if (!passwordHashingService.upgradeEncoding(oldPassword)) {
+            return;
+        }
+        try {
+            passwordHashingService.encode(rawPassword)
+                    .thenAcceptAsync(newPassword -> memberRepository.updatePassword(member.getId(), oldPassword, newPassword),
+                            persistenceExecutor)
+                    .exceptionally(e -> {
+                        log.warn("비밀번호 해시 갱신 실패: memberId={}", member.getId(), e);
+                        return null;
+                    });
+        } catch (ServiceUnavailableException e) {
+            log.debug("해시 실행기가 가득 차 비밀번호 해시 갱신을 다음 로그인으로 미룸: memberId={}", member.getId());
         }
-        return member;
     }
 
     @Override
@@ -0,0 +1,91 @@
+package com.kh.login.service;
+
+import com.kh.login.exception.ServiceUnavailableException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+
+/**
+ * 비밀번호 해시(로그인 검증, 회원가입 인코딩) 전용 실행기
+ *
+ * bcrypt는 요청당 수십~수백 ms CPU를 사용하므로 톰캣 요청 스레드에서 실행하면
+ * 로그인이 몰릴 때 요청 스레드가 모두 묶여 채팅/파일 API까지 멈춤
+ * - 스레드 수(security.password.hash-threads, 0이면 CPU 수)와 대기열 크기(security.password.hash-queue-size)를 제한
+ * - 대기열이 가득 차면 기다리지 않고 바로 503 (ServiceUnavailableException)
+ * - 거절 횟수와 대기열 길이를 메트릭(password.hash.rejected, password.hash.queue)으로 노출
+ */
+@Service
+public class PasswordHashingService {
+
+    private final PasswordEncoder passwordEncoder;
+    private final ThreadPoolExecutor executor;
+    private final Counter rejected;
+
+    public PasswordHashingService(PasswordEncoder passwordEncoder,
+                                  MeterRegistry meterRegistry,
+                                  @Value("${security.password.hash-threads:0}") int threads,
+                                  @Value("${security.password.hash-queue-size:64}") int queueSize) {
+        this.passwordEncoder = passwordEncoder;
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueSize),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "password-hash-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+        this.rejected = meterRegistry.counter("password.hash.rejected");
+        meterRegistry.gauge("password.hash.queue", executor, e -> e.getQueue().size());
+    }
+
+    /**
+     * 비밀번호 검증
+     *
+     * @throws ServiceUnavailableException 대기열이 가득 찬 경우 (요청 스레드에서 바로 발생)
+     */
+    public CompletableFuture<Boolean> matches(String rawPassword, String encodedPassword) {
+        return submit(() -> passwordEncoder.matches(rawPassword, encodedPassword));
+    }
+
+    /**
+     * 비밀번호 인코딩
+     *
+     * @throws ServiceUnavailableException 대기열이 가득 찬 경우 (요청 스레드에서 바로 발생)
+     */
+    public CompletableFuture<String> encode(String rawPassword) {
+        return submit(() -> passwordEncoder.encode(rawPassword));
+    }
+
+    /**
+     * 저장된 해시를 현재 설정으로 다시 인코딩해야 하는지 (해시 계산 없이 prefix/강도만 확인)
+     */
+    public boolean upgradeEncoding(String encodedPassword) {
+        return passwordEncoder.upgradeEncoding(encodedPassword);
+    }
+
+    private <T> CompletableFuture<T> submit(Supplier<T> task) {
+        try {
+            return CompletableFuture.supplyAsync(task, executor);
+        } catch (RejectedExecutionException e) {
+            rejected.increment();
+            throw new ServiceUnavailableException();
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+}
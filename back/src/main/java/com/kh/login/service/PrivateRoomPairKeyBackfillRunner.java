@@ -0,0 +1,55 @@
+package com.kh.login.service;
+
+import com.kh.login.domain.ChatRoom;
+import com.kh.login.repository.chat.ChatParticipantRepository;
+import com.kh.login.repository.chat.ChatRoomRepository;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.stereotype.Component;
+
+/**
+ * 키(private_pair_key)가 없는 기존 1:1 채팅방에 참여자 ID로 키 설정
+ *
+ * 1:1 채팅방 조회는 키로만 하므로 키가 없는 채팅방이 있으면 같은 두 회원의 채팅방이 새로 생성됨
+ * - 기동 시마다 실행되지만 키가 없는 1:1 채팅방이 없으면 조회 한 번으로 끝남
+ * - 이전에 동시 요청으로 같은 두 회원의 채팅방이 여러 개 생성되어 있으면
+ *   가장 먼저 생성된 채팅방에만 키를 설정 (나머지는 기존 대화 보존을 위해 그대로 둠)
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class PrivateRoomPairKeyBackfillRunner implements ApplicationRunner {
+
+    private final ChatParticipantRepository chatParticipantRepository;
+    private final ChatRoomRepository chatRoomRepository;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        List<Object[]> pairs = chatParticipantRepository.findPrivateRoomPairsWithoutKey();
+        if (pairs.isEmpty()) {
+            return;
+        }
+
+        Set<String> assignedKeys = new HashSet<>();
+        int assigned = 0;
+        int duplicates = 0;
+        for (Object[] pair : pairs) {
+            Long roomId = (Long) pair[0];
+            String privatePairKey = ChatRoom.privatePairKey((Long) pair[1], (Long) pair[2]);
+            // 채팅방 ID순이므로 먼저 나온 채팅방이 먼저 생성된 채팅방
+            if (!assignedKeys.add(privatePairKey)
+                    || chatRoomRepository.findIdByPrivatePairKey(privatePairKey).isPresent()) {
+                log.warn("중복된 1:1 채팅방은 키를 설정하지 않음: roomId={}, key={}", roomId, privatePairKey);
+                duplicates++;
+                continue;
+            }
+            assigned += chatRoomRepository.assignPrivatePairKey(roomId, privatePairKey);
+        }
+        log.info("1:1 채팅방 키 설정 완료: {}개 (중복 {}개 제외)", assigned, duplicates);
+    }
+}
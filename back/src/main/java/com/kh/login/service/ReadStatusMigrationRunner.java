@@ -0,0 +1,52 @@
+package com.kh.login.service;
+
+import com.kh.login.repository.chat.ChatParticipantRepository;
+import com.kh.login.repository.chat.ReadStatusRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * 메시지별 읽음 상태(read_status) → 참여자별 읽음 커서(chat_participant.last_read_message_id) 이관
+ *
+ * chat.read-status.migrate=true 로 기동했을 때 한 번 실행됨
+ * 1. 참여자마다 첫 번째 안 읽은 메시지 직전(없으면 마지막 메시지)으로 커서를 설정
+ * 2. 이관이 끝난 read_status row를 chunk 단위로 삭제
+ *
+ * read_status가 비어 있으면 아무것도 하지 않으므로 재기동 시 커서를 덮어쓰지 않음
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "chat.read-status.migrate", havingValue = "true")
+public class ReadStatusMigrationRunner implements ApplicationRunner {
+
+    private final ChatParticipantRepository chatParticipantRepository;
+    private final ReadStatusRepository readStatusRepository;
+
+    @Value("${chat.read-status.migrate-chunk-size:10000}")
+    private int chunkSize;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (readStatusRepository.count() == 0) {
+            log.info("read_status 이관 대상 없음");
+            return;
+        }
+
+        int participants = chatParticipantRepository.migrateReadCursorsFromReadStatus();
+        log.info("읽음 커서 이관 완료: 참여자 {}명", participants);
+
+        long deleted = 0;
+        int count;
+        do {
+            count = readStatusRepository.deleteChunk(chunkSize);
+            deleted += count;
+        } while (count == chunkSize);
+        log.info("read_status 정리 완료: {}건 삭제", deleted);
+    }
+}
@@ -0,0 +1,149 @@
+package com.kh.login.service;
+
+import com.kh.login.domain.Member;
+import com.kh.login.domain.RefreshToken;
+import com.kh.login.domain.id.Tsid;
+import com.kh.login.exception.InvalidCredentialsException;
+import com.kh.login.repository.RefreshTokenRepository;
+import java.nio.charset.StandardCharsets;
+import java.security.InvalidKeyException;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Refresh token 발급/회전
+ *
+ * 비즈니스 로직:
+ * 1. 로그인 시 새 family로 refresh token 발급 (원문은 응답으로만 전달하고 DB에는 HMAC만 저장)
+ * 2. /v1/member/refresh 요청 시 토큰 해시로 1건 조회 → 교체 표시 → 같은 family로 새 토큰 발급
+ *    (비밀번호 해시나 소셜 로그인 왕복 없이 HMAC 1회 + 인덱스 조회 1회로 재인증)
+ * 3. 이미 교체된 토큰이 다시 사용되면 탈취된 것으로 보고 family 전체 삭제 → 다시 로그인해야 함
+ *    (같은 토큰으로 동시에 두 번 요청해도 재사용으로 처리됨)
+ */
+@Slf4j
+@Service
+@Transactional
+public class RefreshTokenService {
+
+    private static final int TOKEN_BYTES = 32;
+    private static final int DELETE_CHUNK_SIZE = 1000;
+    private static final String HMAC_ALGORITHM = "HmacSHA256";
+
+    private final RefreshTokenRepository refreshTokenRepository;
+    private final SecretKeySpec hmacKey;
+    private final long expirationMinutes;
+    private final SecureRandom secureRandom = new SecureRandom();
+    // Mac은 thread-safe하지 않으므로 스레드별로 보관
+    private final ThreadLocal<Mac> mac;
+
+    public RefreshTokenService(RefreshTokenRepository refreshTokenRepository,
+                               @Value("${jwt.secret}") String secretKey,
+                               @Value("${jwt.refresh-expiration:20160}") long expirationMinutes) {
+        this.refreshTokenRepository = refreshTokenRepository;
+        this.hmacKey = new SecretKeySpec(secretKey.getBytes(StandardCharsets.UTF_8), HMAC_ALGORITHM);
+        this.expirationMinutes = expirationMinutes;
+        this.mac = ThreadLocal.withInitial(this::newMac);
+    }
+
+    /**
+     * [로그인 시 refresh token 발급]
+     *
+     * @param member 로그인한 회원
+     * @return refresh token 원문
+     */
+    public String issue(Member member) {
+        return issue(member, Tsid.next());
+    }
+
+    /**
+     * [refresh token 회전]
+     *
+     * @param rawToken 클라이언트가 보낸 refresh token
+     * @return 회원과 새 refresh token
+     * @throws InvalidCredentialsException 없거나 만료되었거나 이미 사용된 토큰
+     */
+    @Transactional(noRollbackFor = InvalidCredentialsException.class)
+    public Rotation rotate(String rawToken) {
+        RefreshToken current = refreshTokenRepository.findByTokenHash(hash(rawToken))
+                .orElseThrow(() -> new InvalidCredentialsException("유효하지 않은 refresh token입니다."));
+
+        LocalDateTime now = LocalDateTime.now();
+        if (!current.getExpiresAt().isAfter(now)) {
+            throw new InvalidCredentialsException("만료된 refresh token입니다.");
+        }
+        if (current.getRotatedAt() != null || refreshTokenRepository.markRotated(current.getId(), now) == 0) {
+            // 교체된 토큰 재사용 → family 전체 폐기 (예외를 던져도 삭제는 커밋되도록 noRollbackFor)
+            refreshTokenRepository.deleteByFamilyId(current.getFamilyId());
+            log.warn("refresh token 재사용 감지: memberId={}, familyId={}", current.getMember().getId(), current.getFamilyId());
+            throw new InvalidCredentialsException("이미 사용된 refresh token입니다. 다시 로그인해 주세요.");
+        }
+
+        Member member = current.getMember();
+        return new Rotation(member, issue(member, current.getFamilyId()));
+    }
+
+    /**
+     * [로그아웃 시 refresh token 폐기] 같은 로그인에서 이어진 토큰(family) 전체 삭제
+     *
+     * @param rawToken 클라이언트가 보낸 refresh token
+     * @param memberId 로그아웃하는 회원 (다른 회원의 토큰이면 무시)
+     */
+    public void revokeFamily(String rawToken, Long memberId) {
+        refreshTokenRepository.findByTokenHash(hash(rawToken))
+                .filter(token -> token.getMember().getId().equals(memberId))
+                .ifPresent(token -> refreshTokenRepository.deleteByFamilyId(token.getFamilyId()));
+    }
+
+    /**
+     * 만료된 refresh token 정리 (재사용 감지를 위해 교체된 토큰도 만료 시각까지는 보관)
+     */
+    @Scheduled(fixedDelayString = "${jwt.refresh-cleanup-interval-ms:3600000}")
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void deleteExpired() {
+        LocalDateTime now = LocalDateTime.now();
+        int deleted;
+        do {
+            deleted = refreshTokenRepository.deleteExpiredChunk(now, DELETE_CHUNK_SIZE);
+        } while (deleted == DELETE_CHUNK_SIZE);
+    }
+
+    private String issue(Member member, Long familyId) {
+        byte[] token = new byte[TOKEN_BYTES];
+        secureRandom.nextBytes(token);
+        String rawToken = Base64.getUrlEncoder().withoutPadding().encodeToString(token);
+        refreshTokenRepository.save(RefreshToken.builder()
+                .member(member)
+                .familyId(familyId)
+                .tokenHash(hash(rawToken))
+                .expiresAt(LocalDateTime.now().plusMinutes(expirationMinutes))
+                .build());
+        return rawToken;
+    }
+
+    private byte[] hash(String rawToken) {
+        return mac.get().doFinal(rawToken.getBytes(StandardCharsets.US_ASCII));
+    }
+
+    private Mac newMac() {
+        try {
+            Mac instance = Mac.getInstance(HMAC_ALGORITHM);
+            instance.init(hmacKey);
+            return instance;
+        } catch (NoSuchAlgorithmException | InvalidKeyException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    public record Rotation(Member member, String refreshToken) {
+    }
+}
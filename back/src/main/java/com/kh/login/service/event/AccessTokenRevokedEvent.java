@@ -0,0 +1,7 @@
+package com.kh.login.service.event;
+
+/**
+ * access token 폐기 이벤트 (폐기된 토큰으로 연결한 웹소켓 세션 종료)
+ */
+public record AccessTokenRevokedEvent(Long memberId, long tokenId) {
+}
@@ -0,0 +1,7 @@
+package com.kh.login.service.event;
+
+/**
+ * 채팅방 참여자 추가 이벤트 (트랜잭션 커밋 후 처리)
+ */
+public record ChatParticipantJoinedEvent(Long roomId, Long memberId) {
+}
@@ -0,0 +1,7 @@
+package com.kh.login.service.event;
+
+/**
+ * 채팅방 삭제 표시 이벤트 (트랜잭션 커밋 후 메시지/참여자 정리)
+ */
+public record ChatRoomDeletedEvent(Long roomId) {
+}
@@ -0,0 +1,30 @@
+-- 같은 채팅방에 같은 순번이 저장되지 않도록 (chat_room_id, seq)를 unique로 변경 (V4의 일반 인덱스 대체)
+-- 순번 도입 이전 메시지(seq null)는 제약 대상 아님
+
+-- 담당 노드 연결이 끊긴 노드가 직접 순번을 발급하여 생긴 중복 순번은,
+-- 중복이 있는 채팅방만 기존 순번, 메시지 ID 순서대로 1부터 다시 매긴 뒤 unique 제약 추가
+update chat_message m
+  join (select id,
+               row_number() over (partition by chat_room_id order by seq, id) as new_seq
+          from chat_message
+         where seq is not null
+           and chat_room_id in (select chat_room_id
+                                  from chat_message
+                                 where seq is not null
+                                 group by chat_room_id, seq
+                                having count(*) > 1)) renumbered
+    on m.id = renumbered.id
+   set m.seq = renumbered.new_seq;
+
+-- 다시 매긴 순번이 채팅방의 마지막 순번보다 커졌으면 반영
+update chat_room r
+  join (select chat_room_id, max(seq) as max_seq
+          from chat_message
+         group by chat_room_id) m
+    on m.chat_room_id = r.id
+   set r.last_seq = m.max_seq
+ where r.last_seq < m.max_seq;
+
+alter table chat_message
+   add constraint uk_chat_message_room_seq unique (chat_room_id, seq),
+   drop index idx_chat_message_room_seq;
@@ -0,0 +1,118 @@
+-- Flyway 도입 이전의 스키마 (기존에 Hibernate DDL로 만들어진 스키마와 동일)
+-- 이미 테이블이 있는 DB는 이 버전으로 baseline 처리되어 실행되지 않고, 이후 변경은 V2부터 컬럼/인덱스별로 추가
+-- chat_message, chat_participant, read_status의 id는 이후 애플리케이션이 TSID로 발급하여 insert하므로
+-- auto_increment는 사용되지 않지만, 기존 테이블을 다시 쓰지 않도록 제거하지 않음
+
+create table chat_message (
+    chat_room_id bigint not null,
+    created_time datetime(6),
+    id bigint not null auto_increment,
+    member_id bigint not null,
+    updated_time datetime(6),
+    content varchar(500) not null,
+    primary key (id)
+) engine=InnoDB;
+
+create table chat_participant (
+    chat_room_id bigint not null,
+    created_time datetime(6),
+    id bigint not null auto_increment,
+    member_id bigint not null,
+    updated_time datetime(6),
+    primary key (id)
+) engine=InnoDB;
+
+create table chat_room (
+    created_time datetime(6),
+    id bigint not null auto_increment,
+    updated_time datetime(6),
+    is_group_chat varchar(255),
+    name varchar(255) not null,
+    primary key (id)
+) engine=InnoDB;
+
+create table email_verification (
+    verified bit not null,
+    created_at TIMESTAMP not null,
+    id bigint not null auto_increment,
+    code varchar(255) not null,
+    email varchar(255) not null,
+    primary key (id)
+) engine=InnoDB;
+
+create table files (
+    created_at datetime(6),
+    id bigint not null auto_increment,
+    change_name varchar(255) not null,
+    content_type varchar(255),
+    original_name varchar(255) not null,
+    primary key (id)
+) engine=InnoDB;
+
+create table member (
+    created_at TIMESTAMP not null,
+    id bigint not null auto_increment,
+    email varchar(255) not null,
+    name varchar(255) not null,
+    password varchar(255),
+    phone_number varchar(255),
+    social_id varchar(255),
+    role enum ('ADMIN','USER'),
+    social_type enum ('GOOGLE','KAKAO'),
+    primary key (id)
+) engine=InnoDB;
+
+create table read_status (
+    is_read bit not null,
+    chat_message_id bigint not null,
+    chat_room_id bigint not null,
+    created_time datetime(6),
+    id bigint not null auto_increment,
+    member_id bigint not null,
+    updated_time datetime(6),
+    primary key (id)
+) engine=InnoDB;
+
+alter table files 
+   add constraint UKcbqnfdtu1vlp9x2ecjbyqnay7 unique (change_name);
+
+alter table member 
+   add constraint UKmbmcqelty0fbrvxp1q58dn57t unique (email);
+
+alter table member 
+   add constraint UKn2qryhkfoqeel6njfhrcq6k7u unique (phone_number);
+
+alter table chat_message 
+   add constraint FKj52yap2xrm9u0721dct0tjor9 
+   foreign key (chat_room_id) 
+   references chat_room (id);
+
+alter table chat_message 
+   add constraint FKynfbnbqot8mpd1tquoc2s1w5 
+   foreign key (member_id) 
+   references member (id);
+
+alter table chat_participant 
+   add constraint FKqaqt420qk0puto2opt6st1u42 
+   foreign key (chat_room_id) 
+   references chat_room (id);
+
+alter table chat_participant 
+   add constraint FK6i9rcd4ojw7ih8tvi9wfsn4sx 
+   foreign key (member_id) 
+   references member (id);
+
+alter table read_status 
+   add constraint FK8xtwq2297wa0qvfsvj77roooy 
+   foreign key (chat_message_id) 
+   references chat_message (id);
+
+alter table read_status 
+   add constraint FKnak34qi4k43q18x6ck4nh1tmy 
+   foreign key (chat_room_id) 
+   references chat_room (id);
+
+alter table read_status 
+   add constraint FK5vcgyvaoi9mh5afb4eyyfi4xr 
+   foreign key (member_id) 
+   references member (id);
@@ -0,0 +1,5 @@
+-- 참여자별 읽음 커서 (메시지마다 만들던 read_status row 대체)
+-- 기존 read_status는 애플리케이션 시작 시 ReadStatusMigrationRunner가 커서로 이관
+
+alter table chat_participant
+   add column last_read_message_id bigint not null default 0;
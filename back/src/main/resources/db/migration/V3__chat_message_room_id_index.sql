@@ -0,0 +1,4 @@
+-- 채팅방별 이전 메시지 keyset 페이지 조회 (chat_room_id = ? and id < ? order by id desc)
+
+create index idx_chat_message_room_id
+   on chat_message (chat_room_id, id);
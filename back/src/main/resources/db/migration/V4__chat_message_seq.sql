@@ -0,0 +1,11 @@
+-- 채팅방 내 메시지 순번 (재연결 시 마지막으로 받은 순번 이후 메시지 조회)
+-- 순번 도입 이전 메시지는 seq가 null
+
+alter table chat_message
+   add column seq bigint;
+
+alter table chat_room
+   add column last_seq bigint not null default 0;
+
+create index idx_chat_message_room_seq
+   on chat_message (chat_room_id, seq);
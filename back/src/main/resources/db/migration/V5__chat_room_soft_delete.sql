@@ -0,0 +1,4 @@
+-- 채팅방 삭제 표시 (메시지/참여자는 ChatRoomTeardownService가 chunk 단위로 정리)
+
+alter table chat_room
+   add column is_deleted varchar(255) not null default 'N';
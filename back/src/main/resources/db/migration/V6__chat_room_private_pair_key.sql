@@ -0,0 +1,8 @@
+-- 1:1 채팅방의 두 참여자 ID 쌍 (작은 ID:큰 ID)
+-- 기존 1:1 채팅방은 애플리케이션 시작 시 PrivateRoomPairKeyBackfillRunner가 채움
+
+alter table chat_room
+   add column private_pair_key varchar(41);
+
+alter table chat_room
+   add constraint uk_chat_room_private_pair_key unique (private_pair_key);
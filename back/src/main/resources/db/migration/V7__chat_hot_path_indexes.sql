@@ -0,0 +1,28 @@
+-- 채팅/인증 조회 경로용 복합 인덱스와 unique 제약
+
+-- 참여 여부 확인(existsByChatRoomIdAndMemberId, findByChatRoomAndMember, 읽음 커서 update)
+-- 동시 참여 요청으로 생긴 중복 참여자는 먼저 생성된 row만 남기고 삭제한 뒤 unique 제약 추가
+delete cp1 from chat_participant cp1
+    join chat_participant cp2
+      on cp1.chat_room_id = cp2.chat_room_id
+     and cp1.member_id = cp2.member_id
+     and cp1.id > cp2.id;
+
+alter table chat_participant
+   add constraint uk_chat_participant_room_member unique (chat_room_id, member_id);
+
+-- read_status → 읽음 커서 이관 시 참여자별 첫 번째 안 읽은 메시지 조회
+create index idx_read_status_room_member_read
+   on read_status (chat_room_id, member_id, is_read);
+
+-- 이메일 인증 코드 확인(findTopByEmailOrderByCreatedAtDesc): 정렬 없이 인덱스 역순으로 1건 조회
+create index idx_email_verification_email_created
+   on email_verification (email, created_at);
+
+-- 그룹 채팅방 목록(is_deleted = 'N' and is_group_chat = 'Y'), 정리되지 않은 삭제 채팅방(is_deleted = 'Y')
+create index idx_chat_room_deleted_group
+   on chat_room (is_deleted, is_group_chat);
+
+-- 소셜 로그인 회원 조회(findBySocialIdAndSocialType)
+create index idx_member_social
+   on member (social_id, social_type);
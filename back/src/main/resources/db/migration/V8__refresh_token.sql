@@ -0,0 +1,30 @@
+-- 회전(rotation) 방식 refresh token (원문 대신 HMAC-SHA256만 저장)
+
+create table refresh_token (
+    created_time datetime(6),
+    expires_at datetime(6) not null,
+    family_id bigint not null,
+    id bigint not null,
+    member_id bigint not null,
+    rotated_at datetime(6),
+    updated_time datetime(6),
+    token_hash varbinary(32) not null,
+    primary key (id)
+) engine=InnoDB;
+
+-- refresh 요청마다 토큰 해시로 1건 조회
+alter table refresh_token
+   add constraint uk_refresh_token_hash unique (token_hash);
+
+-- 재사용 감지/로그아웃 시 family 단위 삭제
+create index idx_refresh_token_family
+   on refresh_token (family_id);
+
+-- 만료 토큰 정리
+create index idx_refresh_token_expires_at
+   on refresh_token (expires_at);
+
+alter table refresh_token
+   add constraint fk_refresh_token_member
+   foreign key (member_id)
+   references member (id);
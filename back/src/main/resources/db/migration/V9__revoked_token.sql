@@ -0,0 +1,13 @@
+-- 로그아웃 등으로 폐기된 access token의 jti
+
+create table revoked_token (
+    created_time datetime(6),
+    expires_at datetime(6) not null,
+    id bigint not null,
+    updated_time datetime(6),
+    primary key (id)
+) engine=InnoDB;
+
+-- 만료 토큰 정리
+create index idx_revoked_token_expires_at
+   on revoked_token (expires_at);
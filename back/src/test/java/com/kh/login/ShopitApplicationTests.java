@@ -3,7 +3,8 @@ package com.kh.login;
 import org.junit.jupiter.api.Test;
 import org.springframework.boot.test.context.SpringBootTest;
 
-@SpringBootTest
+// migration은 MySQL 문법이므로 H2에서는 Hibernate DDL로 스키마 생성
+@SpringBootTest(properties = "spring.flyway.enabled=false")
 class ShopitApplicationTests {
 
 	@Test
@@ -0,0 +1,171 @@
+package com.kh.login.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+// 두 노드를 loopback 포트로 띄워 노드 간 전달과 담당 노드 순번 발급 확인
+class TcpChatBroadcastBusTest {
+
+    private static final long TIMEOUT_MILLIS = 10_000;
+    private static final int ROOMS = 4;
+    private static final int MESSAGES_PER_PUBLISHER = 200;
+
+    private final List<TcpChatBroadcastBus> buses = new ArrayList<>();
+
+    @AfterEach
+    void tearDown() {
+        buses.forEach(TcpChatBroadcastBus::stop);
+    }
+
+    @Test
+    void publish_deliversToAllNodesInOwnerSeqOrder() throws Exception {
+        String nodes = nodes(2);
+        Node first = start(nodes, 0, "secret");
+        Node second = start(nodes, 1, "secret");
+        awaitConnected(first.bus(), second.bus());
+
+        // 두 노드에서 동시에 모든 채팅방으로 발행
+        ExecutorService publishers = Executors.newFixedThreadPool(4);
+        List<Future<?>> futures = new ArrayList<>();
+        for (Node node : List.of(first, second, first, second)) {
+            futures.add(publishers.submit(() -> {
+                for (int i = 0; i < MESSAGES_PER_PUBLISHER; i++) {
+                    node.bus().publish((long) (i % ROOMS) + 1, "m" + i);
+                }
+            }));
+        }
+        for (Future<?> future : futures) {
+            future.get(TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
+        }
+        publishers.shutdown();
+
+        int total = 4 * MESSAGES_PER_PUBLISHER;
+        awaitReceived(first, total);
+        awaitReceived(second, total);
+
+        for (long roomId = 1; roomId <= ROOMS; roomId++) {
+            // 순번은 담당 노드만 발급
+            Node owner = first.bus().ownerOf(roomId) == 0 ? first : second;
+            Node other = owner == first ? second : first;
+            assertThat(owner.sequenced().get(roomId)).hasValue(total / ROOMS);
+            assertThat(other.sequenced()).doesNotContainKey(roomId);
+
+            // 두 노드 모두 같은 순서로, 순번 순서대로 받음
+            List<Long> seqs = first.received().get(roomId);
+            assertThat(seqs).hasSize(total / ROOMS);
+            for (int i = 0; i < seqs.size(); i++) {
+                assertThat(seqs.get(i)).isEqualTo(i + 1);
+            }
+            assertThat(second.received().get(roomId)).containsExactlyElementsOf(seqs);
+        }
+    }
+
+    @Test
+    void broadcastEvent_deliversToOtherNodesOnly() throws Exception {
+        String nodes = nodes(2);
+        Node first = start(nodes, 0, "secret");
+        Node second = start(nodes, 1, "secret");
+        awaitConnected(first.bus(), second.bus());
+
+        first.bus().broadcastEvent("left");
+
+        long deadline = System.currentTimeMillis() + TIMEOUT_MILLIS;
+        while (second.events().isEmpty()) {
+            assertThat(System.currentTimeMillis()).isLessThan(deadline);
+            Thread.sleep(20);
+        }
+        assertThat(second.events()).containsExactly("left");
+        assertThat(first.events()).isEmpty();
+    }
+
+    @Test
+    void peerWithWrongSecret_isNotConnected() throws Exception {
+        String nodes = nodes(2);
+        Node first = start(nodes, 0, "secret");
+        Node second = start(nodes, 1, "other-secret");
+        Long roomId = first.bus().ownerOf(1L) == 0 ? 1L : 2L;
+
+        Thread.sleep(1500);
+        first.bus().publish(roomId, "m");
+        Thread.sleep(300);
+
+        assertThat(first.bus().isConnectedToAllPeers()).isFalse();
+        assertThat(second.bus().isConnectedToAllPeers()).isFalse();
+        assertThat(first.received()).containsKey(roomId);
+        assertThat(second.received()).isEmpty();
+    }
+
+    @Test
+    void nonLoopbackBind_requiresSecret() {
+        assertThatThrownBy(() -> new TcpChatBroadcastBus(new SimpleMeterRegistry(), "0.0.0.0", 7400,
+                "localhost:7400", "localhost:7400", 100, "", 1))
+                .isInstanceOf(IllegalStateException.class);
+    }
+
+    private Node start(String nodes, int index, String secret) {
+        String self = nodes.split(",")[index];
+        int port = Integer.parseInt(self.substring(self.lastIndexOf(':') + 1));
+        TcpChatBroadcastBus bus = new TcpChatBroadcastBus(new SimpleMeterRegistry(), "127.0.0.1", port, nodes, self,
+                10_000, secret, 2);
+        Map<Long, AtomicLong> sequenced = new ConcurrentHashMap<>();
+        Map<Long, List<Long>> received = new ConcurrentHashMap<>();
+        // payload = 순번
+        bus.setSequencer((roomId, draft) ->
+                String.valueOf(sequenced.computeIfAbsent(roomId, id -> new AtomicLong()).incrementAndGet()));
+        bus.subscribe((roomId, payload) ->
+                received.computeIfAbsent(roomId, id -> new CopyOnWriteArrayList<>()).add(Long.parseLong(payload)));
+        List<String> events = new CopyOnWriteArrayList<>();
+        bus.subscribeEvents(events::add);
+        bus.start();
+        buses.add(bus);
+        return new Node(bus, sequenced, received, events);
+    }
+
+    private static String nodes(int count) throws IOException {
+        List<String> nodes = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            try (ServerSocket socket = new ServerSocket(0)) {
+                nodes.add("127.0.0.1:" + socket.getLocalPort());
+            }
+        }
+        return String.join(",", nodes);
+    }
+
+    private static void awaitConnected(TcpChatBroadcastBus... buses) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + TIMEOUT_MILLIS;
+        for (TcpChatBroadcastBus bus : buses) {
+            while (!bus.isConnectedToAllPeers()) {
+                assertThat(System.currentTimeMillis()).isLessThan(deadline);
+                Thread.sleep(20);
+            }
+        }
+    }
+
+    private static void awaitReceived(Node node, int count) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + TIMEOUT_MILLIS;
+        while (node.received().values().stream().mapToInt(List::size).sum() < count) {
+            assertThat(System.currentTimeMillis()).isLessThan(deadline);
+            Thread.sleep(20);
+        }
+    }
+
+    private record Node(TcpChatBroadcastBus bus, Map<Long, AtomicLong> sequenced, Map<Long, List<Long>> received,
+                        List<String> events) {
+    }
+}
@@ -0,0 +1,437 @@
+package com.kh.login.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.kh.login.domain.ChatMessage;
+import com.kh.login.domain.ChatParticipant;
+import com.kh.login.domain.ChatRoom;
+import com.kh.login.domain.EmailVerification;
+import com.kh.login.domain.Member;
+import com.kh.login.domain.ReadStatus;
+import com.kh.login.domain.RefreshToken;
+import com.kh.login.domain.RevokedToken;
+import com.kh.login.enums.SocialType;
+import com.kh.login.repository.chat.ChatMessageRepository;
+import com.kh.login.repository.chat.ChatParticipantRepository;
+import com.kh.login.repository.chat.ChatRoomRepository;
+import com.kh.login.repository.chat.ReadStatusRepository;
+import jakarta.persistence.EntityManager;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+import javax.sql.DataSource;
+import org.junit.jupiter.api.DynamicTest;
+import org.junit.jupiter.api.TestFactory;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * 리포지토리 조회 경로의 실행 계획 검사 (MySQL 전용)
+ *
+ * 1. Flyway migration으로 스키마를 만들고 엔티티와 일치하는지 검증 (ddl-auto=validate)
+ * 2. 통계가 의미 있도록 테스트 데이터를 넣고 ANALYZE TABLE
+ * 3. 리포지토리 메서드를 실행하며 Hibernate가 보낸 SQL과 바인딩 값을 기록 (변경 쿼리는 롤백)
+ * 4. 기록한 SQL마다 EXPLAIN을 실행하여 full table scan(type=ALL)이 있으면 실패
+ *
+ * 비어 있는(또는 이 테스트만 사용하는) 로컬 MySQL 스키마를 지정했을 때만 실행됨
+ * EXPLAIN_DB_URL=jdbc:mysql://localhost:3306/explain_test EXPLAIN_DB_USERNAME=root EXPLAIN_DB_PASSWORD=... \
+ *   gradle test --tests QueryPlanTest
+ */
+@EnabledIfEnvironmentVariable(named = "EXPLAIN_DB_URL", matches = "jdbc:mysql:.*")
+@DataJpaTest(properties = {
+        "spring.datasource.url=${EXPLAIN_DB_URL}",
+        "spring.datasource.username=${EXPLAIN_DB_USERNAME:root}",
+        "spring.datasource.password=${EXPLAIN_DB_PASSWORD:}",
+        "spring.jpa.hibernate.ddl-auto=validate"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(QueryPlanTest.StatementRecorderConfig.class)
+// ANALYZE TABLE은 암묵적으로 커밋하므로 테스트 트랜잭션 없이 실행 (테스트 데이터는 마지막에 삭제)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class QueryPlanTest {
+
+    private static final String PREFIX = "query-plan-";
+    private static final int MEMBER_COUNT = 100;
+    private static final int ROOM_COUNT = 100;
+    // 대부분의 채팅방은 1:1 채팅방
+    private static final int GROUP_ROOM_EVERY = 10;
+    private static final int MESSAGES_PER_ROOM = 50;
+    private static final int REFRESH_TOKENS_PER_MEMBER = 5;
+    private static final int REVOKED_TOKEN_COUNT = 500;
+    // 다른 데이터와 겹치지 않는 jti 범위
+    private static final long REVOKED_TOKEN_ID_BASE = 1_000_000L;
+
+    @Autowired
+    private StatementRecorder recorder;
+    @Autowired
+    private EntityManager em;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    @Autowired
+    private ChatMessageRepository chatMessageRepository;
+    @Autowired
+    private ChatParticipantRepository chatParticipantRepository;
+    @Autowired
+    private ChatRoomRepository chatRoomRepository;
+    @Autowired
+    private ReadStatusRepository readStatusRepository;
+    @Autowired
+    private MemberRepository memberRepository;
+    @Autowired
+    private EmailVerificationRepository emailVerificationRepository;
+    @Autowired
+    private RefreshTokenRepository refreshTokenRepository;
+    @Autowired
+    private RevokedTokenRepository revokedTokenRepository;
+
+    @TestFactory
+    Stream<DynamicTest> repositoryQueriesDoNotScanWholeTables() throws Exception {
+        Fixture f = seed();
+        try {
+            for (String table : List.of("member", "chat_room", "chat_participant", "chat_message", "read_status", "email_verification", "refresh_token", "revoked_token")) {
+                jdbcTemplate.execute("ANALYZE TABLE " + table);
+            }
+
+            Map<String, List<Statement>> queries = new LinkedHashMap<>();
+            // 채팅 메시지
+            queries.put("findHistoryBefore", record(() -> chatMessageRepository.findHistoryBefore(f.roomId, Long.MAX_VALUE, Limit.of(50))));
+            queries.put("findAfterSeq", record(() -> chatMessageRepository.findAfterSeq(f.roomId, 10L, Limit.of(100))));
+            queries.put("findLastMessageId", record(() -> chatMessageRepository.findLastMessageId(f.roomId)));
+            queries.put("chatMessage.deleteChunkByRoomId", record(() -> chatMessageRepository.deleteChunkByRoomId(f.roomId, 1000)));
+            // 참여자
+            queries.put("existsByChatRoomIdAndMemberId", record(() -> chatParticipantRepository.existsByChatRoomIdAndMemberId(f.roomId, f.memberId)));
+            queries.put("existsByChatRoomId", record(() -> chatParticipantRepository.existsByChatRoomId(f.roomId)));
+            queries.put("findMemberIdsByRoomId", record(() -> chatParticipantRepository.findMemberIdsByRoomId(f.roomId)));
+            queries.put("findByChatRoomAndMember", record(() -> chatParticipantRepository.findByChatRoomAndMember(
+                    em.getReference(ChatRoom.class, f.roomId), em.getReference(Member.class, f.memberId))));
+            queries.put("findByChatRoom", record(() -> chatParticipantRepository.findByChatRoom(em.getReference(ChatRoom.class, f.roomId))));
+            queries.put("findAllByMember", record(() -> chatParticipantRepository.findAllByMember(em.getReference(Member.class, f.memberId))));
+            queries.put("findMyChatRooms", record(() -> chatParticipantRepository.findMyChatRooms(f.memberId)));
+            queries.put("markAllRead", record(() -> chatParticipantRepository.markAllRead(f.roomId, f.memberId)));
+            queries.put("markReadUpTo", record(() -> chatParticipantRepository.markReadUpTo(f.roomId, f.memberId, f.messageId)));
+            queries.put("chatParticipant.deleteChunkByRoomId", record(() -> chatParticipantRepository.deleteChunkByRoomId(f.roomId, 1000)));
+            // 채팅방
+            queries.put("findIdByPrivatePairKey", record(() -> chatRoomRepository.findIdByPrivatePairKey(f.privatePairKey)));
+            queries.put("findByIsGroupChatAndIsDeleted", record(() -> chatRoomRepository.findByIsGroupChatAndIsDeleted("Y", "N")));
+            queries.put("findDeletedRoomIds", record(() -> chatRoomRepository.findDeletedRoomIds()));
+            queries.put("incrementLastSeq", record(() -> chatRoomRepository.incrementLastSeq(f.roomId)));
+            queries.put("findIncrementedLastSeq", record(() -> chatRoomRepository.findIncrementedLastSeq()));
+            queries.put("findLastSeq", record(() -> chatRoomRepository.findLastSeq(f.roomId)));
+            queries.put("deleteMarkedRoom", record(() -> chatRoomRepository.deleteMarkedRoom(f.roomId)));
+            // read_status
+            queries.put("readStatus.deleteChunkByRoomId", record(() -> readStatusRepository.deleteChunkByRoomId(f.roomId, 1000)));
+            // 회원, 이메일 인증
+            queries.put("findByEmail", record(() -> memberRepository.findByEmail(f.email)));
+            queries.put("existsByEmail", record(() -> memberRepository.existsByEmail(f.email)));
+            queries.put("updatePassword", record(() -> memberRepository.updatePassword(f.memberId, "old", "new")));
+            queries.put("findBySocialIdAndSocialType", record(() -> memberRepository.findBySocialIdAndSocialType(f.socialId, SocialType.GOOGLE)));
+            queries.put("findTopByEmailOrderByCreatedAtDesc", record(() -> emailVerificationRepository.findTopByEmailOrderByCreatedAtDesc(f.email)));
+            // refresh token
+            queries.put("findByTokenHash", record(() -> refreshTokenRepository.findByTokenHash(f.tokenHash)));
+            queries.put("markRotated", record(() -> refreshTokenRepository.markRotated(f.refreshTokenId, LocalDateTime.now())));
+            queries.put("deleteByFamilyId", record(() -> refreshTokenRepository.deleteByFamilyId(f.familyId)));
+            queries.put("deleteExpiredChunk", record(() -> refreshTokenRepository.deleteExpiredChunk(LocalDateTime.now().minusDays(1), 1000)));
+            // 폐기된 access token
+            queries.put("revokedToken.existsById", record(() -> revokedTokenRepository.existsById(REVOKED_TOKEN_ID_BASE)));
+            queries.put("revokedToken.findIdsAfter", record(() -> revokedTokenRepository.findIdsAfter(
+                    REVOKED_TOKEN_ID_BASE, LocalDateTime.now(), Limit.of(100))));
+            queries.put("revokedToken.countByExpiresAtAfter", record(() -> revokedTokenRepository.countByExpiresAtAfter(LocalDateTime.now())));
+            queries.put("revokedToken.deleteExpiredChunk", record(() -> revokedTokenRepository.deleteExpiredChunk(LocalDateTime.now().minusDays(1), 1000)));
+
+            // DynamicTest는 이 메서드가 끝난 뒤(테스트 데이터 정리 후) 실행되므로 EXPLAIN은 여기서 미리 실행
+            List<DynamicTest> tests = new ArrayList<>();
+            for (Map.Entry<String, List<Statement>> query : queries.entrySet()) {
+                String name = query.getKey();
+                List<Statement> statements = query.getValue();
+                Map<Statement, List<String>> fullScans = new LinkedHashMap<>();
+                for (Statement statement : statements) {
+                    fullScans.put(statement, fullScans(statement));
+                }
+                tests.add(DynamicTest.dynamicTest(name, () -> {
+                    assertThat(statements).as("실행된 SQL").isNotEmpty();
+                    fullScans.forEach((statement, tables) ->
+                            assertThat(tables).as("%s%n%s", name, statement.sql).isEmpty());
+                }));
+            }
+            return tests.stream();
+        } finally {
+            cleanUp();
+        }
+    }
+
+    /**
+     * 리포지토리 호출 중 실행된 SQL 기록 (호출은 롤백되는 트랜잭션에서 실행)
+     */
+    private List<Statement> record(Runnable call) {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        return transactionTemplate.execute(status -> {
+            status.setRollbackOnly();
+            recorder.start();
+            try {
+                call.run();
+                em.flush();
+            } catch (DataIntegrityViolationException e) {
+                // 실행 계획만 필요하므로 정리 순서에 따른 FK 위반(예: read_status가 남은 메시지 삭제)은 무시
+            } finally {
+                recorder.stop();
+            }
+            return recorder.drain();
+        });
+    }
+
+    /**
+     * EXPLAIN 결과 중 full table scan인 테이블 (파생 테이블, 서브쿼리 결과 등 임시 테이블은 제외)
+     */
+    private List<String> fullScans(Statement statement) throws Exception {
+        List<String> fullScans = new ArrayList<>();
+        try (Connection connection = recorder.target.getConnection();
+             PreparedStatement explain = connection.prepareStatement("EXPLAIN " + statement.sql)) {
+            for (Binding binding : statement.bindings) {
+                binding.method.invoke(explain, binding.args);
+            }
+            try (ResultSet rs = explain.executeQuery()) {
+                while (rs.next()) {
+                    String table = rs.getString("table");
+                    if ("ALL".equals(rs.getString("type")) && table != null && !table.startsWith("<")) {
+                        fullScans.add(table + " (rows=" + rs.getLong("rows") + ")");
+                    }
+                }
+            }
+        }
+        return fullScans;
+    }
+
+    private Fixture seed() {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        return transactionTemplate.execute(status -> {
+            List<Member> members = new ArrayList<>();
+            for (int i = 0; i < MEMBER_COUNT; i++) {
+                Member member = Member.builder()
+                        .name(PREFIX + i)
+                        .email(PREFIX + i + "@test.com")
+                        .password("")
+                        .socialId(PREFIX + i)
+                        .socialType(SocialType.GOOGLE)
+                        .build();
+                em.persist(member);
+                members.add(member);
+                for (int j = 0; j < 5; j++) {
+                    em.persist(EmailVerification.builder().email(member.getEmail()).code("code" + j).build());
+                }
+                for (int j = 0; j < REFRESH_TOKENS_PER_MEMBER; j++) {
+                    em.persist(RefreshToken.builder()
+                            .member(member)
+                            .familyId((long) i)
+                            .tokenHash(tokenHash(i, j))
+                            .expiresAt(LocalDateTime.now().plusDays(j))
+                            .build());
+                }
+            }
+
+            for (int i = 0; i < REVOKED_TOKEN_COUNT; i++) {
+                em.persist(RevokedToken.builder().id(REVOKED_TOKEN_ID_BASE + i).expiresAt(LocalDateTime.now().plusMinutes(i)).build());
+            }
+
+            // 조회 대상은 1:1 채팅방 하나 (첫 번째 채팅방은 그룹 채팅방)
+            ChatRoom targetRoom = null;
+            ChatMessage targetMessage = null;
+            for (int i = 0; i < ROOM_COUNT; i++) {
+                Member a = members.get(i % MEMBER_COUNT);
+                Member b = members.get((i + 1) % MEMBER_COUNT);
+                boolean group = i % GROUP_ROOM_EVERY == 0;
+                ChatRoom room = ChatRoom.builder()
+                        .name(PREFIX + i)
+                        .isGroupChat(group ? "Y" : "N")
+                        .privatePairKey(group ? null : ChatRoom.privatePairKey(a.getId(), b.getId()))
+                        .build();
+                em.persist(room);
+                em.persist(ChatParticipant.builder().chatRoom(room).member(a).build());
+                em.persist(ChatParticipant.builder().chatRoom(room).member(b).build());
+                for (int j = 0; j < MESSAGES_PER_ROOM; j++) {
+                    ChatMessage message = ChatMessage.builder()
+                            .chatRoom(room)
+                            .member(j % 2 == 0 ? a : b)
+                            .content("message " + j)
+                            .seq(j + 1L)
+                            .build();
+                    em.persist(message);
+                    em.persist(ReadStatus.builder().chatRoom(room).member(j % 2 == 0 ? b : a).chatMessage(message).isRead(j < 10).build());
+                    if (i == 1 && targetMessage == null) {
+                        targetMessage = message;
+                    }
+                }
+                if (i == 1) {
+                    targetRoom = room;
+                }
+            }
+            em.flush();
+            em.clear();
+
+            Member member = members.get(1);
+            RefreshToken refreshToken = refreshTokenRepository.findByTokenHash(tokenHash(1, 1)).orElseThrow();
+            return new Fixture(targetRoom.getId(), member.getId(), targetMessage.getId(), member.getEmail(), member.getSocialId(),
+                    targetRoom.getPrivatePairKey(), refreshToken.getId(), refreshToken.getFamilyId(), refreshToken.getTokenHash());
+        });
+    }
+
+    // 회원/순번별로 겹치지 않는 32바이트 해시
+    private static byte[] tokenHash(int member, int index) {
+        byte[] hash = new byte[32];
+        hash[0] = (byte) member;
+        hash[1] = (byte) index;
+        return hash;
+    }
+
+    private void cleanUp() {
+        String roomIds = "SELECT id FROM chat_room WHERE name LIKE '" + PREFIX + "%'";
+        jdbcTemplate.update("DELETE FROM read_status WHERE chat_room_id IN (" + roomIds + ")");
+        jdbcTemplate.update("DELETE FROM chat_message WHERE chat_room_id IN (" + roomIds + ")");
+        jdbcTemplate.update("DELETE FROM chat_participant WHERE chat_room_id IN (" + roomIds + ")");
+        jdbcTemplate.update("DELETE FROM chat_room WHERE name LIKE '" + PREFIX + "%'");
+        jdbcTemplate.update("DELETE FROM email_verification WHERE email LIKE '" + PREFIX + "%'");
+        jdbcTemplate.update("DELETE FROM revoked_token WHERE id >= " + REVOKED_TOKEN_ID_BASE + " AND id < " + (REVOKED_TOKEN_ID_BASE + REVOKED_TOKEN_COUNT));
+        jdbcTemplate.update("DELETE FROM refresh_token WHERE member_id IN (SELECT id FROM member WHERE email LIKE '" + PREFIX + "%')");
+        jdbcTemplate.update("DELETE FROM member WHERE email LIKE '" + PREFIX + "%'");
+    }
+
+    private record Fixture(Long roomId, Long memberId, Long messageId, String email, String socialId, String privatePairKey,
+                           Long refreshTokenId, Long familyId, byte[] tokenHash) {
+    }
+
+    private record Statement(String sql, List<Binding> bindings) {
+    }
+
+    private record Binding(Method method, Object[] args) {
+    }
+
+    @TestConfiguration
+    static class StatementRecorderConfig {
+
+        @Bean
+        StatementRecorder statementRecorder() {
+            return new StatementRecorder();
+        }
+
+        // DataSource를 감싸서 기록기가 PreparedStatement의 SQL/바인딩 값을 볼 수 있도록 함
+        @Bean
+        static BeanPostProcessor recordingDataSourcePostProcessor(ObjectProvider<StatementRecorder> recorder) {
+            return new BeanPostProcessor() {
+                @Override
+                public Object postProcessAfterInitialization(Object bean, String beanName) {
+                    if (bean instanceof DataSource dataSource && !(bean instanceof DelegatingDataSource)) {
+                        StatementRecorder statementRecorder = recorder.getObject();
+                        statementRecorder.target = dataSource;
+                        return statementRecorder.wrap(dataSource);
+                    }
+                    return bean;
+                }
+            };
+        }
+    }
+
+    /**
+     * 기록 중에 실행된 PreparedStatement의 SQL과 set* 호출 기록
+     */
+    static class StatementRecorder {
+
+        private final List<Statement> statements = new ArrayList<>();
+        private volatile boolean recording;
+        private DataSource target;
+
+        void start() {
+            recording = true;
+        }
+
+        void stop() {
+            recording = false;
+        }
+
+        synchronized List<Statement> drain() {
+            List<Statement> drained = List.copyOf(statements);
+            statements.clear();
+            return drained;
+        }
+
+        private synchronized void add(Statement statement) {
+            statements.add(statement);
+        }
+
+        DataSource wrap(DataSource dataSource) {
+            return new DelegatingDataSource(dataSource) {
+                @Override
+                public Connection getConnection() throws SQLException {
+                    return connection(super.getConnection());
+                }
+
+                @Override
+                public Connection getConnection(String username, String password) throws SQLException {
+                    return connection(super.getConnection(username, password));
+                }
+            };
+        }
+
+        private Connection connection(Connection connection) {
+            return (Connection) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[]{Connection.class},
+                    (proxy, method, args) -> {
+                        Object result = invoke(connection, method, args);
+                        if (result instanceof PreparedStatement statement && method.getName().equals("prepareStatement")) {
+                            return preparedStatement(statement, (String) args[0]);
+                        }
+                        return result;
+                    });
+        }
+
+        private PreparedStatement preparedStatement(PreparedStatement statement, String sql) {
+            List<Binding> bindings = new ArrayList<>();
+            return (PreparedStatement) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[]{PreparedStatement.class},
+                    (proxy, method, args) -> {
+                        String name = method.getName();
+                        if (name.startsWith("set") && args != null && args.length >= 2 && args[0] instanceof Integer) {
+                            bindings.add(new Binding(method, args.clone()));
+                        } else if (recording && (name.startsWith("execute") && !name.endsWith("Batch") || name.equals("addBatch"))
+                                && (args == null || args.length == 0)) {
+                            add(new Statement(sql, List.copyOf(bindings)));
+                        }
+                        if (name.equals("clearParameters") || name.equals("addBatch")) {
+                            bindings.clear();
+                        }
+                        return invoke(statement, method, args);
+                    });
+        }
+
+        private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+            try {
+                return method.invoke(target, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        }
+    }
+}
@@ -0,0 +1,157 @@
+package com.kh.login.repository.chat;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.kh.login.domain.ChatMessage;
+import com.kh.login.domain.ChatParticipant;
+import com.kh.login.domain.ChatRoom;
+import com.kh.login.domain.Member;
+import com.kh.login.dto.chat.MyChatListResDto;
+import jakarta.persistence.EntityManagerFactory;
+import java.util.List;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+
+// migration은 MySQL 문법이므로 H2 스키마는 Hibernate DDL로 생성
+@DataJpaTest(properties = {
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "spring.flyway.enabled=false"
+})
+class ChatParticipantRepositoryTest {
+
+    private static final int ROOM_COUNT = 20;
+
+    @Autowired
+    private ChatParticipantRepository chatParticipantRepository;
+
+    @Autowired
+    private TestEntityManager em;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Test
+    void findMyChatRooms_executesSingleStatementRegardlessOfRoomCount() {
+        Member me = em.persist(member("me"));
+        Member other = em.persist(member("other"));
+
+        for (int i = 0; i < ROOM_COUNT; i++) {
+            ChatRoom room = em.persist(ChatRoom.builder().name("room" + i).isGroupChat(i % 2 == 0 ? "Y" : "N").build());
+            em.persist(ChatParticipant.builder().chatRoom(room).member(me).build());
+            em.persist(ChatParticipant.builder().chatRoom(room).member(other).build());
+            // 내 메시지 1개 + 상대 메시지 i개 → 안 읽은 메시지 수는 i
+            em.persist(ChatMessage.builder().chatRoom(room).member(me).content("mine").build());
+            for (int j = 0; j < i; j++) {
+                em.persist(ChatMessage.builder().chatRoom(room).member(other).content("hello").build());
+            }
+        }
+        em.flush();
+        em.clear();
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        List<MyChatListResDto> rooms = chatParticipantRepository.findMyChatRooms(me.getId());
+
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(rooms).hasSize(ROOM_COUNT);
+        assertThat(rooms).allSatisfy(r ->
+                assertThat(r.getUnReadCount()).isEqualTo(Long.parseLong(r.getRoomName().substring(4))));
+    }
+
+    @Test
+    void findMyChatRooms_excludesMessagesBeforeReadCursor() {
+        Member me = em.persist(member("me"));
+        Member other = em.persist(member("other"));
+        ChatRoom room = em.persist(ChatRoom.builder().name("room").isGroupChat("Y").build());
+        em.persist(ChatParticipant.builder().chatRoom(room).member(me).build());
+        em.persist(ChatParticipant.builder().chatRoom(room).member(other).build());
+        em.persist(ChatMessage.builder().chatRoom(room).member(other).content("read").build());
+        em.flush();
+
+        chatParticipantRepository.markAllRead(room.getId(), me.getId());
+        em.persist(ChatMessage.builder().chatRoom(room).member(other).content("unread").build());
+        em.flush();
+        em.clear();
+
+        List<MyChatListResDto> rooms = chatParticipantRepository.findMyChatRooms(me.getId());
+
+        assertThat(rooms).singleElement().satisfies(r -> assertThat(r.getUnReadCount()).isEqualTo(1L));
+    }
+
+    @Test
+    void markReadUpTo_neverMovesCursorBackwards() {
+        Member me = em.persist(member("me"));
+        Member other = em.persist(member("other"));
+        ChatRoom room = em.persist(ChatRoom.builder().name("room").isGroupChat("Y").build());
+        em.persist(ChatParticipant.builder().chatRoom(room).member(me).build());
+        ChatMessage first = em.persist(ChatMessage.builder().chatRoom(room).member(other).content("first").build());
+        ChatMessage second = em.persist(ChatMessage.builder().chatRoom(room).member(other).content("second").build());
+        em.flush();
+
+        assertThat(chatParticipantRepository.markReadUpTo(room.getId(), me.getId(), second.getId())).isEqualTo(1);
+        assertThat(chatParticipantRepository.markReadUpTo(room.getId(), me.getId(), first.getId())).isZero();
+        em.clear();
+
+        List<MyChatListResDto> rooms = chatParticipantRepository.findMyChatRooms(me.getId());
+
+        assertThat(rooms).singleElement().satisfies(r -> assertThat(r.getUnReadCount()).isZero());
+    }
+
+    @Test
+    void markReadUpTo_clampsCursorToLastMessageOfRoom() {
+        Member me = em.persist(member("me"));
+        Member other = em.persist(member("other"));
+        ChatRoom room = em.persist(ChatRoom.builder().name("room").isGroupChat("Y").build());
+        em.persist(ChatParticipant.builder().chatRoom(room).member(me).build());
+        ChatMessage first = em.persist(ChatMessage.builder().chatRoom(room).member(other).content("first").build());
+        em.flush();
+
+        chatParticipantRepository.markReadUpTo(room.getId(), me.getId(), Long.MAX_VALUE);
+        em.persist(ChatMessage.builder().chatRoom(room).member(other).content("second").build());
+        em.flush();
+        em.clear();
+
+        assertThat(chatParticipantRepository.findByChatRoomAndMember(room, me))
+                .hasValueSatisfying(cp -> assertThat(cp.getLastReadMessageId()).isEqualTo(first.getId()));
+        assertThat(chatParticipantRepository.findMyChatRooms(me.getId()))
+                .singleElement().satisfies(r -> assertThat(r.getUnReadCount()).isEqualTo(1));
+    }
+
+    @Test
+    void findPrivateRoomPairsWithoutKey_returnsCanonicalPairOfUnkeyedPrivateRooms() {
+        Member me = em.persist(member("me"));
+        Member other = em.persist(member("other"));
+        ChatRoom unkeyed = em.persist(ChatRoom.builder().name("unkeyed").isGroupChat("N").build());
+        ChatRoom keyed = em.persist(ChatRoom.builder().name("keyed").isGroupChat("N")
+                .privatePairKey(ChatRoom.privatePairKey(me.getId(), other.getId())).build());
+        ChatRoom group = em.persist(ChatRoom.builder().name("group").isGroupChat("Y").build());
+        for (ChatRoom room : List.of(unkeyed, keyed, group)) {
+            em.persist(ChatParticipant.builder().chatRoom(room).member(other).build());
+            em.persist(ChatParticipant.builder().chatRoom(room).member(me).build());
+        }
+        em.flush();
+        em.clear();
+
+        List<Object[]> pairs = chatParticipantRepository.findPrivateRoomPairsWithoutKey();
+
+        assertThat(pairs).singleElement().satisfies(pair -> {
+            assertThat(pair[0]).isEqualTo(unkeyed.getId());
+            assertThat(ChatRoom.privatePairKey((Long) pair[1], (Long) pair[2]))
+                    .isEqualTo(ChatRoom.privatePairKey(other.getId(), me.getId()));
+            assertThat((Long) pair[1]).isLessThanOrEqualTo((Long) pair[2]);
+        });
+    }
+
+    private Member member(String name) {
+        return Member.builder()
+                .name(name)
+                .email(name + "@test.com")
+                .password("")
+                .build();
+    }
+}
@@ -63,10 +63,12 @@ export const leaveGroupChatRoom = async (roomId) => {
   }
 };
 
-// 채팅 히스토리 조회
-export const getChatHistory = async (roomId) => {
+// 채팅 히스토리 조회 (before: 이 메시지 ID 이전, size: 개수)
+export const getChatHistory = async (roomId, before, size = 50) => {
   try {
-    const response = await apiClient.get(`/v1/chat/history/${roomId}`);
+    const response = await apiClient.get(`/v1/chat/history/${roomId}`, {
+      params: { before, size },
+    });
     return response.data;
   } catch (error) {
     console.error('채팅 히스토리 로드 실패:', error);
@@ -74,6 +76,19 @@ export const getChatHistory = async (roomId) => {
   }
 };
 
+// 재연결 시 놓친 메시지 조회 (afterSeq: 마지막으로 받은 메시지 순번)
+export const resumeChatHistory = async (roomId, afterSeq, size = 100) => {
+  try {
+    const response = await apiClient.get(`/v1/chat/history/${roomId}/resume`, {
+      params: { afterSeq, size },
+    });
+    return response.data;
+  } catch (error) {
+    console.error('놓친 메시지 조회 실패:', error);
+    throw error;
+  }
+};
+
 // 채팅방 읽음 처리
 export const readChatRoom = async (roomId) => {
   try {
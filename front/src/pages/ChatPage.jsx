@@ -1,7 +1,7 @@
 import React, { useState, useEffect, useRef } from 'react';
 import { useParams, useNavigate } from 'react-router-dom';
 import styled from 'styled-components';
-import { getChatHistory, readChatRoom } from '../api/chatApi';
+import { getChatHistory, readChatRoom, resumeChatHistory } from '../api/chatApi';
 
 const Wrapper = styled.div`
   min-height: calc(100vh - 70px);
@@ -93,8 +93,30 @@ const ChatPage = () => {
   const [senderEmail, setSenderEmail] = useState('');
   const { roomId } = useParams();
   const chatBoxRef = useRef(null);
+  // 마지막으로 받은 메시지 순번 (재연결 시 이후 메시지만 조회)
+  const lastSeqRef = useRef(0);
+  // 페이지를 떠나면서 닫은 경우에는 재연결하지 않음
+  const closingRef = useRef(false);
+  const wsRef = useRef(null);
+  // 마지막으로 받은 메시지 ID (나갈 때 READ 프레임으로 읽음 처리)
+  const lastMessageIdRef = useRef(null);
   const navigate = useNavigate();
 
+  // 순번이 있는 메시지는 중복 없이 순번순으로 추가
+  const appendMessages = (incoming) => {
+    incoming.forEach(m => {
+      if (m.seq && m.seq > lastSeqRef.current) lastSeqRef.current = m.seq;
+      if (m.messageId && (!lastMessageIdRef.current || m.messageId > lastMessageIdRef.current)) {
+        lastMessageIdRef.current = m.messageId;
+      }
+    });
+    setMessages(prev => {
+      const seen = new Set(prev.filter(m => m.seq).map(m => m.seq));
+      const merged = [...prev, ...incoming.filter(m => !m.seq || !seen.has(m.seq))];
+      return merged;
+    });
+  };
+
   useEffect(() => {
     const email = sessionStorage.getItem("email");
     setSenderEmail(email);
@@ -102,11 +124,14 @@ const ChatPage = () => {
     const loadChatHistory = async () => {
       try {
         const data = await getChatHistory(roomId);
-        setMessages(data);
+        lastSeqRef.current = 0;
+        setMessages([]);
+        appendMessages(data);
       } catch (error) {
         console.error(error);
       }
     };
+    closingRef.current = false;
     loadChatHistory();
     connectWebsocket();
     
@@ -130,17 +155,38 @@ const ChatPage = () => {
     websocket.onmessage = (event) => {
       try {
         const message = JSON.parse(event.data);
-        setMessages(prev => [...prev, message]);
+        appendMessages([message]);
       } catch (error) {
         console.error('메시지 파싱 실패:', error);
       }
     };
     websocket.onclose = () => {
       console.log('WebSocket 연결 종료');
+      if (!closingRef.current) {
+        // 끊긴 동안 놓친 메시지만 조회하고 다시 연결
+        setTimeout(async () => {
+          if (closingRef.current) return;
+          connectWebsocket();
+          await resumeMissedMessages();
+        }, 1000);
+      }
     };
+    wsRef.current = websocket;
     setWs(websocket);
   };
 
+  const resumeMissedMessages = async () => {
+    try {
+      let page;
+      do {
+        page = await resumeChatHistory(roomId, lastSeqRef.current);
+        appendMessages(page);
+      } while (page.length === 100);
+    } catch (error) {
+      console.error(error);
+    }
+  };
+
   const sendMessage = () => {
     if (newMessage.trim() === "" || !ws) return;
     const message = {
@@ -159,13 +205,20 @@ const ChatPage = () => {
   };
 
   const disconnectWebSocket = async () => {
-    try {
-      await readChatRoom(roomId);
-    } catch (error) {
-      console.error(error)
+    closingRef.current = true;
+    const socket = wsRef.current;
+    if (socket && socket.readyState === WebSocket.OPEN && lastMessageIdRef.current) {
+      // 연결을 닫기 전에 같은 연결로 읽음 처리 (별도 REST 호출 없음)
+      socket.send(JSON.stringify({ type: 'READ', messageId: lastMessageIdRef.current }));
+    } else {
+      try {
+        await readChatRoom(roomId);
+      } catch (error) {
+        console.error(error)
+      }
     }
-    if (ws) {
-      ws.close();
+    if (socket) {
+      socket.close();
     }
   };
 